@@ -0,0 +1,114 @@
+package benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import utils.JsonUtils;
+
+/**
+ * Deterministic synthetic payloads shaped like the Amadeus responses handled by the framework. The
+ * sizes are chosen to be larger than the functional test responses, so that per-element costs
+ * dominate the measurements.
+ */
+public class BenchmarkPayloads {
+
+  /** IATA codes used to vary the generated data. */
+  private static final String[] CODES = {"BLR", "MAA", "DEL", "BOM", "HYD", "CCU", "MAD", "LON"};
+
+  private BenchmarkPayloads() {}
+
+  /**
+   * Builds a flight offers search response.
+   *
+   * @param offers the number of flight offers in the response
+   * @return the response body as JSON
+   */
+  public static String flightOffersResponse(int offers) {
+    LocalDate date = LocalDate.of(2030, 1, 15);
+    List<Object> data = new ArrayList<>();
+    for (int i = 0; i < offers; i++) {
+      String origin = CODES[i % CODES.length];
+      String destination = CODES[(i + 3) % CODES.length];
+      Map<String, Object> offer = new LinkedHashMap<>();
+      offer.put("type", "flight-offer");
+      offer.put("id", String.valueOf(i + 1));
+      offer.put("source", "GDS");
+      offer.put("numberOfBookableSeats", 1 + i % 9);
+      offer.put(
+          "itineraries",
+          List.of(
+              itinerary(origin, destination, date.plusDays(i % 5), i),
+              itinerary(destination, origin, date.plusDays(5 + i % 5), i)));
+      offer.put(
+          "price",
+          Map.of(
+              "currency", "EUR",
+              "total", String.format("%.2f", 80 + i * 1.25),
+              "base", String.format("%.2f", 60 + i * 1.1)));
+      offer.put("validatingAirlineCodes", List.of("AI"));
+      data.add(offer);
+    }
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("meta", Map.of("count", offers));
+    response.put("data", data);
+    return JsonUtils.mapToJson(response);
+  }
+
+  /**
+   * Builds an airport and city locations response.
+   *
+   * @param locations the number of locations in the response
+   * @return the response body as JSON
+   */
+  public static String airportLocationsResponse(int locations) {
+    List<Object> data = new ArrayList<>();
+    for (int i = 0; i < locations; i++) {
+      String code = CODES[i % CODES.length];
+      Map<String, Object> location = new LinkedHashMap<>();
+      location.put("type", "location");
+      location.put("subType", i % 2 == 0 ? "CITY" : "AIRPORT");
+      location.put("name", "LOCATION " + i);
+      location.put("detailedName", "LOCATION " + i + "/" + code);
+      location.put("timeZoneOffset", "+05:30");
+      location.put("iataCode", code);
+      location.put("geoCode", Map.of("latitude", 12.9 + i * 0.001, "longitude", 77.5));
+      location.put(
+          "address",
+          Map.of(
+              "cityName", "CITY " + i,
+              "cityCode", code,
+              "countryName", "INDIA",
+              "countryCode", "IN",
+              "stateCode", "KA",
+              "regionCode", "ASIA"));
+      data.add(location);
+    }
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("meta", Map.of("count", locations));
+    response.put("data", data);
+    return JsonUtils.mapToJson(response);
+  }
+
+  private static Map<String, Object> itinerary(
+      String origin, String destination, LocalDate date, int index) {
+    String stop = CODES[(index + 5) % CODES.length];
+    return Map.of(
+        "duration",
+        "PT5H30M",
+        "segments",
+        List.of(
+            segment(origin, stop, date.atTime(6, index % 60).toString(), index),
+            segment(stop, destination, date.atTime(11, index % 60).toString(), index + 1)));
+  }
+
+  private static Map<String, Object> segment(String from, String to, String at, int number) {
+    return Map.of(
+        "departure", Map.of("iataCode", from, "terminal", "1", "at", at),
+        "arrival", Map.of("iataCode", to, "terminal", "2", "at", at),
+        "carrierCode", "AI",
+        "number", String.valueOf(100 + number),
+        "numberOfStops", 0);
+  }
+}
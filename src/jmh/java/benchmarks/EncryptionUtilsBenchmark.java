@@ -0,0 +1,48 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.EncryptionUtils;
+
+/** Benchmark of the credential decryption performed when the token manager is initialised. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class EncryptionUtilsBenchmark {
+
+  private String key;
+  private String encryptedSecret;
+
+  /**
+   * Generates a key and encrypts a credential-sized secret once per trial.
+   *
+   * @throws Exception if the AES algorithm is not available
+   */
+  @Setup
+  public void setUp() throws Exception {
+    key = EncryptionUtils.generateKey();
+    encryptedSecret = EncryptionUtils.encrypt("x1GNzxFFOn1Ko8flq0X6zFe8FNErFi8b", key);
+  }
+
+  /**
+   * Decrypts the credential.
+   *
+   * @return the decrypted secret
+   */
+  @Benchmark
+  public String decrypt() {
+    return EncryptionUtils.decrypt(encryptedSecret, key);
+  }
+}
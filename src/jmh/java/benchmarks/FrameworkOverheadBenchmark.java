@@ -0,0 +1,174 @@
+package benchmarks;
+
+import static testUtils.LoggingMatcher.log;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hamcrest.Matchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import testUtils.LocalStubServer;
+import tests.BaseTest;
+import utils.Config;
+
+/**
+ * End-to-end framework overhead benchmark against the in-process {@link LocalStubServer} with no
+ * added latency. The same flight offers search is sent three ways:
+ *
+ * <ul>
+ *   <li>{@link #httpClient()}: a plain JDK HTTP client, the cost of the exchange itself
+ *   <li>{@link #restAssured()}: Rest-Assured without filters or logged assertions
+ *   <li>{@link #framework()}: the request as the functional tests send it, through the filters
+ *       created by {@link BaseTest#createFilters()} and with the same logged body assertions
+ * </ul>
+ *
+ * <p>Rate limiting is disabled, so that waiting for the quota is not counted as overhead; the other
+ * filters are enabled as in the configuration.
+ *
+ * <p>The difference between {@code framework} and {@code httpClient} is the framework tax per
+ * request; run this benchmark with {@code -prof gc} to see its allocation cost as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {
+      "-Dlog4j2.configurationFile=log4j2-benchmark.xml",
+      "-DlocalStub.latencyMs=0",
+      "-DlocalStub.port=0",
+      "-DrateLimit.enabled=false",
+      "-Dsun.net.httpserver.nodelay=true"
+    })
+public class FrameworkOverheadBenchmark {
+
+  private static final Logger logger = LogManager.getLogger(FrameworkOverheadBenchmark.class);
+
+  private final String flightOffers = Config.get().getString("flightOffers");
+  private final Map<String, Object> queryParams =
+      Map.of(
+          "originLocationCode",
+          "BLR",
+          "destinationLocationCode",
+          "DEL",
+          "departureDate",
+          LocalDate.now().plusDays(30).toString(),
+          "adults",
+          1);
+
+  private HttpClient client;
+  private HttpRequest request;
+  private RequestSpecification bareSpec;
+  private RequestSpecification frameworkSpec;
+
+  /** Starts the stub and builds the clients and request specifications once per trial. */
+  @Setup
+  public void setUp() {
+    String baseUri = LocalStubServer.start().getBaseUri();
+    StringBuilder query = new StringBuilder();
+    queryParams.forEach(
+        (name, value) ->
+            query.append(query.isEmpty() ? "?" : "&").append(name).append('=').append(value));
+
+    client = HttpClient.newHttpClient();
+    request =
+        HttpRequest.newBuilder(URI.create(baseUri + flightOffers + query))
+            .header("Authorization", "Bearer benchmark-token")
+            .GET()
+            .build();
+    bareSpec =
+        new RequestSpecBuilder()
+            .setBaseUri(baseUri)
+            .setAuth(RestAssured.oauth2("benchmark-token"))
+            .build();
+    frameworkSpec =
+        new RequestSpecBuilder()
+            .setBaseUri(baseUri)
+            .setAuth(RestAssured.oauth2("benchmark-token"))
+            .addFilters(BaseTest.createFilters())
+            .build();
+  }
+
+  /**
+   * Sends the search with the JDK HTTP client.
+   *
+   * @return the response body
+   * @throws IOException if the request fails
+   * @throws InterruptedException if interrupted while waiting for the response
+   */
+  @Benchmark
+  public String httpClient() throws IOException, InterruptedException {
+    return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+  }
+
+  /**
+   * Sends the search with Rest-Assured only.
+   *
+   * @return the response
+   */
+  @Benchmark
+  public Response restAssured() {
+    return RestAssured.given(bareSpec)
+        .queryParams(queryParams)
+        .when()
+        .get(flightOffers)
+        .then()
+        .statusCode(200)
+        .extract()
+        .response();
+  }
+
+  /**
+   * Sends the search through the framework, as in {@code testValidSearchFlightOffers}.
+   *
+   * @return the response
+   */
+  @Benchmark
+  public Response framework() {
+    return RestAssured.given(frameworkSpec)
+        .queryParams(queryParams)
+        .when()
+        .get(flightOffers)
+        .then()
+        .statusCode(200)
+        .body(
+            "data.type.unique()",
+            log(logger, Matchers.everyItem(Matchers.equalTo("flight-offer")), "Data Type"))
+        .body(
+            "data.numberOfBookableSeats.unique()",
+            log(
+                logger,
+                Matchers.everyItem(Matchers.greaterThanOrEqualTo(1)),
+                "numberOfBookableSeats"))
+        .body(
+            "data.itineraries.segments.arrival.iataCode.flatten().unique()",
+            log(logger, Matchers.hasItem("DEL"), "At-least One Arrival IATACode matching"))
+        .body(
+            "data.itineraries.segments.departure.iataCode.flatten().unique()",
+            log(logger, Matchers.hasItem("BLR"), "At-least One Departure IATACode matching"))
+        .extract()
+        .response();
+  }
+}
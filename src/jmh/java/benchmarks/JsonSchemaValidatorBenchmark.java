@@ -0,0 +1,73 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import testUtils.JsonSchemaValidator;
+
+/**
+ * Benchmarks of the streaming schema validation applied to every response, against only parsing the
+ * same response into a Jackson tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class JsonSchemaValidatorBenchmark {
+
+  @Param({"500"})
+  private int flightOffers;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private JsonSchemaValidator validator;
+  private byte[] flightOffersJson;
+
+  /** Generates the payload and compiles the schema once per trial. */
+  @Setup
+  public void setUp() {
+    flightOffersJson =
+        BenchmarkPayloads.flightOffersResponse(flightOffers).getBytes(StandardCharsets.UTF_8);
+    validator = JsonSchemaValidator.forSchema("flightOffers").orElseThrow();
+    List<String> violations = validator.validate(flightOffersJson);
+    if (!violations.isEmpty()) {
+      throw new IllegalStateException("Benchmark payload violates the schema: " + violations);
+    }
+  }
+
+  /**
+   * Validates a flight offers response against its schema.
+   *
+   * @return the violations
+   */
+  @Benchmark
+  public List<String> validateFlightOffers() {
+    return validator.validate(flightOffersJson);
+  }
+
+  /**
+   * Parses the same response into a tree, the cost a tree-based validator pays before validating.
+   *
+   * @return the parsed tree
+   * @throws IOException if the response cannot be parsed
+   */
+  @Benchmark
+  public JsonNode readTreeFlightOffers() throws IOException {
+    return objectMapper.readTree(flightOffersJson);
+  }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import records.LocationWrapper;
+import utils.JsonUtils;
+
+/** Benchmarks of the JSON conversions applied to every response. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class JsonUtilsBenchmark {
+
+  @Param({"500"})
+  private int flightOffers;
+
+  @Param({"5000"})
+  private int airportLocations;
+
+  private String flightOffersJson;
+  private String airportLocationsJson;
+
+  /** Generates the payloads once per trial. */
+  @Setup
+  public void setUp() {
+    flightOffersJson = BenchmarkPayloads.flightOffersResponse(flightOffers);
+    airportLocationsJson = BenchmarkPayloads.airportLocationsResponse(airportLocations);
+  }
+
+  /**
+   * Deserializes a large airport locations response into records.
+   *
+   * @return the deserialized wrapper
+   */
+  @Benchmark
+  public LocationWrapper fromJsonAirportLocations() {
+    return JsonUtils.fromJson(airportLocationsJson, LocationWrapper.class);
+  }
+
+  /**
+   * Parses a flight offers response into a generic map.
+   *
+   * @return the parsed map
+   */
+  @Benchmark
+  public Map<String, Object> jsonToMapFlightOffers() {
+    return JsonUtils.jsonToMap(flightOffersJson);
+  }
+}
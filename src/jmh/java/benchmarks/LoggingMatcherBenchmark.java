@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import testUtils.LoggingMatcher;
+
+/**
+ * Benchmarks of {@link LoggingMatcher} with the matcher shapes used by the flight offer tests,
+ * evaluated over values extracted from a large response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class LoggingMatcherBenchmark {
+
+  private static final Logger logger = LogManager.getLogger(LoggingMatcherBenchmark.class);
+
+  @Param({"500"})
+  private int values;
+
+  private List<String> types;
+  private List<Integer> seats;
+  private Matcher<Iterable<String>> everyItemMatcher;
+  private Matcher<Iterable<? super Integer>> hasItemMatcher;
+
+  /** Builds the actual values and matchers once per trial. */
+  @Setup
+  public void setUp() {
+    types = IntStream.range(0, values).mapToObj(i -> "flight-offer").toList();
+    seats = IntStream.range(0, values).mapToObj(i -> 1 + i % 9).toList();
+    everyItemMatcher =
+        LoggingMatcher.log(logger, Matchers.everyItem(Matchers.equalTo("flight-offer")), "Type");
+    hasItemMatcher = LoggingMatcher.log(logger, Matchers.hasItem(9), "At-least one with 9 seats");
+  }
+
+  /**
+   * Matches and logs an every-item assertion.
+   *
+   * @return the match result
+   */
+  @Benchmark
+  public boolean everyItemEqualTo() {
+    return everyItemMatcher.matches(types);
+  }
+
+  /**
+   * Matches and logs a has-item assertion.
+   *
+   * @return the match result
+   */
+  @Benchmark
+  public boolean hasItem() {
+    return hasItemMatcher.matches(seats);
+  }
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import testUtils.RequestTemplate;
+
+/**
+ * Benchmarks of building request bodies and query strings from precompiled templates, against
+ * building a map and serializing it as Rest-Assured does for map bodies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class RequestTemplateBenchmark {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final RequestTemplate transferOffersBody =
+      RequestTemplate.of("transfer_offers_body.json");
+  private final RequestTemplate flightOffersQuery =
+      RequestTemplate.of("flight_offers_query.properties");
+  private final LocalDateTime startDateTime = LocalDateTime.of(2030, 1, 15, 10, 30);
+  private final LocalDate departureDate = LocalDate.of(2030, 1, 15);
+
+  /**
+   * Fills the transfer offers body template.
+   *
+   * @return the body bytes
+   */
+  @Benchmark
+  public byte[] templateTransferOffersBody() {
+    return transferOffersBody.render(startDateTime, 2);
+  }
+
+  /**
+   * Builds the transfer offers body as a map and serializes it with Jackson.
+   *
+   * @return the body bytes
+   * @throws JsonProcessingException if serialization fails
+   */
+  @Benchmark
+  public byte[] mapTransferOffersBody() throws JsonProcessingException {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("startLocationCode", "BLR");
+    payload.put("endAddressLine", "MTP");
+    payload.put("endCityName", "BENGALURU");
+    payload.put("endCountryCode", "IN");
+    payload.put("endGeoCode", "13.045484,77.606354");
+    payload.put("startDateTime", startDateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    payload.put("passengers", 2);
+    return objectMapper.writeValueAsBytes(payload);
+  }
+
+  /**
+   * Fills the flight offers query template.
+   *
+   * @return the query string
+   */
+  @Benchmark
+  public String templateFlightOffersQuery() {
+    return flightOffersQuery.renderQuery("BLR", "DEL", departureDate, null, 3);
+  }
+
+  /**
+   * Builds the flight offers query parameters as a map, as the test did per data row.
+   *
+   * @return the query parameters
+   */
+  @Benchmark
+  public Map<String, Object> mapFlightOffersQuery() {
+    Map<String, Object> queryParams = new LinkedHashMap<>();
+    queryParams.put("originLocationCode", "BLR");
+    queryParams.put("destinationLocationCode", "DEL");
+    queryParams.put("departureDate", departureDate.toString());
+    queryParams.put("adults", 3);
+    return queryParams;
+  }
+}
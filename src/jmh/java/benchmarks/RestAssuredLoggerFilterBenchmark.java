@@ -0,0 +1,89 @@
+package benchmarks;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.RestAssuredLoggerFilter;
+
+/**
+ * Benchmark of {@link RestAssuredLoggerFilter} in isolation. The request specification and the rest
+ * of the filter chain are replaced by dynamic proxies that return a prebuilt flight offers
+ * response, so only the cost of the filter itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class RestAssuredLoggerFilterBenchmark {
+
+  @Param({"500"})
+  private int flightOffers;
+
+  private final RestAssuredLoggerFilter filter = new RestAssuredLoggerFilter();
+  private FilterableRequestSpecification requestSpec;
+  private FilterContext filterContext;
+
+  /** Builds the request, response and filter context stand-ins once per trial. */
+  @Setup
+  public void setUp() {
+    Response response =
+        new ResponseBuilder()
+            .setStatusCode(200)
+            .setContentType("application/vnd.amadeus+json")
+            .setBody(BenchmarkPayloads.flightOffersResponse(flightOffers))
+            .build();
+    Headers headers =
+        new Headers(
+            new Header("Authorization", "Bearer benchmark-token"),
+            new Header("Accept", "application/json"));
+
+    requestSpec =
+        (FilterableRequestSpecification)
+            Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] {FilterableRequestSpecification.class},
+                (proxy, method, args) ->
+                    switch (method.getName()) {
+                      case "getMethod" -> "GET";
+                      case "getURI" ->
+                          "https://test.api.amadeus.com/v2/shopping/flight-offers?adults=1";
+                      case "getUserDefinedPath" -> "/v2/shopping/flight-offers";
+                      case "getHeaders" -> headers;
+                      default -> null;
+                    });
+    filterContext =
+        (FilterContext)
+            Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] {FilterContext.class},
+                (proxy, method, args) -> method.getName().equals("next") ? response : null);
+  }
+
+  /**
+   * Runs the logging filter around a prebuilt response.
+   *
+   * @return the response returned by the filter
+   */
+  @Benchmark
+  public Response filter() {
+    return filter.filter(requestSpec, null, filterContext);
+  }
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import io.restassured.path.json.JsonPath;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import testUtils.DoubleInvariant;
+import testUtils.LongInvariant;
+import testUtils.StreamingInvariants;
+
+/**
+ * Benchmarks of the streaming invariant checks against the list-based checks they replaced in the
+ * flight tests: boxing, copying and sorting the prices, and collecting the parsed departure times
+ * into a set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class StreamingInvariantsBenchmark {
+
+  private static final LocalDate DEPARTURE_DATE = LocalDate.of(2030, 1, 15);
+
+  @Param({"2000"})
+  private int flightOffers;
+
+  private byte[] flightOffersJson;
+
+  /** Generates the payload once per trial. */
+  @Setup
+  public void setUp() {
+    flightOffersJson =
+        BenchmarkPayloads.flightOffersResponse(flightOffers).getBytes(StandardCharsets.UTF_8);
+    if (!pricesSortedByList() || !streamingInvariants().isEmpty()) {
+      throw new IllegalStateException("Benchmark payload does not satisfy the invariants");
+    }
+  }
+
+  /**
+   * Checks that prices are ascending and departures are on or after the departure date and in order
+   * within each itinerary, in one streaming pass.
+   *
+   * @return the violations
+   */
+  @Benchmark
+  public List<String> streamingInvariants() {
+    return StreamingInvariants.over(flightOffersJson)
+        .doubles("data.price.total", DoubleInvariant.ascending())
+        .epochSeconds(
+            "data.itineraries.segments.departure.at",
+            LongInvariant.atLeast(StreamingInvariants.epochSecond(DEPARTURE_DATE)),
+            LongInvariant.ascending())
+        .verify();
+  }
+
+  /**
+   * Checks that prices are ascending by comparing the boxed prices with a sorted copy.
+   *
+   * @return true if the prices are ascending
+   */
+  @Benchmark
+  public boolean pricesSortedByList() {
+    List<String> priceList =
+        JsonPath.from(new String(flightOffersJson, StandardCharsets.UTF_8))
+            .getList("data.price.total");
+    List<Double> priceValues = priceList.stream().mapToDouble(Double::parseDouble).boxed().toList();
+    List<Double> priceValuesSorted = new ArrayList<>(priceValues);
+    Collections.sort(priceValuesSorted);
+    return priceValuesSorted.equals(priceValues);
+  }
+
+  /**
+   * Checks that departures are on or after the departure date through a set of parsed dates.
+   *
+   * @return true if every departure is on or after the departure date
+   */
+  @Benchmark
+  public boolean departuresBySet() {
+    return new HashSet<>(
+            JsonPath.from(new String(flightOffersJson, StandardCharsets.UTF_8))
+                .getList("data.itineraries.segments.departure.at.flatten()"))
+        .stream()
+            .map(ts -> LocalDateTime.parse((String) ts).toLocalDate())
+            .allMatch(date -> !date.isBefore(DEPARTURE_DATE));
+  }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import testUtils.TestResultsRecords.TestIterationResult;
+import testUtils.TestResultsRecords.TestResult;
+
+/**
+ * Benchmark of aggregating data-driven iterations into a {@link TestResult}, as done by the results
+ * reporter for every iteration of a parameterized test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class TestResultBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int iterations;
+
+  /**
+   * Aggregates the configured number of iterations, half of them failing.
+   *
+   * @return the aggregated result
+   */
+  @Benchmark
+  public TestResult withIterationResult() {
+    TestResult result = new TestResult("Passed", "Automated Test Name: benchmark", 0L, "");
+    for (int i = 1; i <= iterations; i++) {
+      boolean failed = i % 2 == 0;
+      result =
+          result.withIterationResult(
+              new TestIterationResult(
+                  i,
+                  failed ? "Failed" : "Passed",
+                  "DataDriven: Test Parameters: [BLR, DEL, " + i + "]",
+                  25L,
+                  failed ? "Exception : AssertionError => Message : expected 200" : ""));
+    }
+    return result;
+  }
+}
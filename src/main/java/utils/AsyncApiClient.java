@@ -0,0 +1,251 @@
+package utils;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSender;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import utils.perf.ResourceUsage;
+import utils.perf.Span;
+import utils.perf.Tracer;
+
+/**
+ * Asynchronous request facade for fan-out tests, backed by the JDK {@link HttpClient} with HTTP/2
+ * where the server supports it.
+ *
+ * <p>Requests are built from {@code RestAssured.given()}, so they carry the suite's base URI, the
+ * OAuth2 token set by {@code BaseTest.updateToken()} and the suite's filters (rate limiting,
+ * logging, Allure, latency recording and SLAs), which run as for any other request before the
+ * exchange is handed to the JDK client. Each request runs on its own virtual thread, and at most
+ * {@code async.maxConcurrency} requests of a client are in flight at once; the calling test thread
+ * only blocks when it joins the returned futures.
+ *
+ * <pre>{@code
+ * AsyncApiClient client = new AsyncApiClient();
+ * List<Response> responses =
+ *     client.getAll(HOTELS_BY_CITY, cityCodes.stream().map(code -> Map.of("cityCode", code)).toList())
+ *         .join();
+ * }</pre>
+ */
+public class AsyncApiClient {
+
+  /** Shared client, so that connections and HTTP/2 streams are reused across tests. */
+  private static final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_2)
+          .connectTimeout(Duration.ofSeconds(30))
+          .executor(Executors.newVirtualThreadPerTaskExecutor())
+          .build();
+
+  /** Runs each request on its own virtual thread, shared by every client. */
+  private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final Semaphore permits;
+  private final Duration timeout;
+
+  /** Constructs an AsyncApiClient with the concurrency limit and timeout from the configuration. */
+  public AsyncApiClient() {
+    this(
+        Config.get().getInt("async.maxConcurrency", 16),
+        Duration.ofSeconds(Config.get().getLong("async.timeoutSeconds", 60)));
+  }
+
+  /**
+   * Constructs an AsyncApiClient.
+   *
+   * @param maxConcurrency maximum number of requests in flight at once
+   * @param timeout timeout of a single request
+   */
+  public AsyncApiClient(int maxConcurrency, Duration timeout) {
+    this.permits = new Semaphore(maxConcurrency);
+    this.timeout = timeout;
+  }
+
+  /**
+   * Sends a GET request asynchronously.
+   *
+   * @param path the request path, relative to the base URI
+   * @param queryParams the query parameters
+   * @return a future completed with the response, or exceptionally if the request failed
+   */
+  public CompletableFuture<Response> get(String path, Map<String, ?> queryParams) {
+    return send("GET", path, queryParams, null);
+  }
+
+  /**
+   * Sends a GET request per set of query parameters and joins the responses.
+   *
+   * @param path the request path, relative to the base URI
+   * @param queries the query parameters of each request
+   * @return a future completed with the responses in the order of the queries
+   */
+  public CompletableFuture<List<Response>> getAll(String path, List<Map<String, ?>> queries) {
+    List<CompletableFuture<Response>> futures =
+        queries.stream().map(query -> get(path, query)).toList();
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+  }
+
+  /**
+   * Sends a request asynchronously.
+   *
+   * @param method the HTTP method
+   * @param path the request path, relative to the base URI
+   * @param queryParams the query parameters
+   * @param body the request body sent as text, or null for none
+   * @return a future completed with the response, or exceptionally if the request failed
+   */
+  public CompletableFuture<Response> send(
+      String method, String path, Map<String, ?> queryParams, Object body) {
+    FilterableRequestSpecification spec =
+        (FilterableRequestSpecification) RestAssured.given().queryParams(queryParams);
+    if (body != null) {
+      spec.body(body);
+    }
+    spec.path(path);
+    FilterableRequestSpecification requestSpec = withMethod(spec, method);
+    FilterableResponseSpecification responseSpec =
+        (FilterableResponseSpecification) spec.response();
+    // Filters that report against the current test result, span or resource usage run on the
+    // request's thread
+    ITestResult testResult = Reporter.getCurrentTestResult();
+    Span parentSpan = Tracer.current();
+    ResourceUsage usage = ResourceUsage.current();
+
+    return CompletableFuture.supplyAsync(
+        () -> {
+          permits.acquireUninterruptibly();
+          Reporter.setCurrentTestResult(testResult);
+          Tracer.setCurrent(parentSpan);
+          try {
+            return ResourceUsage.attribute(
+                usage,
+                () -> new TerminalFilterContext(requestSpec).next(requestSpec, responseSpec));
+          } finally {
+            Tracer.setCurrent(null);
+            Reporter.setCurrentTestResult(null);
+            permits.release();
+          }
+        },
+        executor);
+  }
+
+  /**
+   * Exposes the HTTP method on the specification, which Rest-Assured only sets when it sends the
+   * request itself.
+   */
+  private static FilterableRequestSpecification withMethod(
+      FilterableRequestSpecification spec, String method) {
+    return (FilterableRequestSpecification)
+        Proxy.newProxyInstance(
+            AsyncApiClient.class.getClassLoader(),
+            new Class<?>[] {FilterableRequestSpecification.class},
+            (proxy, invoked, args) -> {
+              if (invoked.getName().equals("getMethod") && invoked.getParameterCount() == 0) {
+                return method;
+              }
+              try {
+                Object result = invoked.invoke(spec, args);
+                return result == spec ? proxy : result;
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+            });
+  }
+
+  /** Runs the filters in order and sends the request with the JDK client after the last one. */
+  private final class TerminalFilterContext implements FilterContext {
+
+    private final FilterableRequestSpecification requestSpec;
+    private final Iterator<Filter> filters;
+    private final Map<String, Object> values = new HashMap<>();
+
+    private TerminalFilterContext(FilterableRequestSpecification requestSpec) {
+      this.requestSpec = requestSpec;
+      this.filters = requestSpec.getDefinedFilters().iterator();
+    }
+
+    @Override
+    public Response next(
+        FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec) {
+      if (filters.hasNext()) {
+        return filters.next().filter(requestSpec, responseSpec, this);
+      }
+      return sendWithJdk(requestSpec);
+    }
+
+    /**
+     * Sends a request built from another specification, such as {@code RestAssured.given()}, with
+     * the method and path of this context's request, bypassing the remaining filters.
+     *
+     * @param requestSender the request specification to send
+     * @return the response
+     * @throws IllegalArgumentException if the sender is not a request specification
+     */
+    @Override
+    public Response send(RequestSender requestSender) {
+      if (!(requestSender instanceof FilterableRequestSpecification spec)) {
+        throw new IllegalArgumentException(
+            "Only a request specification can be sent from a filter: " + requestSender);
+      }
+      spec.path(requestSpec.getUserDefinedPath());
+      return sendWithJdk(withMethod(spec, requestSpec.getMethod()));
+    }
+
+    private Response sendWithJdk(FilterableRequestSpecification spec) {
+      try {
+        HttpResponse<byte[]> response =
+            httpClient.send(
+                JdkHttpExchange.toHttpRequest(spec, timeout),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return JdkHttpExchange.toResponse(response);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CompletionException(e);
+      }
+    }
+
+    @Override
+    public void setValue(String name, Object value) {
+      values.put(name, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(String name) {
+      return (T) values.get(name);
+    }
+
+    @Override
+    public boolean hasValue(String name) {
+      return values.containsKey(name);
+    }
+
+    @Override
+    public boolean hasValue(String name, Object value) {
+      return values.containsKey(name) && Objects.equals(values.get(name), value);
+    }
+  }
+}
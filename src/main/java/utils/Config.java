@@ -0,0 +1,394 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Immutable snapshot of the framework configuration, built once and shared by every class that
+ * reads a setting. A value is resolved from the following layers, each overriding the previous:
+ *
+ * <ol>
+ *   <li>{@code config.properties}
+ *   <li>{@code config-<profile>.properties}, when a profile is selected with {@code config.profile}
+ *   <li>system properties, such as {@code -DrateLimit.permitsPerSecond=5}
+ *   <li>environment variables, named after the key in upper case with dots and dashes replaced by
+ *       underscores, such as {@code RATELIMIT_PERMITSPERSECOND=5}
+ * </ol>
+ *
+ * <p>The files are read from the classpath, or from the directory set with {@code config.dir}.
+ * Values are trimmed. The typed accessors treat a blank value as unset and fail with the key in the
+ * message when a required key is missing or a value does not parse.
+ *
+ * <p>With {@code config.reload.enabled}, the files are watched and a new snapshot replaces the
+ * current one when they change, so that long-running soak and daemon runs pick up endpoint and rate
+ * limit changes without a restart. Classes that cache derived settings register with {@link
+ * #onReload}; a file that fails to load leaves the current snapshot in place.
+ */
+public final class Config {
+
+  private static final Logger logger = LogManager.getLogger(Config.class);
+
+  private static final String FILE_NAME = "config.properties";
+
+  private static final List<Consumer<Config>> reloadListeners = new CopyOnWriteArrayList<>();
+
+  private static volatile Config current = load();
+
+  private final Map<String, String> fileValues;
+  private final Map<String, String> systemProperties;
+  private final Map<String, String> environment;
+  private final String profile;
+  private final List<Path> files;
+
+  static {
+    if (current.getBoolean("config.reload.enabled", false)) {
+      Watcher.start();
+    }
+  }
+
+  private Config(
+      Map<String, String> fileValues,
+      Map<String, String> systemProperties,
+      Map<String, String> environment,
+      String profile,
+      List<Path> files) {
+    this.fileValues = fileValues;
+    this.systemProperties = systemProperties;
+    this.environment = environment;
+    this.profile = profile;
+    this.files = files;
+  }
+
+  /**
+   * Returns the current configuration snapshot.
+   *
+   * @return the configuration
+   */
+  public static Config get() {
+    return current;
+  }
+
+  /**
+   * Registers a listener called with the new snapshot after every reload.
+   *
+   * @param listener the listener
+   */
+  public static void onReload(Consumer<Config> listener) {
+    reloadListeners.add(listener);
+  }
+
+  /**
+   * Builds a new snapshot from the files, system properties and environment, and makes it current.
+   *
+   * @return the new configuration
+   * @throws IllegalStateException if a configuration file cannot be read
+   */
+  public static Config reload() {
+    Config config = load();
+    current = config;
+    for (Consumer<Config> listener : reloadListeners) {
+      try {
+        listener.accept(config);
+      } catch (RuntimeException e) {
+        logger.error("Configuration reload listener failed: ", e);
+      }
+    }
+    return config;
+  }
+
+  /**
+   * Returns the selected profile.
+   *
+   * @return the profile, or null if none is selected
+   */
+  public String getProfile() {
+    return profile;
+  }
+
+  /**
+   * Returns the keys defined in the configuration files.
+   *
+   * @return unmodifiable set of keys
+   */
+  public Set<String> keys() {
+    return fileValues.keySet();
+  }
+
+  /**
+   * Returns a required value.
+   *
+   * @param key the key
+   * @return the value
+   * @throws IllegalStateException if the key is not set in any layer
+   */
+  public String getString(String key) {
+    String value = lookup(key);
+    if (value == null) {
+      throw new IllegalStateException("Missing configuration property: " + key);
+    }
+    return value;
+  }
+
+  /**
+   * Returns a value, which may be blank if the key is set without a value.
+   *
+   * @param key the key
+   * @param defaultValue the value returned when the key is not set in any layer
+   * @return the value or the default
+   */
+  public String getString(String key, String defaultValue) {
+    String value = lookup(key);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Returns an integer value.
+   *
+   * @param key the key
+   * @param defaultValue the value returned when the key is unset or blank
+   * @return the value or the default
+   * @throws IllegalArgumentException if the value is not an integer
+   */
+  public int getInt(String key, int defaultValue) {
+    String value = lookup(key);
+    if (value == null || value.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw invalid(key, value, "an integer");
+    }
+  }
+
+  /**
+   * Returns a long value.
+   *
+   * @param key the key
+   * @param defaultValue the value returned when the key is unset or blank
+   * @return the value or the default
+   * @throws IllegalArgumentException if the value is not an integer
+   */
+  public long getLong(String key, long defaultValue) {
+    String value = lookup(key);
+    if (value == null || value.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw invalid(key, value, "an integer");
+    }
+  }
+
+  /**
+   * Returns a decimal value.
+   *
+   * @param key the key
+   * @param defaultValue the value returned when the key is unset or blank
+   * @return the value or the default
+   * @throws IllegalArgumentException if the value is not a number
+   */
+  public double getDouble(String key, double defaultValue) {
+    String value = lookup(key);
+    if (value == null || value.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      throw invalid(key, value, "a number");
+    }
+  }
+
+  /**
+   * Returns a boolean value.
+   *
+   * @param key the key
+   * @param defaultValue the value returned when the key is unset or blank
+   * @return the value or the default
+   * @throws IllegalArgumentException if the value is neither true nor false
+   */
+  public boolean getBoolean(String key, boolean defaultValue) {
+    String value = lookup(key);
+    if (value == null || value.isEmpty()) {
+      return defaultValue;
+    }
+    return switch (value.toLowerCase(Locale.ROOT)) {
+      case "true" -> true;
+      case "false" -> false;
+      default -> throw invalid(key, value, "true or false");
+    };
+  }
+
+  private String lookup(String key) {
+    String value = environment.get(environmentName(key));
+    if (value == null) {
+      value = systemProperties.get(key);
+    }
+    if (value == null) {
+      value = fileValues.get(key);
+    }
+    return value;
+  }
+
+  private static IllegalArgumentException invalid(String key, String value, String expected) {
+    return new IllegalArgumentException(
+        "Configuration property " + key + " must be " + expected + ", was '" + value + "'");
+  }
+
+  /** Returns the environment variable that overrides a key, such as {@code RATELIMIT_BURST}. */
+  private static String environmentName(String key) {
+    return key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+  }
+
+  private static Config load() {
+    Map<String, String> systemProperties = new LinkedHashMap<>();
+    System.getProperties()
+        .stringPropertyNames()
+        .forEach(key -> systemProperties.put(key, System.getProperty(key).trim()));
+    Map<String, String> environment = System.getenv();
+    String directory = environment.getOrDefault("CONFIG_DIR", systemProperties.get("config.dir"));
+
+    List<Path> files = new ArrayList<>();
+    Map<String, String> fileValues = new LinkedHashMap<>();
+    readFile(directory, FILE_NAME, fileValues, files);
+    String profile =
+        environment.getOrDefault(
+            "CONFIG_PROFILE",
+            systemProperties.getOrDefault("config.profile", fileValues.get("config.profile")));
+    if (profile != null && profile.isBlank()) {
+      profile = null;
+    }
+    if (profile != null) {
+      readFile(directory, "config-" + profile + ".properties", fileValues, files);
+    }
+    return new Config(
+        Collections.unmodifiableMap(fileValues),
+        Collections.unmodifiableMap(systemProperties),
+        environment,
+        profile,
+        List.copyOf(files));
+  }
+
+  /** Reads a configuration file into the values, and records its path if it can be watched. */
+  private static void readFile(
+      String directory, String name, Map<String, String> values, List<Path> files) {
+    Properties properties = new Properties();
+    try {
+      if (directory != null && !directory.isBlank()) {
+        Path path = Path.of(directory, name);
+        try (InputStream inputStream = Files.newInputStream(path)) {
+          properties.load(inputStream);
+        }
+        files.add(path);
+      } else {
+        URL url = Config.class.getClassLoader().getResource(name);
+        if (url == null) {
+          throw new IllegalStateException(name + " file not found in classpath");
+        }
+        try (InputStream inputStream = url.openStream()) {
+          properties.load(inputStream);
+        }
+        if (url.getProtocol().equals("file")) {
+          files.add(Path.of(url.toURI()));
+        }
+      }
+    } catch (IOException | URISyntaxException e) {
+      throw new IllegalStateException("Error while reading " + name, e);
+    }
+    properties
+        .stringPropertyNames()
+        .forEach(key -> values.put(key, properties.getProperty(key).trim()));
+  }
+
+  /**
+   * Watches the directories of the configuration files from a daemon thread and reloads the
+   * configuration when one of the files is modified or replaced.
+   */
+  private static final class Watcher {
+
+    /** Time to wait for an editor to finish writing before reading the files. */
+    private static final long SETTLE_MS = 200;
+
+    private static void start() {
+      if (current.files.isEmpty()) {
+        logger.warn("Configuration reload is enabled but the configuration files are not on disk");
+        return;
+      }
+      Thread thread = new Thread(Watcher::run, "config-watcher");
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    private static void run() {
+      try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+        Set<Path> directories = new HashSet<>();
+        for (Path file : current.files) {
+          if (directories.add(file.getParent())) {
+            file.getParent()
+                .register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+          }
+        }
+        while (true) {
+          WatchKey key = watchService.take();
+          boolean changed = false;
+          do {
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+              if (event.context() instanceof Path name
+                  && current.files.contains(directory.resolve(name))) {
+                changed = true;
+              }
+            }
+            key.reset();
+            Thread.sleep(SETTLE_MS);
+            key = watchService.poll();
+          } while (key != null);
+          if (changed) {
+            reloadFromWatcher();
+          }
+        }
+      } catch (IOException e) {
+        logger.error("Failed to watch the configuration files: ", e);
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private static void reloadFromWatcher() {
+      try {
+        Config config = reload();
+        logger.info("Configuration reloaded from {}", config.files);
+      } catch (RuntimeException e) {
+        logger.error("Failed to reload the configuration, keeping the current one: ", e);
+      }
+    }
+  }
+}
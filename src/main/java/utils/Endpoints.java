@@ -0,0 +1,72 @@
+package utils;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility class that maps request paths back to the endpoint keys declared in {@code
+ * config.properties} (for example {@code /v2/shopping/flight-offers} to {@code flightOffers}).
+ * Endpoint keys are used to group latency samples, limits and reports per API. The paths are
+ * reloaded with the configuration.
+ */
+public class Endpoints {
+
+  /** Endpoint paths by config key, longest path first so that nested resources match first. */
+  private static volatile Map<String, String> endpointPaths = loadEndpointPaths(Config.get());
+
+  static {
+    Config.onReload(config -> endpointPaths = loadEndpointPaths(config));
+  }
+
+  private Endpoints() {}
+
+  /**
+   * Resolves the endpoint key for a request path. Path parameters, query strings and absolute URIs
+   * are tolerated, the longest configured path that prefixes the request path wins.
+   *
+   * @param path the request path or URI
+   * @return the matching endpoint key, or the path itself if no configured endpoint matches
+   */
+  public static String resolve(String path) {
+    if (path == null) {
+      return "unknown";
+    }
+    String requestPath = stripQuery(path);
+    for (Map.Entry<String, String> entry : endpointPaths.entrySet()) {
+      int index = requestPath.indexOf(entry.getValue());
+      if (index >= 0 && isPathBoundary(requestPath, index + entry.getValue().length())) {
+        return entry.getKey();
+      }
+    }
+    return requestPath;
+  }
+
+  /**
+   * Returns the configured endpoint paths keyed by their config key.
+   *
+   * @return unmodifiable map of endpoint key to path
+   */
+  public static Map<String, String> all() {
+    return endpointPaths;
+  }
+
+  private static String stripQuery(String path) {
+    int queryIndex = path.indexOf('?');
+    return queryIndex >= 0 ? path.substring(0, queryIndex) : path;
+  }
+
+  private static boolean isPathBoundary(String path, int end) {
+    return end == path.length() || path.charAt(end) == '/';
+  }
+
+  private static Map<String, String> loadEndpointPaths(Config config) {
+    Map<String, String> paths = new LinkedHashMap<>();
+    config.keys().stream()
+        .filter(key -> config.getString(key).startsWith("/"))
+        .sorted(Comparator.comparingInt((String key) -> config.getString(key).length()).reversed())
+        .forEach(key -> paths.put(key, config.getString(key)));
+    return Collections.unmodifiableMap(paths);
+  }
+}
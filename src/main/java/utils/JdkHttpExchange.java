@@ -0,0 +1,100 @@
+package utils;
+
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.PreemptiveOAuth2HeaderScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class that bridges Rest-Assured request specifications and responses to the JDK {@link
+ * java.net.http.HttpClient}, for the code paths that send requests outside of Rest-Assured (request
+ * hedging and the asynchronous client) while keeping the suite's URI, headers and auth.
+ */
+public class JdkHttpExchange {
+
+  /** Headers the JDK HTTP client sets itself and refuses to take from the caller. */
+  private static final Set<String> RESTRICTED_HEADERS =
+      Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+  private JdkHttpExchange() {}
+
+  /**
+   * Builds a JDK HTTP request from a Rest-Assured request specification. The full URI, the headers
+   * and a preemptive OAuth2 token are carried over; a body is sent as is if it is a byte array, and
+   * as text otherwise.
+   *
+   * @param requestSpec the request specification, with its method and path set
+   * @param timeout the request timeout
+   * @return the JDK HTTP request
+   */
+  public static HttpRequest toHttpRequest(
+      FilterableRequestSpecification requestSpec, Duration timeout) {
+    Object body = requestSpec.getBody();
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(requestSpec.getURI()))
+            .timeout(timeout)
+            .method(
+                requestSpec.getMethod(),
+                body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : body instanceof byte[] bytes
+                        ? HttpRequest.BodyPublishers.ofByteArray(bytes)
+                        : HttpRequest.BodyPublishers.ofString(body.toString()));
+    for (Header header : requestSpec.getHeaders()) {
+      if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase())) {
+        request.header(header.getName(), header.getValue());
+      }
+    }
+    if (requestSpec.getContentType() != null
+        && !requestSpec.getHeaders().hasHeaderWithName("Content-Type")) {
+      request.header("Content-Type", requestSpec.getContentType());
+    }
+    AuthenticationScheme auth = requestSpec.getAuthenticationScheme();
+    if (auth instanceof PreemptiveOAuth2HeaderScheme oauth2
+        && !requestSpec.getHeaders().hasHeaderWithName("Authorization")) {
+      request.header("Authorization", "Bearer " + oauth2.getAccessToken());
+    }
+    return request.build();
+  }
+
+  /**
+   * Converts a JDK HTTP response to a Rest-Assured response, so that filters and assertions work on
+   * it as on any other response.
+   *
+   * @param response the JDK HTTP response
+   * @return the Rest-Assured response
+   */
+  public static Response toResponse(HttpResponse<byte[]> response) {
+    List<Header> headers = new ArrayList<>();
+    response
+        .headers()
+        .map()
+        .forEach(
+            (name, values) -> {
+              // Skip HTTP/2 pseudo headers such as :status
+              if (!name.startsWith(":")) {
+                values.forEach(value -> headers.add(new Header(name, value)));
+              }
+            });
+    String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+    ResponseBuilder builder =
+        new ResponseBuilder()
+            .setStatusCode(response.statusCode())
+            .setStatusLine(protocol + " " + response.statusCode())
+            .setHeaders(new Headers(headers))
+            .setBody(response.body());
+    response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+    return builder.build();
+  }
+}
@@ -71,6 +71,22 @@ public class JsonUtils {
     return "";
   }
 
+  /**
+   * Converts an object such as a record to a JSON string.
+   *
+   * @param value the object to convert
+   * @return a pretty printed JSON String representation of the object, or an empty string if
+   *     conversion fails
+   */
+  public static String toJson(Object value) {
+    try {
+      return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      logger.error("Error occurred while converting Object to JSON", e);
+    }
+    return "";
+  }
+
   /**
    * Converts a JSON string to an object of the specified class.
    *
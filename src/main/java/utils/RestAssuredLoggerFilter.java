@@ -5,15 +5,18 @@ import io.restassured.filter.FilterContext;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.ITestResult;
 import org.testng.Reporter;
+import utils.logging.LogContext;
 
 /**
  * A Rest-Assured filter that logs HTTP request and response details using Log4j2. This filter can
  * be added to Rest-Assured requests to log details about the request and response, including
- * method, URI, headers, and body content.
+ * method, URI, headers, and body content. Each request is given a request ID in the {@link
+ * LogContext}, which the events logged for it and for the assertions on its response carry.
  */
 public class RestAssuredLoggerFilter implements Filter {
 
@@ -38,9 +41,15 @@ public class RestAssuredLoggerFilter implements Filter {
       FilterableResponseSpecification responseSpec,
       FilterContext filterContext) {
 
+    Object body = requestSpec.getBody();
     String requestBody =
-        requestSpec.getBody() == null ? "No Payload" : requestSpec.getBody().toString();
+        body == null
+            ? "No Payload"
+            : body instanceof byte[] bytes
+                ? new String(bytes, StandardCharsets.UTF_8)
+                : body.toString();
 
+    LogContext.startRequest();
     // Use location-aware logging, passing FQCN of wrapper class
     logger.info("Request: {} {}", requestSpec.getMethod(), requestSpec.getURI());
     logger.debug("Headers: {}", requestSpec.getHeaders());
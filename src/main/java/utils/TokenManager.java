@@ -7,6 +7,8 @@ import io.restassured.specification.RequestSpecification;
 import java.time.LocalDateTime;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import utils.jfr.TokenGenerationEvent;
+import utils.metrics.FrameworkMetrics;
 
 /**
  * Utility class for managing OAuth2 access tokens for Amadeus API authentication. Handles secure
@@ -16,41 +18,76 @@ public class TokenManager {
 
   private static final Logger logger = LogManager.getLogger(TokenManager.class);
 
-  private static final ReadProperties readProperties = new ReadProperties();
   private static final String SECRET_KEY =
       System.getProperty("AMADEUS_TEST_SECRET", System.getenv("AMADEUS_TEST_SECRET"));
-  private static final String clientId =
-      EncryptionUtils.decrypt(readProperties.getProperty("clientId"), SECRET_KEY);
-  private static final String clientSecret =
-      EncryptionUtils.decrypt(readProperties.getProperty("clientSecret"), SECRET_KEY);
-  private static final String grantType = readProperties.getProperty("grantType");
-  private static final String tokenURI = readProperties.getProperty("tokenURI");
+  private static final boolean LOCAL_STUB = Config.get().getBoolean("localStub.enabled", false);
+  private static final String clientId = getCredential("clientId");
+  private static final String clientSecret = getCredential("clientSecret");
+  private static final String grantType = Config.get().getString("grantType");
+  private static final String tokenURI = Config.get().getString("tokenURI");
   private static final String TOKEN_EXPIRY_SECONDS =
       System.getProperty("TOKEN_EXPIRY_SECONDS", System.getenv("TOKEN_EXPIRY_SECONDS"));
 
-  private static String accessToken;
-  private static LocalDateTime expiryIn;
+  /** The current token with its expiry, replaced as a whole so readers never see a mix. */
+  private static volatile CachedToken cachedToken;
 
   /**
-   * Returns a valid access token, refreshing it if expired or near expiry.
+   * An access token and when it expires.
+   *
+   * @param accessToken the access token
+   * @param expiryIn the expiry time
+   */
+  private record CachedToken(String accessToken, LocalDateTime expiryIn) {
+
+    /** Returns whether the token expires within 30 seconds, to avoid edge cases. */
+    boolean isExpiring() {
+      return LocalDateTime.now().plusSeconds(30).isAfter(expiryIn);
+    }
+  }
+
+  /**
+   * Returns a valid access token, refreshing it if expired or near expiry. Safe to call from many
+   * threads; only one of them refreshes the token.
    *
    * @return OAuth2 access token string
    */
   public static String getToken() {
-    // Refresh token 30 seconds before expiry to avoid edge cases
-    if (accessToken == null || LocalDateTime.now().plusSeconds(30).isAfter(expiryIn)) {
-      accessToken = generateToken();
+    CachedToken token = cachedToken;
+    if (token == null || token.isExpiring()) {
+      synchronized (TokenManager.class) {
+        token = cachedToken;
+        if (token == null || token.isExpiring()) {
+          token = generateToken();
+          cachedToken = token;
+        }
+      }
+    }
+    return token.accessToken();
+  }
+
+  /**
+   * Decrypts a client credential from the configuration. The local stub accepts any credentials, so
+   * the secret key is not required when running against it.
+   *
+   * @param key the property key of the encrypted credential
+   * @return the decrypted credential, or null if no secret key is configured
+   */
+  private static String getCredential(String key) {
+    if (LOCAL_STUB) {
+      return "local-stub-" + key;
     }
-    return accessToken;
+    return SECRET_KEY == null
+        ? null
+        : EncryptionUtils.decrypt(Config.get().getString(key), SECRET_KEY);
   }
 
   /**
    * Generates a new access token using client credentials. Ensures no test-level RestAssured
    * specification interferes with the request.
    *
-   * @return OAuth2 access token string
+   * @return OAuth2 access token and its expiry
    */
-  private static String generateToken() {
+  private static CachedToken generateToken() {
     if (clientId == null || clientSecret == null) {
       throw new IllegalStateException("Client credentials not properly configured");
     }
@@ -58,6 +95,9 @@ public class TokenManager {
     synchronized (TokenManager.class) {
       RequestSpecification originalSpec = RestAssured.requestSpecification;
       RestAssured.requestSpecification = null; // Clear global spec
+      TokenGenerationEvent event = new TokenGenerationEvent();
+      event.begin();
+      event.tokenUri = tokenURI;
       try {
         logger.info("Generating new access token...");
         Response response =
@@ -68,6 +108,7 @@ public class TokenManager {
                 .formParam("grant_type", grantType)
                 .when()
                 .post(tokenURI);
+        event.statusCode = response.getStatusCode();
 
         if (response.getStatusCode() != 200) {
           logger.error(
@@ -83,13 +124,17 @@ public class TokenManager {
           expiryInSeconds = Integer.parseInt(TOKEN_EXPIRY_SECONDS);
         }
 
-        expiryIn = LocalDateTime.now().plusSeconds(expiryInSeconds);
+        LocalDateTime expiryIn = LocalDateTime.now().plusSeconds(expiryInSeconds);
+        event.expiresInSeconds = expiryInSeconds;
+        event.succeeded = true;
         logger.info("Token generated successfully, expires at: {}", expiryIn);
-        return response.jsonPath().getString("access_token");
+        return new CachedToken(response.jsonPath().getString("access_token"), expiryIn);
       } catch (Exception e) {
         logger.error("Error generating token", e);
         throw new RuntimeException("Token generation failed", e);
       } finally {
+        event.commit();
+        FrameworkMetrics.TOKEN_REFRESHES.inc(event.succeeded ? "success" : "failure");
         RestAssured.requestSpecification = originalSpec; // Restore
       }
     }
@@ -0,0 +1,56 @@
+package utils.dashboard;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import utils.Endpoints;
+
+/**
+ * A Rest-Assured filter that publishes every request to the {@link DashboardServer}, with its
+ * endpoint key, method, status and duration, for the per-endpoint throughput and latency of the
+ * dashboard. It should be registered after the rate limit filter, so that waiting for a permit is
+ * not counted as latency. Requests that fail without a response are published with status 0.
+ */
+public class DashboardFilter implements Filter {
+
+  /**
+   * Sends the request and publishes it.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    int statusCode = 0;
+    long start = System.nanoTime();
+    try {
+      Response response = filterContext.next(requestSpec, responseSpec);
+      statusCode = response.getStatusCode();
+      return response;
+    } finally {
+      if (DashboardServer.isRunning()) {
+        double durationMs = (System.nanoTime() - start) / 1e6;
+        DashboardServer.publish(
+            "request",
+            "{\"endpoint\":"
+                + DashboardServer.quote(Endpoints.resolve(requestSpec.getUserDefinedPath()))
+                + ",\"method\":"
+                + DashboardServer.quote(requestSpec.getMethod())
+                + ",\"status\":"
+                + statusCode
+                + ",\"durationMs\":"
+                + Math.round(durationMs * 10) / 10.0
+                + ",\"time\":"
+                + System.currentTimeMillis()
+                + "}");
+      }
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package utils.dashboard;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+
+/**
+ * An embedded HTTP server that shows the progress of the running suite on a live page, so a long CI
+ * run can be followed before the results report is written. Enabled with {@code dashboard.enabled},
+ * it serves at {@code http://<dashboard.host>:<dashboard.port>/}:
+ *
+ * <ul>
+ *   <li>{@code /} the dashboard page, styled with {@code github-pages/style.css}
+ *   <li>{@code /events} a Server-Sent Events stream of test starts and finishes and of requests,
+ *       from which the page computes per-endpoint throughput and latency
+ * </ul>
+ *
+ * <p>Test threads publish into an {@link EventRing} and return immediately; every client has its
+ * own thread that follows the ring, so a slow or stalled client only misses events and never holds
+ * up a test. A client connecting mid-run is first sent the events still held in the ring.
+ */
+public class DashboardServer {
+
+  private static final Logger logger = LogManager.getLogger(DashboardServer.class);
+
+  private static final Path STYLESHEET = Path.of("github-pages/style.css");
+
+  /** How long a client thread sleeps when it has caught up with the ring. */
+  private static final long POLL_INTERVAL_MS = 100;
+
+  /** Sends a comment after this many idle polls, so proxies keep the connection open. */
+  private static final int HEARTBEAT_POLLS = 150;
+
+  private static volatile EventRing ring;
+  private static HttpServer server;
+  private static ExecutorService executor;
+
+  private DashboardServer() {}
+
+  /**
+   * Returns whether the dashboard is served.
+   *
+   * @return true if {@code dashboard.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("dashboard.enabled", false);
+  }
+
+  /**
+   * Returns whether the dashboard is running, for publishers to skip building events otherwise.
+   *
+   * @return true between {@link #start()} and {@link #stop()}
+   */
+  public static boolean isRunning() {
+    return ring != null;
+  }
+
+  /** Starts the server, unless already started. */
+  public static synchronized void start() {
+    if (server != null) {
+      return;
+    }
+    String host = Config.get().getString("dashboard.host", "127.0.0.1");
+    int port = Config.get().getInt("dashboard.port", 9465);
+    executor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "dashboard-client");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      server = HttpServer.create(new InetSocketAddress(host, port), 0);
+    } catch (IOException e) {
+      logger.error("Failed to start dashboard on {}:{}: ", host, port, e);
+      executor.shutdown();
+      return;
+    }
+    server.setExecutor(executor);
+    server.createContext("/", DashboardServer::handlePage);
+    server.createContext("/style.css", DashboardServer::handleStylesheet);
+    server.createContext("/events", DashboardServer::handleEvents);
+    ring = new EventRing(Config.get().getInt("dashboard.bufferSize", 8192));
+    server.start();
+    logger.info("Dashboard started at http://{}:{}/", host, server.getAddress().getPort());
+  }
+
+  /**
+   * Publishes a suite finished event, gives the clients a moment to receive it and stops the
+   * server.
+   */
+  public static synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    publish("suite", "{\"status\":\"finished\"}");
+    try {
+      Thread.sleep(POLL_INTERVAL_MS * 3);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    ring = null;
+    server.stop(0);
+    executor.shutdownNow();
+    server = null;
+  }
+
+  /**
+   * Publishes an event to the connected clients, if the dashboard is running.
+   *
+   * @param type the event type
+   * @param json the event data as a JSON object
+   */
+  public static void publish(String type, String json) {
+    EventRing eventRing = ring;
+    if (eventRing != null) {
+      eventRing.publish(type, json);
+    }
+  }
+
+  /**
+   * Returns a string as a quoted JSON string literal.
+   *
+   * @param value the string, null for a JSON null
+   * @return the literal
+   */
+  public static String quote(String value) {
+    if (value == null) {
+      return "null";
+    }
+    return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+  }
+
+  private static void handlePage(HttpExchange exchange) throws IOException {
+    if (!"/".equals(exchange.getRequestURI().getPath())) {
+      sendNotFound(exchange);
+      return;
+    }
+    try (InputStream page = DashboardServer.class.getResourceAsStream("/dashboard/index.html")) {
+      if (page == null) {
+        sendNotFound(exchange);
+        return;
+      }
+      send(exchange, "text/html; charset=utf-8", page.readAllBytes());
+    }
+  }
+
+  private static void handleStylesheet(HttpExchange exchange) throws IOException {
+    if (!Files.isRegularFile(STYLESHEET)) {
+      sendNotFound(exchange);
+      return;
+    }
+    send(exchange, "text/css; charset=utf-8", Files.readAllBytes(STYLESHEET));
+  }
+
+  /**
+   * Streams the events of the ring to one client until it disconnects or the server stops, starting
+   * with the events still held, or after the last event received when the browser reconnects.
+   * Events a client was too slow to read are reported with a {@code missed} event.
+   */
+  private static void handleEvents(HttpExchange exchange) throws IOException {
+    EventRing eventRing = ring;
+    if (eventRing == null) {
+      sendNotFound(exchange);
+      return;
+    }
+    exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+    exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+    exchange.sendResponseHeaders(200, 0);
+    List<EventRing.Event> events = new ArrayList<>();
+    StringBuilder chunk = new StringBuilder();
+    long cursor = resumeFrom(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+    int idlePolls = 0;
+    try (OutputStream out = exchange.getResponseBody()) {
+      while (ring == eventRing) {
+        long next = eventRing.readFrom(cursor, events);
+        long missed = next - cursor - events.size();
+        if (missed > 0) {
+          appendEvent(chunk, -1, "missed", "{\"count\":" + missed + "}");
+        }
+        for (EventRing.Event event : events) {
+          appendEvent(chunk, event.sequence(), event.type(), event.data());
+        }
+        cursor = next;
+        if (chunk.isEmpty() && ++idlePolls >= HEARTBEAT_POLLS) {
+          chunk.append(": heartbeat\n\n");
+        }
+        if (!chunk.isEmpty()) {
+          out.write(chunk.toString().getBytes(StandardCharsets.UTF_8));
+          out.flush();
+          chunk.setLength(0);
+          events.clear();
+          idlePolls = 0;
+        } else {
+          TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+        }
+      }
+    } catch (IOException e) {
+      logger.debug("Dashboard client disconnected: {}", e.toString());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Returns the sequence number after the last event a reconnecting client received, or 0. */
+  private static long resumeFrom(String lastEventId) {
+    try {
+      return lastEventId == null ? 0 : Long.parseLong(lastEventId.trim()) + 1;
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static void appendEvent(StringBuilder chunk, long id, String type, String data) {
+    if (id >= 0) {
+      chunk.append("id: ").append(id).append('\n');
+    }
+    chunk.append("event: ").append(type).append('\n');
+    chunk.append("data: ").append(data).append("\n\n");
+  }
+
+  private static void send(HttpExchange exchange, String contentType, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static void sendNotFound(HttpExchange exchange) throws IOException {
+    exchange.sendResponseHeaders(404, -1);
+    exchange.close();
+  }
+}
@@ -0,0 +1,78 @@
+package utils.dashboard;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size ring of published events that any number of threads write to and any number of
+ * readers follow at their own pace. Publishing claims a sequence number with one atomic increment
+ * and stores the event in its slot, overwriting the oldest one: it never locks and never waits for
+ * a reader. A reader that falls more than the capacity behind skips the overwritten events and is
+ * told how many it missed.
+ */
+class EventRing {
+
+  /** An event and the sequence number it was published with. */
+  record Event(long sequence, String type, String data) {}
+
+  private final AtomicReferenceArray<Event> slots;
+  private final int mask;
+  private final AtomicLong next = new AtomicLong();
+
+  /**
+   * Creates a ring.
+   *
+   * @param capacity the minimum number of events kept, rounded up to a power of two
+   */
+  EventRing(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  /**
+   * Publishes an event.
+   *
+   * @param type the event type
+   * @param data the event data
+   */
+  void publish(String type, String data) {
+    long sequence = next.getAndIncrement();
+    slots.set((int) (sequence & mask), new Event(sequence, type, data));
+  }
+
+  /**
+   * Returns the sequence number the next event will be published with.
+   *
+   * @return the next sequence number
+   */
+  long head() {
+    return next.get();
+  }
+
+  /**
+   * Adds the events published from a sequence number on to a list, stopping at a slot whose
+   * publisher has claimed it but not stored its event yet.
+   *
+   * @param from the sequence number of the first event wanted
+   * @param events the list to add to
+   * @return the sequence number to read from next; if it is beyond {@code from} plus the number of
+   *     events added, the events in between were overwritten before they were read
+   */
+  long readFrom(long from, List<Event> events) {
+    long head = next.get();
+    long sequence = Math.max(from, head - slots.length());
+    while (sequence < head) {
+      Event event = slots.get((int) (sequence & mask));
+      if (event == null || event.sequence() < sequence) {
+        break;
+      }
+      if (event.sequence() == sequence) {
+        events.add(event);
+      }
+      sequence++;
+    }
+    return sequence;
+  }
+}
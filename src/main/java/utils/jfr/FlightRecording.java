@@ -0,0 +1,82 @@
+package utils.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+
+/**
+ * A JDK Flight Recorder recording of the run, started by the suite when {@code
+ * jfr.recording.enabled} is set. It records the framework events of this package together with the
+ * JDK's GC, allocation and thread events of the {@code jfr.recording.settings} configuration, and
+ * is written to {@code jfr.recording.file} when the JVM exits, so that it also covers the reports
+ * written after the suite.
+ *
+ * <p>An existing recording started with {@code -XX:StartFlightRecording} picks up the framework
+ * events as well, since they are enabled by default.
+ */
+public class FlightRecording {
+
+  private static final Logger logger = LogManager.getLogger(FlightRecording.class);
+
+  /** Framework events, all enabled without a threshold. */
+  private static final List<Class<? extends Event>> EVENTS =
+      List.of(
+          HttpExchangeEvent.class,
+          TokenGenerationEvent.class,
+          RetryWaitEvent.class,
+          RateLimitWaitEvent.class,
+          ReportWriteEvent.class);
+
+  private static Recording recording;
+
+  private FlightRecording() {}
+
+  /**
+   * Returns whether the suite starts a recording.
+   *
+   * @return true if {@code jfr.recording.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("jfr.recording.enabled", false);
+  }
+
+  /**
+   * Starts the recording, unless it is already running. Failures are logged, since a missing
+   * recording should not fail the run.
+   */
+  public static synchronized void start() {
+    if (recording != null) {
+      return;
+    }
+    Path file = Path.of(Config.get().getString("jfr.recording.file", "test-results/run.jfr"));
+    String settings = Config.get().getString("jfr.recording.settings", "profile");
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Recording started = new Recording(Configuration.getConfiguration(settings));
+      started.setName("amadeus-rest-assured");
+      for (Class<? extends Event> event : EVENTS) {
+        started.enable(event).withThreshold(Duration.ZERO);
+      }
+      started.setToDisk(true);
+      started.setDestination(file);
+      started.setDumpOnExit(true);
+      started.start();
+      recording = started;
+      logger.info(
+          "Flight recording started with '{}' settings, written at exit to {}", settings, file);
+    } catch (IOException | ParseException | RuntimeException e) {
+      logger.error("Failed to start flight recording: ", e);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for an HTTP request and its response, emitted by {@link
+ * JfrEventFilter}.
+ */
+@Name("amadeus.HttpExchange")
+@Label("HTTP Exchange")
+@Category({"Amadeus API Tests", "HTTP"})
+@Description("An HTTP request sent through the Rest-Assured filter chain and its response")
+@StackTrace(false)
+public class HttpExchangeEvent extends jdk.jfr.Event {
+
+  @Label("Method")
+  public String method;
+
+  @Label("Endpoint")
+  @Description("Endpoint key of the request path, as in config.properties")
+  public String endpoint;
+
+  @Label("URI")
+  public String uri;
+
+  @Label("Status Code")
+  public int statusCode;
+
+  @Label("Request Bytes")
+  @DataAmount
+  public long requestBytes;
+
+  @Label("Response Bytes")
+  @DataAmount
+  public long responseBytes;
+
+  @Label("Test Method")
+  public String testMethod;
+}
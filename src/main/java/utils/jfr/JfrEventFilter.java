@@ -0,0 +1,79 @@
+package utils.jfr;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import utils.Config;
+import utils.Endpoints;
+
+/**
+ * A Rest-Assured filter that emits an {@link HttpExchangeEvent} for every request. The event is
+ * only populated when a recording is running and the event is enabled, so without one the filter
+ * costs a timestamp pair. It should be registered next to {@code LatencyRecorder}, so that the
+ * event duration matches the recorded latency.
+ */
+public class JfrEventFilter implements Filter {
+
+  /**
+   * Returns whether JDK Flight Recorder events are emitted for requests.
+   *
+   * @return true unless {@code jfr.events.enabled} is set to false
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("jfr.events.enabled", true);
+  }
+
+  /**
+   * Sends the request and records it as an event.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    HttpExchangeEvent event = new HttpExchangeEvent();
+    event.begin();
+    Response response = null;
+    try {
+      response = filterContext.next(requestSpec, responseSpec);
+      return response;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.method = requestSpec.getMethod();
+        event.endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+        event.uri = requestSpec.getURI();
+        event.requestBytes = requestBytes(requestSpec.getBody());
+        if (response != null) {
+          event.statusCode = response.getStatusCode();
+          event.responseBytes = response.asByteArray().length;
+        }
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result != null) {
+          event.testMethod = result.getMethod().getQualifiedName();
+        }
+        event.commit();
+      }
+    }
+  }
+
+  private static long requestBytes(Object body) {
+    if (body == null) {
+      return 0;
+    }
+    if (body instanceof byte[] bytes) {
+      return bytes.length;
+    }
+    return body.toString().getBytes(StandardCharsets.UTF_8).length;
+  }
+}
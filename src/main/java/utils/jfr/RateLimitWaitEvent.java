@@ -0,0 +1,19 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JDK Flight Recorder event for the backoff of a request waiting for a rate limit permit. */
+@Name("amadeus.RateLimitWait")
+@Label("Rate Limit Wait")
+@Category({"Amadeus API Tests", "Retries"})
+@Description("Backoff of a request until its endpoint's rate limit permits it")
+@StackTrace(false)
+public class RateLimitWaitEvent extends jdk.jfr.Event {
+
+  @Label("Endpoint")
+  public String endpoint;
+}
@@ -0,0 +1,27 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JDK Flight Recorder event for the writing of a report file at the end of the run. */
+@Name("amadeus.ReportWrite")
+@Label("Report Write")
+@Category({"Amadeus API Tests", "Reporting"})
+@Description("Serialization and writing of a report file")
+@StackTrace(false)
+public class ReportWriteEvent extends jdk.jfr.Event {
+
+  @Label("File")
+  public String file;
+
+  @Label("Test Cases")
+  public int testCases;
+
+  @Label("Size")
+  @DataAmount
+  public long bytes;
+}
@@ -0,0 +1,26 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JDK Flight Recorder event for the wait before a test is retried by {@code RetryAnalyzer}. */
+@Name("amadeus.RetryWait")
+@Label("Retry Wait")
+@Category({"Amadeus API Tests", "Retries"})
+@Description("Wait before a test is retried after a 429 Too Many Requests response")
+@StackTrace(false)
+public class RetryWaitEvent extends jdk.jfr.Event {
+
+  @Label("Test Method")
+  public String testMethod;
+
+  @Label("Attempt")
+  public int attempt;
+
+  @Label("Status Code")
+  @Description("Status code that triggered the retry")
+  public int statusCode;
+}
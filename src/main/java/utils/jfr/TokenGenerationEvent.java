@@ -0,0 +1,30 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** JDK Flight Recorder event for the generation of an access token by {@code TokenManager}. */
+@Name("amadeus.TokenGeneration")
+@Label("Token Generation")
+@Category({"Amadeus API Tests", "Authentication"})
+@Description("Request of a new OAuth2 access token")
+@StackTrace(false)
+public class TokenGenerationEvent extends jdk.jfr.Event {
+
+  @Label("Token URI")
+  public String tokenUri;
+
+  @Label("Status Code")
+  public int statusCode;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+
+  @Label("Expires In")
+  @Timespan(Timespan.SECONDS)
+  public long expiresInSeconds;
+}
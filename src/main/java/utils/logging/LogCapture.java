@@ -0,0 +1,131 @@
+package utils.logging;
+
+import java.util.ArrayDeque;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import utils.Config;
+
+/**
+ * Holds back the log events of a running test in a bounded per-thread buffer, so that the logs of
+ * passing tests cost no I/O. Enabled with {@code log.capture.enabled}, for threads between {@link
+ * #begin()} and {@link #flush()} or {@link #discard()}; the {@link TestLogCaptureAppender} buffers
+ * their events instead of writing them.
+ *
+ * <p>The buffer keeps the last {@code bufferSize} events of the appender; older ones are dropped
+ * and counted. Each buffer is only touched by its own thread, so capturing takes no locks. Events
+ * logged on other threads, such as hedging or fan-out workers, are written as usual.
+ */
+public class LogCapture {
+
+  private static final ThreadLocal<Buffer> buffers = new ThreadLocal<>();
+
+  private static volatile TestLogCaptureAppender appender;
+
+  /**
+   * Reads the configuration on first use rather than when the appender registers, which happens
+   * while Log4j is still being configured.
+   */
+  private static final class Settings {
+    private static final boolean ENABLED = Config.get().getBoolean("log.capture.enabled", false);
+  }
+
+  /** The events held back for one thread and the number dropped because it was full. */
+  private static final class Buffer {
+    private final ArrayDeque<LogEvent> events = new ArrayDeque<>();
+    private final int capacity;
+    private long dropped;
+
+    private Buffer(int capacity) {
+      this.capacity = capacity;
+    }
+  }
+
+  private LogCapture() {}
+
+  /**
+   * Returns whether log capture is enabled and a capture appender is configured.
+   *
+   * @return true if the logs of tests are captured
+   */
+  public static boolean isEnabled() {
+    return appender != null && Settings.ENABLED;
+  }
+
+  /** Starts holding back the log events of the current thread, if log capture is enabled. */
+  public static void begin() {
+    TestLogCaptureAppender captureAppender = appender;
+    if (captureAppender != null && Settings.ENABLED) {
+      buffers.set(new Buffer(captureAppender.getBufferSize()));
+    }
+  }
+
+  /** Stops capturing on the current thread and drops its events, as for a passing test. */
+  public static void discard() {
+    buffers.remove();
+  }
+
+  /**
+   * Stops capturing on the current thread and writes its events to the appenders they were held
+   * back from, as for a failed or retried test.
+   *
+   * @return the events formatted with the capture appender's layout, or null if the thread was not
+   *     capturing or nothing was captured
+   */
+  public static String flush() {
+    Buffer buffer = buffers.get();
+    buffers.remove();
+    TestLogCaptureAppender captureAppender = appender;
+    if (buffer == null || captureAppender == null || buffer.events.isEmpty()) {
+      return null;
+    }
+    StringBuilder text = new StringBuilder();
+    if (buffer.dropped > 0) {
+      LogEvent notice =
+          Log4jLogEvent.newBuilder()
+              .setLoggerName(LogCapture.class.getName())
+              .setLevel(Level.WARN)
+              .setMessage(
+                  new SimpleMessage(
+                      buffer.dropped + " earlier log event(s) of this test were dropped"))
+              .setTimeMillis(buffer.events.peekFirst().getTimeMillis())
+              .build();
+      buffer.events.addFirst(notice);
+    }
+    for (LogEvent event : buffer.events) {
+      captureAppender.forward(event);
+      text.append(captureAppender.format(event));
+    }
+    return text.toString();
+  }
+
+  /**
+   * Holds back an event if the current thread is capturing.
+   *
+   * @param event the event, which may be reused by Log4j after this call
+   * @return true if the event was held back, false if it should be written now
+   */
+  static boolean capture(LogEvent event) {
+    Buffer buffer = buffers.get();
+    if (buffer == null) {
+      return false;
+    }
+    if (buffer.events.size() >= buffer.capacity) {
+      buffer.events.pollFirst();
+      buffer.dropped++;
+    }
+    buffer.events.addLast(event.toImmutable());
+    return true;
+  }
+
+  static void register(TestLogCaptureAppender captureAppender) {
+    appender = captureAppender;
+  }
+
+  static void unregister(TestLogCaptureAppender captureAppender) {
+    if (appender == captureAppender) {
+      appender = null;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package utils.logging;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.ThreadContext;
+import utils.Config;
+
+/**
+ * The identifiers that correlate log events: the run, set once per JVM, and the test case,
+ * iteration and request of the logging thread, kept in the Log4j {@link ThreadContext} under the
+ * keys below. Written as fields by {@link NdjsonLayout} and available to pattern layouts as {@code
+ * %X{key}}.
+ */
+public class LogContext {
+
+  /** Key of the test case ID from {@code test-plan-suite.json}. */
+  public static final String TEST_CASE_ID = "testCaseId";
+
+  /** Key of the invocation number of the test method in this run, starting at 1. */
+  public static final String ITERATION = "iteration";
+
+  /** Key of the ID of the thread's current or last request. */
+  public static final String REQUEST_ID = "requestId";
+
+  private static final String RUN_ID = resolveRunId();
+
+  private static final AtomicLong requestSequence = new AtomicLong();
+
+  private LogContext() {}
+
+  /**
+   * Returns the ID of this run, {@code log.runId} if set, such as a CI build number, or the start
+   * time and a random suffix.
+   *
+   * @return the run ID
+   */
+  public static String getRunId() {
+    return RUN_ID;
+  }
+
+  private static String resolveRunId() {
+    String runId = Config.get().getString("log.runId", "");
+    if (!runId.isEmpty()) {
+      return runId;
+    }
+    return LocalDateTime.now(ZoneOffset.UTC)
+            .format(DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss"))
+        + "-"
+        + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x1000, 0x10000));
+  }
+
+  /**
+   * Sets the test case and iteration of the current thread's events and clears its request, such as
+   * the token request of the method setup.
+   *
+   * @param testCaseId the test case ID
+   * @param iteration the invocation number of the test method
+   */
+  public static void startTest(String testCaseId, int iteration) {
+    ThreadContext.put(TEST_CASE_ID, testCaseId);
+    ThreadContext.put(ITERATION, Integer.toString(iteration));
+    ThreadContext.remove(REQUEST_ID);
+  }
+
+  /** Clears the test case, iteration and request of the current thread's events. */
+  public static void endTest() {
+    ThreadContext.remove(TEST_CASE_ID);
+    ThreadContext.remove(ITERATION);
+    ThreadContext.remove(REQUEST_ID);
+  }
+
+  /**
+   * Assigns the next request ID of the run to the current thread's events, until the next request
+   * or the end of the test, so that the assertions on a response carry the ID of its request.
+   *
+   * @return the request ID
+   */
+  public static String startRequest() {
+    String requestId = Long.toString(requestSequence.incrementAndGet());
+    ThreadContext.put(REQUEST_ID, requestId);
+    return requestId;
+  }
+}
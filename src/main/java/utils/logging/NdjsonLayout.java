@@ -0,0 +1,200 @@
+package utils.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.AbstractStringLayout;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+
+/**
+ * A Log4j layout that writes every event as one line of JSON, with the correlation fields of {@link
+ * LogContext}:
+ *
+ * <pre>{@code
+ * {"@timestamp":"2025-01-31T09:15:02.345Z","level":"INFO","runId":"20250131T091455-3f2a",
+ *  "testCaseId":"5","iteration":"2","requestId":"17","thread":"main",
+ *  "logger":"utils.RestAssuredLoggerFilter","message":"Response Status: 200"}
+ * }</pre>
+ *
+ * <p>Context fields the thread has not set are left out. Like the pattern layout, it is garbage
+ * free for events without an exception: the line is built in reusable per-thread buffers, with
+ * messages that support it formatted straight into them, and encoded into the appender's buffer. So
+ * a large log can be filtered by field with {@code jq} or {@code grep '"iteration":"2"'}.
+ */
+@Plugin(
+    name = "NdjsonLayout",
+    category = Node.CATEGORY,
+    elementType = Layout.ELEMENT_TYPE,
+    printObject = true)
+public final class NdjsonLayout extends AbstractStringLayout {
+
+  private static final String[] CONTEXT_KEYS = {
+    LogContext.TEST_CASE_ID, LogContext.ITERATION, LogContext.REQUEST_ID
+  };
+
+  /** Capacity above which a message buffer is replaced rather than kept for the next event. */
+  private static final int MAX_REUSED_CAPACITY = 8192;
+
+  private static final ThreadLocal<StringBuilder> messageBuffers =
+      ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+  /** The run ID field, built on the first event rather than while Log4j is being configured. */
+  private String runIdField;
+
+  private NdjsonLayout(Charset charset) {
+    super(charset);
+  }
+
+  /**
+   * Creates the layout.
+   *
+   * @param charset the charset of the encoded lines
+   * @return the layout
+   */
+  @PluginFactory
+  public static NdjsonLayout createLayout(
+      @PluginAttribute(value = "charset", defaultString = "UTF-8") Charset charset) {
+    return new NdjsonLayout(charset);
+  }
+
+  @Override
+  public String toSerializable(LogEvent event) {
+    StringBuilder line = getStringBuilder();
+    format(event, line);
+    return line.toString();
+  }
+
+  @Override
+  public void encode(LogEvent event, ByteBufferDestination destination) {
+    StringBuilder line = getStringBuilder();
+    format(event, line);
+    getStringBuilderEncoder().encode(line, destination);
+  }
+
+  @Override
+  public String getContentType() {
+    return "application/x-ndjson; charset=" + getCharset();
+  }
+
+  private void format(LogEvent event, StringBuilder line) {
+    line.append("{\"@timestamp\":\"");
+    appendTimestamp(line, event.getInstant().getEpochMillisecond());
+    line.append("\",\"level\":\"").append(event.getLevel().name()).append('"');
+    line.append(getRunIdField());
+    ReadOnlyStringMap context = event.getContextData();
+    for (String key : CONTEXT_KEYS) {
+      Object value = context.getValue(key);
+      if (value != null) {
+        line.append(",\"").append(key).append("\":\"");
+        escape(line, value.toString());
+        line.append('"');
+      }
+    }
+    line.append(",\"thread\":\"");
+    escape(line, event.getThreadName());
+    line.append("\",\"logger\":\"");
+    escape(line, event.getLoggerName());
+    line.append("\",\"message\":\"");
+    escape(line, formatMessage(event.getMessage()));
+    line.append('"');
+    if (event.getThrown() != null) {
+      StringWriter stackTrace = new StringWriter();
+      event.getThrown().printStackTrace(new PrintWriter(stackTrace));
+      line.append(",\"error\":\"");
+      escape(line, stackTrace.toString());
+      line.append('"');
+    }
+    line.append("}\n");
+  }
+
+  private String getRunIdField() {
+    String field = runIdField;
+    if (field == null) {
+      StringBuilder builder = new StringBuilder(",\"runId\":\"");
+      escape(builder, LogContext.getRunId());
+      field = builder.append('"').toString();
+      runIdField = field;
+    }
+    return field;
+  }
+
+  /** Formats a message into the thread's message buffer, without a string if it supports it. */
+  private static CharSequence formatMessage(Message message) {
+    StringBuilder buffer = messageBuffers.get();
+    if (buffer.capacity() > MAX_REUSED_CAPACITY) {
+      buffer = new StringBuilder(1024);
+      messageBuffers.set(buffer);
+    }
+    buffer.setLength(0);
+    if (message instanceof StringBuilderFormattable formattable) {
+      formattable.formatTo(buffer);
+    } else {
+      buffer.append(message.getFormattedMessage());
+    }
+    return buffer;
+  }
+
+  /** Appends characters escaped for a JSON string. */
+  private static void escape(StringBuilder line, CharSequence value) {
+    if (value == null) {
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> line.append("\\\"");
+        case '\\' -> line.append("\\\\");
+        case '\n' -> line.append("\\n");
+        case '\r' -> line.append("\\r");
+        case '\t' -> line.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            line.append("\\u00");
+            line.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+          } else {
+            line.append(c);
+          }
+        }
+      }
+    }
+  }
+
+  /** Appends an epoch millisecond time as an ISO-8601 UTC timestamp, without allocating. */
+  private static void appendTimestamp(StringBuilder line, long epochMillis) {
+    long days = Math.floorDiv(epochMillis, 86_400_000L);
+    int millisOfDay = (int) Math.floorMod(epochMillis, 86_400_000L);
+    // Civil date from days since the epoch, proleptic Gregorian calendar
+    long shifted = days + 719_468;
+    long era = Math.floorDiv(shifted, 146_097);
+    long dayOfEra = shifted - era * 146_097;
+    long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+    long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    long monthIndex = (5 * dayOfYear + 2) / 153;
+    int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+    int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+    long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+    line.append(year).append('-');
+    pad(line, month, 2).append('-');
+    pad(line, day, 2).append('T');
+    pad(line, millisOfDay / 3_600_000, 2).append(':');
+    pad(line, millisOfDay / 60_000 % 60, 2).append(':');
+    pad(line, millisOfDay / 1000 % 60, 2).append('.');
+    pad(line, millisOfDay % 1000, 3).append('Z');
+  }
+
+  private static StringBuilder pad(StringBuilder line, int value, int digits) {
+    for (int limit = digits == 3 ? 100 : 10; limit > 1 && value < limit; limit /= 10) {
+      line.append('0');
+    }
+    return line.append(value);
+  }
+}
@@ -0,0 +1,142 @@
+package utils.logging;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+/**
+ * A Log4j appender that writes to the appenders it references, except while the logging thread is
+ * capturing the events of a test with {@link LogCapture}, in which case they are held back until
+ * the test ends. Configured in {@code log4j2.xml} as:
+ *
+ * <pre>{@code
+ * <TestLogCapture name="Capture" bufferSize="1000">
+ *   <PatternLayout pattern="..."/>
+ *   <AppenderRef ref="Console"/>
+ *   <AppenderRef ref="File"/>
+ * </TestLogCapture>
+ * }</pre>
+ *
+ * <p>The layout formats the events returned by {@link LogCapture#flush()}, for report attachments.
+ */
+@Plugin(name = "TestLogCapture", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class TestLogCaptureAppender extends AbstractAppender {
+
+  private final Configuration configuration;
+  private final AppenderRef[] appenderRefs;
+  private final int bufferSize;
+  private volatile List<Appender> appenders;
+
+  private TestLogCaptureAppender(
+      String name,
+      Filter filter,
+      Layout<? extends Serializable> layout,
+      AppenderRef[] appenderRefs,
+      int bufferSize,
+      Configuration configuration) {
+    super(name, filter, layout, true, Property.EMPTY_ARRAY);
+    this.appenderRefs = appenderRefs;
+    this.bufferSize = bufferSize;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Creates the appender from its configuration.
+   *
+   * @param name the appender name
+   * @param bufferSize the maximum number of events held back per test
+   * @param layout the layout of flushed events, a default pattern layout if absent
+   * @param filter the filter, if any
+   * @param appenderRefs the appenders to write to
+   * @param configuration the configuration the referenced appenders are looked up in
+   * @return the appender
+   */
+  @PluginFactory
+  public static TestLogCaptureAppender createAppender(
+      @PluginAttribute("name") String name,
+      @PluginAttribute(value = "bufferSize", defaultInt = 1000) int bufferSize,
+      @PluginElement("Layout") Layout<? extends Serializable> layout,
+      @PluginElement("Filter") Filter filter,
+      @PluginElement("AppenderRef") AppenderRef[] appenderRefs,
+      @PluginConfiguration Configuration configuration) {
+    return new TestLogCaptureAppender(
+        name,
+        filter,
+        layout == null ? PatternLayout.createDefaultLayout() : layout,
+        appenderRefs == null ? new AppenderRef[0] : appenderRefs,
+        Math.max(1, bufferSize),
+        configuration);
+  }
+
+  @Override
+  public void start() {
+    super.start();
+    LogCapture.register(this);
+  }
+
+  @Override
+  public boolean stop(long timeout, TimeUnit timeUnit) {
+    LogCapture.unregister(this);
+    return super.stop(timeout, timeUnit);
+  }
+
+  @Override
+  public void append(LogEvent event) {
+    if (!LogCapture.capture(event)) {
+      forward(event);
+    }
+  }
+
+  int getBufferSize() {
+    return bufferSize;
+  }
+
+  /** Writes an event to the referenced appenders. */
+  void forward(LogEvent event) {
+    for (Appender appender : getAppenders()) {
+      if (appender.isStarted()) {
+        appender.append(event);
+      }
+    }
+  }
+
+  /** Formats an event with this appender's layout. */
+  String format(LogEvent event) {
+    return new String(getLayout().toByteArray(event), StandardCharsets.UTF_8);
+  }
+
+  /** Resolves the referenced appenders on first use, once the whole configuration is built. */
+  private List<Appender> getAppenders() {
+    List<Appender> resolved = appenders;
+    if (resolved == null) {
+      resolved = new ArrayList<>();
+      for (AppenderRef ref : appenderRefs) {
+        Appender appender = configuration.getAppender(ref.getRef());
+        if (appender == null) {
+          error("No appender named " + ref.getRef() + " for " + getName());
+        } else {
+          resolved.add(appender);
+        }
+      }
+      appenders = resolved;
+    }
+    return resolved;
+  }
+}
@@ -0,0 +1,63 @@
+package utils.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A monotonically increasing count, such as requests sent or tests passed. */
+public class Counter extends Metric<Counter.Child> {
+
+  /** The count of one combination of label values. */
+  public static final class Child {
+    private final LongAdder value = new LongAdder();
+
+    /** Adds one. */
+    public void inc() {
+      value.increment();
+    }
+
+    /**
+     * Adds an amount.
+     *
+     * @param amount the amount, not negative
+     */
+    public void inc(long amount) {
+      value.add(amount);
+    }
+
+    /**
+     * Returns the count.
+     *
+     * @return the current count
+     */
+    public long get() {
+      return value.sum();
+    }
+  }
+
+  Counter(String name, String help, String... labelNames) {
+    super(name, help, labelNames);
+  }
+
+  /**
+   * Adds one to the child with the given label values.
+   *
+   * @param labelValues one value per label name
+   */
+  public void inc(String... labelValues) {
+    labels(labelValues).inc();
+  }
+
+  @Override
+  Child newChild() {
+    return new Child();
+  }
+
+  @Override
+  String type() {
+    return "counter";
+  }
+
+  @Override
+  void writeSamples(StringBuilder out, String labels, Child child) {
+    writeSample(out, getName(), labels, null, Long.toString(child.get()));
+  }
+}
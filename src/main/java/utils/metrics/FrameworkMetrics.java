@@ -0,0 +1,57 @@
+package utils.metrics;
+
+/**
+ * The metrics the framework records in the {@link MetricsRegistry#getDefault() default registry}.
+ * Requests are recorded by {@link MetricsFilter}, test outcomes by the TestNG listener, retries by
+ * the retry analyzer and token refreshes by {@code TokenManager}.
+ */
+public class FrameworkMetrics {
+
+  private static final MetricsRegistry registry = MetricsRegistry.getDefault();
+
+  /** Upper bounds of the request duration buckets, in seconds. */
+  private static final double[] DURATION_BUCKETS = {0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+  /** HTTP requests by endpoint key, method and status code. */
+  public static final Counter REQUESTS =
+      registry.counter(
+          "amadeus_http_requests_total",
+          "HTTP requests by endpoint, method and status code",
+          "endpoint",
+          "method",
+          "status");
+
+  /** Responses with status 429 Too Many Requests by endpoint key. */
+  public static final Counter RATE_LIMITED =
+      registry.counter(
+          "amadeus_http_rate_limited_total",
+          "Responses with status 429 Too Many Requests by endpoint",
+          "endpoint");
+
+  /** Requests sent and not answered yet. */
+  public static final Gauge IN_FLIGHT =
+      registry.gauge("amadeus_http_requests_in_flight", "Requests sent and not answered yet");
+
+  /** Request durations by endpoint key. */
+  public static final Histogram REQUEST_DURATION =
+      registry.histogram(
+          "amadeus_http_request_duration_seconds",
+          "HTTP request durations by endpoint",
+          DURATION_BUCKETS,
+          "endpoint");
+
+  /** Test retries by test method. */
+  public static final Counter RETRIES =
+      registry.counter("amadeus_test_retries_total", "Test retries by test method", "test");
+
+  /** Access token requests by outcome, success or failure. */
+  public static final Counter TOKEN_REFRESHES =
+      registry.counter(
+          "amadeus_token_refreshes_total", "Access token requests by outcome", "outcome");
+
+  /** Finished test invocations by status, passed, failed or skipped. */
+  public static final Counter TESTS =
+      registry.counter("amadeus_tests_total", "Finished test invocations by status", "status");
+
+  private FrameworkMetrics() {}
+}
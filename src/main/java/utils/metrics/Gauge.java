@@ -0,0 +1,50 @@
+package utils.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A value that goes up and down, such as the number of requests in flight. */
+public class Gauge extends Metric<Gauge.Child> {
+
+  /** The value of one combination of label values. */
+  public static final class Child {
+    private final LongAdder value = new LongAdder();
+
+    /** Adds one. */
+    public void inc() {
+      value.increment();
+    }
+
+    /** Subtracts one. */
+    public void dec() {
+      value.decrement();
+    }
+
+    /**
+     * Returns the value.
+     *
+     * @return the current value
+     */
+    public long get() {
+      return value.sum();
+    }
+  }
+
+  Gauge(String name, String help, String... labelNames) {
+    super(name, help, labelNames);
+  }
+
+  @Override
+  Child newChild() {
+    return new Child();
+  }
+
+  @Override
+  String type() {
+    return "gauge";
+  }
+
+  @Override
+  void writeSamples(StringBuilder out, String labels, Child child) {
+    writeSample(out, getName(), labels, null, Long.toString(child.get()));
+  }
+}
@@ -0,0 +1,68 @@
+package utils.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A distribution of observed values over fixed buckets, such as request durations, from which
+ * Prometheus computes quantiles across scrapes and processes.
+ */
+public class Histogram extends Metric<Histogram.Child> {
+
+  private final double[] upperBounds;
+
+  /** The buckets of one combination of label values. */
+  public final class Child {
+    /** Count per bucket, not cumulative; the last one counts values above every bound. */
+    private final LongAdder[] counts = new LongAdder[upperBounds.length + 1];
+
+    private final DoubleAdder sum = new DoubleAdder();
+
+    private Child() {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = new LongAdder();
+      }
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value
+     */
+    public void observe(double value) {
+      int bucket = Arrays.binarySearch(upperBounds, value);
+      counts[bucket >= 0 ? bucket : -bucket - 1].increment();
+      sum.add(value);
+    }
+  }
+
+  Histogram(String name, String help, double[] upperBounds, String... labelNames) {
+    super(name, help, labelNames);
+    this.upperBounds = upperBounds.clone();
+    Arrays.sort(this.upperBounds);
+  }
+
+  @Override
+  Child newChild() {
+    return new Child();
+  }
+
+  @Override
+  String type() {
+    return "histogram";
+  }
+
+  @Override
+  void writeSamples(StringBuilder out, String labels, Child child) {
+    long cumulative = 0;
+    for (int i = 0; i < child.counts.length; i++) {
+      cumulative += child.counts[i].sum();
+      String bound = i < upperBounds.length ? Double.toString(upperBounds[i]) : "+Inf";
+      writeSample(
+          out, getName() + "_bucket", labels, "le=\"" + bound + "\"", Long.toString(cumulative));
+    }
+    writeSample(out, getName() + "_sum", labels, null, Double.toString(child.sum.sum()));
+    writeSample(out, getName() + "_count", labels, null, Long.toString(cumulative));
+  }
+}
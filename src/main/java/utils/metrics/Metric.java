@@ -0,0 +1,135 @@
+package utils.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class of the metrics of a {@link MetricsRegistry}. A metric has one child per combination of
+ * label values, created on first use; children hold striped {@code LongAdder}s, so updates from
+ * many threads neither lock nor contend on a single counter.
+ *
+ * @param <C> the child type
+ */
+public abstract class Metric<C> {
+
+  private final String name;
+  private final String help;
+  private final String[] labelNames;
+  private final Map<List<String>, C> children = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a metric.
+   *
+   * @param name the metric name
+   * @param help the description written with the samples
+   * @param labelNames the label names, in the order their values are given
+   */
+  protected Metric(String name, String help, String... labelNames) {
+    this.name = name;
+    this.help = help;
+    this.labelNames = labelNames.clone();
+  }
+
+  /**
+   * Returns the child for the given label values, creating it on first use.
+   *
+   * @param labelValues one value per label name, null values are written as empty strings
+   * @return the child
+   * @throws IllegalArgumentException if the number of values does not match the label names
+   */
+  public C labels(String... labelValues) {
+    if (labelValues.length != labelNames.length) {
+      throw new IllegalArgumentException(
+          name
+              + " expects labels "
+              + Arrays.toString(labelNames)
+              + " but got "
+              + Arrays.toString(labelValues));
+    }
+    String[] values = new String[labelValues.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = labelValues[i] == null ? "" : labelValues[i];
+    }
+    return children.computeIfAbsent(List.of(values), key -> newChild());
+  }
+
+  /**
+   * Returns the metric name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /** Creates the child of a new combination of label values. */
+  abstract C newChild();
+
+  /** Returns the Prometheus metric type. */
+  abstract String type();
+
+  /**
+   * Appends the samples of one child.
+   *
+   * @param out the output
+   * @param labels the formatted labels of the child, without braces, possibly empty
+   * @param child the child
+   */
+  abstract void writeSamples(StringBuilder out, String labels, C child);
+
+  /**
+   * Appends the metric in the Prometheus text exposition format, children sorted by label values.
+   *
+   * @param out the output
+   */
+  void write(StringBuilder out) {
+    out.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type()).append('\n');
+    List<Map.Entry<List<String>, C>> entries = new ArrayList<>(children.entrySet());
+    entries.sort(Comparator.comparing(entry -> String.join("\u0000", entry.getKey())));
+    for (Map.Entry<List<String>, C> entry : entries) {
+      writeSamples(out, formatLabels(entry.getKey()), entry.getValue());
+    }
+  }
+
+  /** Appends a sample line, adding an extra label if given. */
+  static void writeSample(
+      StringBuilder out, String name, String labels, String extraLabel, String value) {
+    out.append(name);
+    if (!labels.isEmpty() || extraLabel != null) {
+      out.append('{').append(labels);
+      if (extraLabel != null) {
+        out.append(labels.isEmpty() ? "" : ",").append(extraLabel);
+      }
+      out.append('}');
+    }
+    out.append(' ').append(value).append('\n');
+  }
+
+  private String formatLabels(List<String> values) {
+    StringBuilder labels = new StringBuilder();
+    for (int i = 0; i < labelNames.length; i++) {
+      if (i > 0) {
+        labels.append(',');
+      }
+      labels
+          .append(labelNames[i])
+          .append("=\"")
+          .append(escapeLabelValue(values.get(i)))
+          .append('"');
+    }
+    return labels.toString();
+  }
+
+  private static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String escapeHelp(String help) {
+    return help.replace("\\", "\\\\").replace("\n", "\\n");
+  }
+}
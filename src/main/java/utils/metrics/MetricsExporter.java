@@ -0,0 +1,133 @@
+package utils.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+
+/**
+ * Exposes the default {@link MetricsRegistry} while the suite runs, so that long soak runs can be
+ * watched live. Enabled with {@code metrics.enabled}:
+ *
+ * <ul>
+ *   <li>a Prometheus scrape endpoint at {@code http://<metrics.host>:<metrics.port>/metrics},
+ *       unless {@code metrics.port} is negative
+ *   <li>a textfile at {@code metrics.textfile}, rewritten atomically every {@code
+ *       metrics.textfileIntervalSeconds} and once more at the end of the suite, in the format of
+ *       the node exporter textfile collector
+ * </ul>
+ */
+public class MetricsExporter {
+
+  private static final Logger logger = LogManager.getLogger(MetricsExporter.class);
+
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static HttpServer server;
+  private static ScheduledExecutorService scheduler;
+  private static Path textfile;
+
+  private MetricsExporter() {}
+
+  /**
+   * Returns whether the metrics are exported.
+   *
+   * @return true if {@code metrics.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("metrics.enabled", false);
+  }
+
+  /** Starts the scrape endpoint and the periodic textfile writes, unless already started. */
+  public static synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    int port = Config.get().getInt("metrics.port", 9464);
+    if (port >= 0) {
+      String host = Config.get().getString("metrics.host", "127.0.0.1");
+      try {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/metrics", MetricsExporter::handle);
+        server.start();
+        logger.info(
+            "Metrics endpoint started at http://{}:{}/metrics",
+            host,
+            server.getAddress().getPort());
+      } catch (IOException e) {
+        logger.error("Failed to start metrics endpoint on {}:{}: ", host, port, e);
+      }
+    }
+
+    textfile = Path.of(Config.get().getString("metrics.textfile", "test-results/metrics.prom"));
+    long intervalSeconds = Config.get().getLong("metrics.textfileIntervalSeconds", 15);
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "metrics-textfile");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleAtFixedRate(
+        MetricsExporter::writeTextfile, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+  }
+
+  /** Writes the textfile a last time and stops the endpoint. */
+  public static synchronized void stop() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.shutdownNow();
+    scheduler = null;
+    writeTextfile();
+    logger.info("Metrics textfile generated successfully: {}", textfile);
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+  }
+
+  /**
+   * Returns the port of the scrape endpoint.
+   *
+   * @return the port, or -1 if the endpoint is not running
+   */
+  public static synchronized int getPort() {
+    return server == null ? -1 : server.getAddress().getPort();
+  }
+
+  private static void handle(HttpExchange exchange) throws IOException {
+    byte[] body = MetricsRegistry.getDefault().toPrometheusText().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  /** Writes to a temporary file and moves it into place, so readers never see a partial file. */
+  private static void writeTextfile() {
+    try {
+      if (textfile.getParent() != null) {
+        Files.createDirectories(textfile.getParent());
+      }
+      Path temporary = textfile.resolveSibling(textfile.getFileName() + ".tmp");
+      Files.writeString(temporary, MetricsRegistry.getDefault().toPrometheusText());
+      Files.move(
+          temporary, textfile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      logger.error("Failed to write metrics textfile {}: ", textfile, e);
+    }
+  }
+}
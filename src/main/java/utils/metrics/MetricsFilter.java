@@ -0,0 +1,49 @@
+package utils.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import utils.Endpoints;
+
+/**
+ * A Rest-Assured filter that records every request in the {@link FrameworkMetrics}: the count by
+ * endpoint, method and status, 429 responses, the number in flight and the duration. It should be
+ * registered after the rate limit filter, so that waiting for a permit is not counted as in flight.
+ * Requests that fail without a response are counted with status {@code error}.
+ */
+public class MetricsFilter implements Filter {
+
+  /**
+   * Sends the request and records it.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    String endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+    String status = "error";
+    FrameworkMetrics.IN_FLIGHT.labels().inc();
+    long start = System.nanoTime();
+    try {
+      Response response = filterContext.next(requestSpec, responseSpec);
+      int statusCode = response.getStatusCode();
+      status = Integer.toString(statusCode);
+      if (statusCode == 429) {
+        FrameworkMetrics.RATE_LIMITED.inc(endpoint);
+      }
+      return response;
+    } finally {
+      FrameworkMetrics.REQUEST_DURATION.labels(endpoint).observe((System.nanoTime() - start) / 1e9);
+      FrameworkMetrics.IN_FLIGHT.labels().dec();
+      FrameworkMetrics.REQUESTS.inc(endpoint, requestSpec.getMethod(), status);
+    }
+  }
+}
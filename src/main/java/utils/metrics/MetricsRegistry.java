@@ -0,0 +1,87 @@
+package utils.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of counters, gauges and histograms, written in the Prometheus text exposition
+ * format by {@link MetricsExporter}. Metrics are registered once by name; asking for an existing
+ * name returns the registered metric.
+ */
+public class MetricsRegistry {
+
+  private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+  /** Metrics by name, sorted so that the exposition is stable. */
+  private final Map<String, Metric<?>> metrics = new ConcurrentSkipListMap<>();
+
+  /**
+   * Returns the registry shared by the framework.
+   *
+   * @return the default registry
+   */
+  public static MetricsRegistry getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns the counter with the given name, registering it on first use.
+   *
+   * @param name the metric name
+   * @param help the description
+   * @param labelNames the label names
+   * @return the counter
+   */
+  public Counter counter(String name, String help, String... labelNames) {
+    return register(name, Counter.class, () -> new Counter(name, help, labelNames));
+  }
+
+  /**
+   * Returns the gauge with the given name, registering it on first use.
+   *
+   * @param name the metric name
+   * @param help the description
+   * @param labelNames the label names
+   * @return the gauge
+   */
+  public Gauge gauge(String name, String help, String... labelNames) {
+    return register(name, Gauge.class, () -> new Gauge(name, help, labelNames));
+  }
+
+  /**
+   * Returns the histogram with the given name, registering it on first use.
+   *
+   * @param name the metric name
+   * @param help the description
+   * @param upperBounds the inclusive upper bounds of the buckets
+   * @param labelNames the label names
+   * @return the histogram
+   */
+  public Histogram histogram(String name, String help, double[] upperBounds, String... labelNames) {
+    return register(
+        name, Histogram.class, () -> new Histogram(name, help, upperBounds, labelNames));
+  }
+
+  /**
+   * Writes every metric in the Prometheus text exposition format.
+   *
+   * @return the exposition
+   */
+  public String toPrometheusText() {
+    StringBuilder out = new StringBuilder();
+    for (Metric<?> metric : metrics.values()) {
+      metric.write(out);
+    }
+    return out.toString();
+  }
+
+  private <M extends Metric<?>> M register(String name, Class<M> type, Supplier<M> factory) {
+    Metric<?> metric = metrics.computeIfAbsent(name, key -> factory.get());
+    if (!type.isInstance(metric)) {
+      throw new IllegalArgumentException(
+          "Metric " + name + " is already registered as a " + metric.type());
+    }
+    return type.cast(metric);
+  }
+}
@@ -0,0 +1,299 @@
+package utils.perf;
+
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.PreemptiveOAuth2HeaderScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+import utils.Endpoints;
+import utils.JsonUtils;
+
+/**
+ * A Rest-Assured filter that coalesces identical idempotent requests (single flight).
+ *
+ * <p>Requests are fingerprinted by method, URI including the query, sorted form parameters, body,
+ * {@code Accept} header and auth scope (a hash of the bearer token). While a request is in flight,
+ * identical requests from other threads wait for it instead of going to the network, and identical
+ * requests arriving within {@code coalesce.windowMs} after it completed reuse its response. Every
+ * caller gets its own copy of the response, so extracting or logging one does not affect the
+ * others. Responses with status 429 or 5xx are never shared: waiting callers send their own
+ * request, as they would without the filter.
+ *
+ * <p>The filter should be registered first, so that coalesced requests neither draw rate limit
+ * permits nor count as latency samples. Counters are kept per endpoint and written to a separate
+ * report.
+ */
+public class CoalescingFilter implements Filter {
+
+  private static final Logger logger = LogManager.getLogger(CoalescingFilter.class);
+
+  /** Statistics by endpoint key. */
+  private static final Map<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+
+  private final Set<String> methods;
+  private final long windowNanos;
+  private final int maxEntries;
+
+  /** In-flight and recently completed requests by fingerprint. */
+  private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Coalescing statistics of an endpoint.
+   *
+   * @param requests eligible requests
+   * @param networkCalls requests that went to the network
+   * @param joinedInFlight requests that waited for an identical in-flight request
+   * @param reusedWithinWindow requests served from a response completed within the window
+   */
+  public record CoalescingStatistics(
+      long requests, long networkCalls, long joinedInFlight, long reusedWithinWindow) {}
+
+  /** Counters of an endpoint. */
+  private static final class EndpointStats {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder networkCalls = new LongAdder();
+    private final LongAdder joinedInFlight = new LongAdder();
+    private final LongAdder reusedWithinWindow = new LongAdder();
+  }
+
+  /** A request sent by a leader, completed with a shareable snapshot or null if not shareable. */
+  private static final class Flight {
+    private final CompletableFuture<Snapshot> result = new CompletableFuture<>();
+    private volatile long expiresAt = Long.MAX_VALUE;
+
+    private boolean isReusable(long now) {
+      if (!result.isDone()) {
+        return true;
+      }
+      return result.getNow(null) != null && now - expiresAt < 0;
+    }
+  }
+
+  /** Immutable copy of a response, from which every caller gets its own response. */
+  private record Snapshot(
+      int statusCode, String statusLine, Headers headers, String contentType, byte[] body) {
+
+    private static Snapshot of(Response response) {
+      return new Snapshot(
+          response.getStatusCode(),
+          response.getStatusLine(),
+          response.getHeaders(),
+          response.getContentType(),
+          response.asByteArray());
+    }
+
+    private Response toResponse() {
+      ResponseBuilder builder =
+          new ResponseBuilder()
+              .setStatusCode(statusCode)
+              .setStatusLine(statusLine)
+              .setHeaders(headers)
+              .setBody(body.clone());
+      if (contentType != null && !contentType.isEmpty()) {
+        builder.setContentType(contentType);
+      }
+      return builder.build();
+    }
+  }
+
+  /** Constructs a CoalescingFilter configured from {@code config.properties}. */
+  public CoalescingFilter() {
+    this.methods =
+        Arrays.stream(Config.get().getString("coalesce.methods", "GET,HEAD").split(","))
+            .map(String::trim)
+            .filter(method -> !method.isEmpty())
+            .collect(Collectors.toSet());
+    this.windowNanos =
+        TimeUnit.MILLISECONDS.toNanos(Config.get().getLong("coalesce.windowMs", 2000));
+    this.maxEntries = Config.get().getInt("coalesce.maxEntries", 1000);
+  }
+
+  /**
+   * Returns whether request coalescing is enabled.
+   *
+   * @return true if {@code coalesce.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("coalesce.enabled", false);
+  }
+
+  /**
+   * Sends the request, or shares the response of an identical in-flight or recent request.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    if (!methods.contains(requestSpec.getMethod())) {
+      return filterContext.next(requestSpec, responseSpec);
+    }
+    EndpointStats stats =
+        endpointStats.computeIfAbsent(
+            Endpoints.resolve(requestSpec.getUserDefinedPath()), key -> new EndpointStats());
+    stats.requests.increment();
+
+    String fingerprint = fingerprint(requestSpec);
+    long now = System.nanoTime();
+    Flight created = new Flight();
+    Flight flight =
+        flights.compute(
+            fingerprint,
+            (key, existing) -> existing != null && existing.isReusable(now) ? existing : created);
+
+    if (flight != created) {
+      boolean inFlight = !flight.result.isDone();
+      Snapshot snapshot = flight.result.join();
+      if (snapshot != null) {
+        (inFlight ? stats.joinedInFlight : stats.reusedWithinWindow).increment();
+        logger.debug(
+            "Coalesced {} {} with an identical {} request",
+            requestSpec.getMethod(),
+            requestSpec.getURI(),
+            inFlight ? "in-flight" : "recent");
+        return snapshot.toResponse();
+      }
+      // The shared request failed or is not shareable, send this one on its own
+      stats.networkCalls.increment();
+      return filterContext.next(requestSpec, responseSpec);
+    }
+
+    stats.networkCalls.increment();
+    evictExpired(now);
+    Snapshot snapshot = null;
+    try {
+      Response response = filterContext.next(requestSpec, responseSpec);
+      if (isShareable(response.getStatusCode())) {
+        snapshot = Snapshot.of(response);
+      }
+      return response;
+    } finally {
+      created.expiresAt = System.nanoTime() + windowNanos;
+      created.result.complete(snapshot);
+      if (snapshot == null) {
+        flights.remove(fingerprint, created);
+      }
+    }
+  }
+
+  private static boolean isShareable(int statusCode) {
+    return statusCode != 429 && statusCode < 500;
+  }
+
+  /** Drops completed entries past their window once the map grows beyond its limit. */
+  private void evictExpired(long now) {
+    if (flights.size() > maxEntries) {
+      flights.values().removeIf(flight -> !flight.isReusable(now));
+    }
+  }
+
+  /** Builds the key under which identical requests are coalesced. */
+  private static String fingerprint(FilterableRequestSpecification requestSpec) {
+    // The URI carries the query, whether it was set as parameters or as part of the path
+    StringBuilder key =
+        new StringBuilder(requestSpec.getMethod())
+            .append(' ')
+            .append(requestSpec.getURI())
+            .append('\n')
+            .append(new TreeMap<>(requestSpec.getFormParams()))
+            .append('\n')
+            .append(accept(requestSpec))
+            .append('\n')
+            .append(authScope(requestSpec));
+    Object body = requestSpec.getBody();
+    if (body != null) {
+      key.append('\n')
+          .append(
+              body instanceof byte[] bytes
+                  ? new String(bytes, StandardCharsets.UTF_8)
+                  : body.toString());
+    }
+    return key.toString();
+  }
+
+  /** Returns the Accept header, which Rest-Assured defaults to any media type. */
+  private static String accept(FilterableRequestSpecification requestSpec) {
+    String accept = requestSpec.getHeaders().getValue("Accept");
+    return accept == null ? "*/*" : accept;
+  }
+
+  /** Returns a hash of the credentials, so that requests made with different tokens differ. */
+  private static String authScope(FilterableRequestSpecification requestSpec) {
+    String authorization = requestSpec.getHeaders().getValue("Authorization");
+    AuthenticationScheme auth = requestSpec.getAuthenticationScheme();
+    if (authorization == null && auth instanceof PreemptiveOAuth2HeaderScheme oauth2) {
+      authorization = oauth2.getAccessToken();
+    }
+    return authorization == null ? "anonymous" : Integer.toHexString(authorization.hashCode());
+  }
+
+  /**
+   * Returns the coalescing statistics of the run.
+   *
+   * @return statistics by endpoint key
+   */
+  public static Map<String, CoalescingStatistics> getStatistics() {
+    Map<String, CoalescingStatistics> statistics = new TreeMap<>();
+    endpointStats.forEach(
+        (endpoint, stats) ->
+            statistics.put(
+                endpoint,
+                new CoalescingStatistics(
+                    stats.requests.sum(),
+                    stats.networkCalls.sum(),
+                    stats.joinedInFlight.sum(),
+                    stats.reusedWithinWindow.sum())));
+    return statistics;
+  }
+
+  /** Discards the coalescing statistics at the start of a run. */
+  public static void reset() {
+    endpointStats.clear();
+  }
+
+  /**
+   * Writes the coalescing statistics as JSON, if any request was eligible for coalescing.
+   *
+   * @param file the report file
+   */
+  public static void writeReport(Path file) {
+    Map<String, CoalescingStatistics> statistics = getStatistics();
+    if (statistics.isEmpty()) {
+      return;
+    }
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.writeString(file, JsonUtils.toJson(statistics));
+      logger.info("Coalescing report generated successfully: {}", file);
+    } catch (IOException e) {
+      logger.error("Failed to write coalescing report: ", e);
+    }
+  }
+}
@@ -0,0 +1,322 @@
+package utils.perf;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+import utils.Endpoints;
+import utils.JdkHttpExchange;
+import utils.JsonUtils;
+import utils.ratelimit.RateLimiter;
+
+/**
+ * A Rest-Assured filter that hedges idempotent GET requests to cut tail latency.
+ *
+ * <p>For the endpoints listed in {@code hedge.endpoints}, the request is sent on a virtual thread
+ * and, if no response has arrived after the {@code hedge.percentile} of the endpoint's recent
+ * latencies, a duplicate is sent with the JDK HTTP client. Whichever response arrives first is
+ * returned; the other one is left to complete in the background. Hedging starts once {@code
+ * hedge.minSamples} latencies have been observed, and hedges are capped at {@code hedge.maxPercent}
+ * of the eligible requests so that a slow API is not hit with twice the load. Every hedge draws a
+ * permit from the rate limiter, like any other request.
+ *
+ * <p>The filter should be registered last, so that the filters before it see the request once and
+ * measure the latency the test experienced. Hedging statistics are kept per endpoint and written to
+ * a separate report.
+ */
+public class HedgingFilter implements Filter {
+
+  private static final Logger logger = LogManager.getLogger(HedgingFilter.class);
+
+  /** Timeout of a hedge request. */
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+  private static final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+  /** Statistics by endpoint key. */
+  private static final Map<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+
+  private final Set<String> endpoints;
+  private final double percentile;
+  private final int minSamples;
+  private final int windowSize;
+  private final double maxPercent;
+  private final long minDelayMs;
+  private final RateLimiter rateLimiter;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Hedging statistics of an endpoint.
+   *
+   * @param requests eligible GET requests
+   * @param hedges duplicates sent
+   * @param hedgesWon duplicates that answered first
+   * @param hedgeRatePercent share of eligible requests that were hedged
+   * @param lastDelayMs the most recent hedge delay, -1 if there were never enough samples
+   */
+  public record HedgingStatistics(
+      long requests, long hedges, long hedgesWon, double hedgeRatePercent, long lastDelayMs) {}
+
+  /** Counters and recent primary latencies of an endpoint. */
+  private static final class EndpointStats {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final long[] window;
+    private volatile long lastDelayMs = -1;
+    private int size;
+    private int next;
+
+    private EndpointStats(int windowSize) {
+      this.window = new long[windowSize];
+    }
+
+    private synchronized void add(long latencyMs) {
+      window[next] = latencyMs;
+      next = (next + 1) % window.length;
+      size = Math.min(size + 1, window.length);
+    }
+
+    private synchronized long[] sortedWindow() {
+      long[] values = Arrays.copyOf(window, size);
+      Arrays.sort(values);
+      return values;
+    }
+  }
+
+  /**
+   * Constructs a HedgingFilter configured from {@code config.properties}.
+   *
+   * @param rateLimiter the limiter hedges draw their permit from, or null if rate limiting is off
+   */
+  public HedgingFilter(RateLimiter rateLimiter) {
+    this.endpoints =
+        Arrays.stream(Config.get().getString("hedge.endpoints", "").split(","))
+            .map(String::trim)
+            .filter(endpoint -> !endpoint.isEmpty())
+            .collect(Collectors.toSet());
+    this.percentile = Config.get().getDouble("hedge.percentile", 95);
+    this.minSamples = Config.get().getInt("hedge.minSamples", 20);
+    this.windowSize = Config.get().getInt("hedge.windowSize", 200);
+    this.maxPercent = Config.get().getDouble("hedge.maxPercent", 10);
+    this.minDelayMs = Config.get().getLong("hedge.minDelayMs", 50);
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Returns whether request hedging is enabled.
+   *
+   * @return true if {@code hedge.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("hedge.enabled", false);
+  }
+
+  /**
+   * Sends the request and hedges it if it is slower than the hedge delay.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the first response to arrive
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    String endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+    if (!requestSpec.getMethod().equals("GET") || !endpoints.contains(endpoint)) {
+      return filterContext.next(requestSpec, responseSpec);
+    }
+
+    EndpointStats stats =
+        endpointStats.computeIfAbsent(endpoint, key -> new EndpointStats(windowSize));
+    stats.requests.increment();
+    long start = System.nanoTime();
+    ResourceUsage usage = ResourceUsage.current();
+    CompletableFuture<Response> primary =
+        CompletableFuture.supplyAsync(
+            () ->
+                ResourceUsage.attribute(usage, () -> filterContext.next(requestSpec, responseSpec)),
+            executor);
+    primary.thenRun(() -> stats.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+    long delayMs = hedgeDelayMs(stats);
+    stats.lastDelayMs = delayMs;
+    if (delayMs < 0) {
+      return join(primary);
+    }
+    try {
+      return primary.get(delayMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      if (stats.hedges.sum() * 100.0 >= maxPercent * stats.requests.sum()) {
+        return join(primary);
+      }
+      stats.hedges.increment();
+      logger.info(
+          "Hedging {} {} after {}ms", requestSpec.getMethod(), requestSpec.getURI(), delayMs);
+      CompletableFuture<Response> hedge =
+          CompletableFuture.supplyAsync(
+              () -> ResourceUsage.attribute(usage, () -> sendHedge(requestSpec)), executor);
+      CompletableFuture<Response> first = firstSuccessful(primary, hedge);
+      Response response = join(first);
+      if (!primary.isDone() || primary.isCompletedExceptionally() || hedgeWon(hedge, response)) {
+        stats.hedgesWon.increment();
+        logger.info("Hedge won for {}", requestSpec.getURI());
+      }
+      return response;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for " + requestSpec.getURI(), e);
+    } catch (ExecutionException e) {
+      throw rethrow(e.getCause());
+    }
+  }
+
+  /** Returns the hedge delay of an endpoint, or -1 if there are not enough samples yet. */
+  private long hedgeDelayMs(EndpointStats stats) {
+    long[] window = stats.sortedWindow();
+    if (window.length < minSamples) {
+      return -1;
+    }
+    return Math.max(minDelayMs, LatencyStatistics.percentile(window, percentile));
+  }
+
+  /** Sends a duplicate of the request with the JDK HTTP client, after drawing a permit. */
+  private Response sendHedge(FilterableRequestSpecification requestSpec) {
+    try {
+      if (rateLimiter != null) {
+        rateLimiter.acquire(Endpoints.resolve(requestSpec.getUserDefinedPath()));
+      }
+      HttpResponse<byte[]> response =
+          httpClient.send(
+              JdkHttpExchange.toHttpRequest(requestSpec, REQUEST_TIMEOUT),
+              HttpResponse.BodyHandlers.ofByteArray());
+      return JdkHttpExchange.toResponse(response);
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(e);
+    }
+  }
+
+  private static boolean hedgeWon(CompletableFuture<Response> hedge, Response response) {
+    return hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == response;
+  }
+
+  /** Completes with the first successful response, or exceptionally if both requests fail. */
+  private static CompletableFuture<Response> firstSuccessful(
+      CompletableFuture<Response> primary, CompletableFuture<Response> hedge) {
+    CompletableFuture<Response> first = new CompletableFuture<>();
+    LongAdder failures = new LongAdder();
+    for (CompletableFuture<Response> attempt : List.of(primary, hedge)) {
+      attempt.whenComplete(
+          (response, error) -> {
+            if (error == null) {
+              first.complete(response);
+            } else {
+              failures.increment();
+              if (failures.sum() == 2) {
+                first.completeExceptionally(error);
+              }
+            }
+          });
+    }
+    return first;
+  }
+
+  private static Response join(CompletableFuture<Response> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw rethrow(e.getCause());
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(cause);
+  }
+
+  /**
+   * Returns the hedging statistics of the run.
+   *
+   * @return statistics by endpoint key
+   */
+  public static Map<String, HedgingStatistics> getStatistics() {
+    Map<String, HedgingStatistics> statistics = new TreeMap<>();
+    endpointStats.forEach(
+        (endpoint, stats) -> {
+          long requests = stats.requests.sum();
+          long hedges = stats.hedges.sum();
+          statistics.put(
+              endpoint,
+              new HedgingStatistics(
+                  requests,
+                  hedges,
+                  stats.hedgesWon.sum(),
+                  requests == 0 ? 0 : hedges * 100.0 / requests,
+                  stats.lastDelayMs));
+        });
+    return statistics;
+  }
+
+  /** Discards the hedging statistics, including the learned hedge delays, at the start of a run. */
+  public static void reset() {
+    endpointStats.clear();
+  }
+
+  /**
+   * Writes the hedging statistics as JSON, if any request was eligible for hedging.
+   *
+   * @param file the report file
+   */
+  public static void writeReport(Path file) {
+    Map<String, HedgingStatistics> statistics = getStatistics();
+    if (statistics.isEmpty()) {
+      return;
+    }
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.writeString(file, JsonUtils.toJson(statistics));
+      logger.info("Hedging report generated successfully: {}", file);
+    } catch (IOException e) {
+      logger.error("Failed to write hedging report: ", e);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package utils.perf;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import utils.Endpoints;
+
+/**
+ * A Rest-Assured filter that records the latency of every request per endpoint key. It should be
+ * registered after the logging, attachment and schema validation filters, so that their work is not
+ * counted. The filters after it in the suite's chain, flight recorder events, response time SLAs
+ * and request hedging, add little time of their own; with hedging, the recorded time is that of the
+ * first successful response. The recorded samples feed the performance regression gate at the end
+ * of the run.
+ */
+public class LatencyRecorder implements Filter {
+
+  /** Latency samples in milliseconds by endpoint key. */
+  private static final Map<String, ConcurrentLinkedQueue<Long>> endpointSamples =
+      new ConcurrentHashMap<>();
+
+  /** Test method names that called each endpoint key. */
+  private static final Map<String, Set<String>> endpointTestMethods = new ConcurrentHashMap<>();
+
+  /** Requests sent by the current thread while a capture is active. */
+  private static final ThreadLocal<List<RequestLatency>> capturedRequests = new ThreadLocal<>();
+
+  /**
+   * The latency of one captured request.
+   *
+   * @param endpoint the endpoint key
+   * @param durationNanos the time of the HTTP exchange in nanoseconds
+   */
+  public record RequestLatency(String endpoint, long durationNanos) {}
+
+  /**
+   * Times the HTTP exchange and records it against the endpoint key of the request path.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    long start = System.nanoTime();
+    Response response = filterContext.next(requestSpec, responseSpec);
+    long elapsedNanos = System.nanoTime() - start;
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+
+    String endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+    endpointSamples.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(elapsedMs);
+
+    List<RequestLatency> captured = capturedRequests.get();
+    if (captured != null) {
+      captured.add(new RequestLatency(endpoint, elapsedNanos));
+    }
+
+    ITestResult result = Reporter.getCurrentTestResult();
+    if (result != null) {
+      endpointTestMethods
+          .computeIfAbsent(endpoint, key -> ConcurrentHashMap.newKeySet())
+          .add(result.getMethod().getMethodName());
+    }
+    return response;
+  }
+
+  /**
+   * Starts capturing the requests sent by the current thread, for example to report the latency of
+   * each endpoint a load test invocation hit.
+   */
+  public static void startCapture() {
+    capturedRequests.set(new ArrayList<>());
+  }
+
+  /**
+   * Stops capturing on the current thread.
+   *
+   * @return the requests sent since {@link #startCapture()} in order, empty if no capture was
+   *     active
+   */
+  public static List<RequestLatency> stopCapture() {
+    List<RequestLatency> captured = capturedRequests.get();
+    capturedRequests.remove();
+    return captured == null ? List.of() : captured;
+  }
+
+  /**
+   * Returns a snapshot of the recorded samples.
+   *
+   * @return latency samples in milliseconds by endpoint key
+   */
+  public static Map<String, List<Long>> getEndpointSamples() {
+    Map<String, List<Long>> snapshot = new ConcurrentHashMap<>();
+    endpointSamples.forEach((endpoint, samples) -> snapshot.put(endpoint, List.copyOf(samples)));
+    return snapshot;
+  }
+
+  /**
+   * Returns the test methods that called an endpoint during the run.
+   *
+   * @param endpoint the endpoint key
+   * @return the test method names, empty if the endpoint was not called from a test
+   */
+  public static Set<String> getTestMethods(String endpoint) {
+    return endpointTestMethods.getOrDefault(endpoint, Set.of());
+  }
+
+  /**
+   * Discards the samples and test methods recorded so far, so that a run in a JVM that already ran
+   * tests, such as a test daemon run, only reports its own requests.
+   */
+  public static void reset() {
+    endpointSamples.clear();
+    endpointTestMethods.clear();
+  }
+}
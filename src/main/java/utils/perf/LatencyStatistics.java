@@ -0,0 +1,119 @@
+package utils.perf;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Utility class with the descriptive statistics and significance test used to compare latency
+ * distributions. All methods work on millisecond samples and never modify their input.
+ */
+public class LatencyStatistics {
+
+  private LatencyStatistics() {}
+
+  /**
+   * Returns the samples as a sorted primitive array.
+   *
+   * @param samples latency samples in milliseconds
+   * @return sorted copy of the samples
+   */
+  public static long[] sorted(Collection<Long> samples) {
+    long[] values = samples.stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(values);
+    return values;
+  }
+
+  /**
+   * Returns the nearest-rank percentile of a sorted sample array.
+   *
+   * @param sortedSamples samples sorted in ascending order
+   * @param percentile the percentile between 0 and 100
+   * @return the percentile value, or 0 if there are no samples
+   */
+  public static long percentile(long[] sortedSamples, double percentile) {
+    if (sortedSamples.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * sortedSamples.length);
+    return sortedSamples[Math.max(0, Math.min(sortedSamples.length - 1, rank - 1))];
+  }
+
+  /**
+   * One-sided Mann-Whitney U test for the hypothesis that {@code current} tends to be larger than
+   * {@code baseline}. Uses the normal approximation with tie correction, which is adequate for the
+   * sample sizes produced by a test run and makes no assumption about the latency distribution.
+   *
+   * @param baseline sorted baseline samples
+   * @param current sorted current samples
+   * @return the p-value, 1.0 when either side has no samples
+   */
+  public static double mannWhitneyGreaterPValue(long[] baseline, long[] current) {
+    int n1 = current.length;
+    int n2 = baseline.length;
+    if (n1 == 0 || n2 == 0) {
+      return 1.0;
+    }
+
+    // Rank the pooled samples, assigning average ranks to ties
+    int total = n1 + n2;
+    long[] pooled = new long[total];
+    boolean[] fromCurrent = new boolean[total];
+    int i = 0;
+    int j = 0;
+    for (int k = 0; k < total; k++) {
+      if (j >= n2 || (i < n1 && current[i] <= baseline[j])) {
+        pooled[k] = current[i++];
+        fromCurrent[k] = true;
+      } else {
+        pooled[k] = baseline[j++];
+      }
+    }
+
+    double currentRankSum = 0;
+    double tieCorrection = 0;
+    int start = 0;
+    while (start < total) {
+      int end = start;
+      while (end + 1 < total && pooled[end + 1] == pooled[start]) {
+        end++;
+      }
+      double averageRank = (start + end + 2) / 2.0;
+      for (int k = start; k <= end; k++) {
+        if (fromCurrent[k]) {
+          currentRankSum += averageRank;
+        }
+      }
+      double ties = end - start + 1;
+      tieCorrection += ties * ties * ties - ties;
+      start = end + 1;
+    }
+
+    double u = currentRankSum - n1 * (n1 + 1) / 2.0;
+    double meanU = n1 * (double) n2 / 2.0;
+    double varianceU =
+        n1 * (double) n2 / 12.0 * ((total + 1) - tieCorrection / ((double) total * (total - 1)));
+    if (varianceU <= 0) {
+      return u > meanU ? 0.0 : 1.0;
+    }
+    // Continuity correction towards the mean
+    double z = (u - meanU - 0.5) / Math.sqrt(varianceU);
+    return 1.0 - standardNormalCdf(z);
+  }
+
+  /**
+   * Standard normal cumulative distribution function (Abramowitz-Stegun 7.1.26 approximation).
+   *
+   * @param z the z-score
+   * @return probability that a standard normal variable is at most {@code z}
+   */
+  static double standardNormalCdf(double z) {
+    double t = 1.0 / (1.0 + 0.3275911 * Math.abs(z) / Math.sqrt(2));
+    double erf =
+        1.0
+            - t
+                * (0.254829592
+                    + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+                * Math.exp(-z * z / 2);
+    return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+  }
+}
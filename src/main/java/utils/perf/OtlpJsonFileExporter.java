@@ -0,0 +1,244 @@
+package utils.perf;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes ended spans to a local file as OTLP/JSON lines: every line is an {@code
+ * ExportTraceServiceRequest} holding one batch, as written by the OpenTelemetry file exporter.
+ *
+ * <p>Spans are queued by the threads that end them and written by a single background thread,
+ * either when a batch is full or after the flush interval, so tests never wait for the disk. The
+ * queue is bounded; when it is full, spans are dropped and counted rather than blocking the test.
+ */
+class OtlpJsonFileExporter {
+
+  private static final Logger logger = LogManager.getLogger(OtlpJsonFileExporter.class);
+
+  private static final JsonFactory jsonFactory =
+      new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  /** Time given to the background thread to write the pending spans on shutdown. */
+  private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+  private final Path file;
+  private final String serviceName;
+  private final int batchSize;
+  private final long flushIntervalMs;
+  private final BlockingQueue<Span> queue;
+  private final LongAdder dropped = new LongAdder();
+  private final Thread worker;
+  private final Object flushLock = new Object();
+  private long written;
+  private long exported;
+  private volatile boolean stopping;
+
+  OtlpJsonFileExporter(
+      Path file, String serviceName, int queueSize, int batchSize, long flushIntervalMs) {
+    this.file = file;
+    this.serviceName = serviceName;
+    this.batchSize = batchSize;
+    this.flushIntervalMs = flushIntervalMs;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.worker = new Thread(this::run, "tracing-exporter");
+    this.worker.setDaemon(true);
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+    } catch (IOException e) {
+      logger.error("Failed to prepare trace file {}: ", file, e);
+    }
+    this.worker.start();
+  }
+
+  /**
+   * Queues an ended span, or drops it if the queue is full.
+   *
+   * @param span the span
+   */
+  void export(Span span) {
+    if (stopping || !queue.offer(span)) {
+      dropped.increment();
+      return;
+    }
+    synchronized (flushLock) {
+      exported++;
+    }
+  }
+
+  /** Writes the current batch now and waits until every span queued so far has been written. */
+  void flush() {
+    queue.offer(Span.NOOP);
+    synchronized (flushLock) {
+      long target = exported;
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MS);
+      while (written < target && worker.isAlive()) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMs <= 0) {
+          logger.warn("Timed out writing spans to {}", file);
+          return;
+        }
+        try {
+          flushLock.wait(remainingMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /** Writes the pending spans and stops the background thread. */
+  void shutdown() {
+    if (stopping) {
+      return;
+    }
+    flush();
+    stopping = true;
+    queue.offer(Span.NOOP);
+    try {
+      worker.join(SHUTDOWN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    long droppedSpans = dropped.sum();
+    if (droppedSpans > 0) {
+      logger.warn("Dropped {} span(s) because the trace export queue was full", droppedSpans);
+    }
+    logger.info("Trace written successfully: {}", file);
+  }
+
+  /**
+   * Collects spans into a batch until it is full, the flush interval has passed since its first
+   * span or a flush is requested with {@link Span#NOOP}, then writes it.
+   */
+  private void run() {
+    List<Span> batch = new ArrayList<>(batchSize);
+    try (Writer writer =
+        Files.newBufferedWriter(
+            file,
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (!stopping || !queue.isEmpty()) {
+        Span span = queue.take();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (span != null && span != Span.NOOP) {
+          batch.add(span);
+          queue.drainTo(batch, batchSize - batch.size());
+          boolean flushRequested = batch.removeIf(queued -> queued == Span.NOOP);
+          long remaining = deadline - System.nanoTime();
+          if (flushRequested || batch.size() >= batchSize || remaining <= 0) {
+            break;
+          }
+          span = queue.poll(remaining, TimeUnit.NANOSECONDS);
+        }
+        write(writer, batch);
+        batch.clear();
+      }
+    } catch (IOException e) {
+      logger.error("Failed to write spans to {}: ", file, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write(Writer writer, List<Span> batch) throws IOException {
+    if (!batch.isEmpty()) {
+      try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+        writeRequest(generator, batch);
+      }
+      writer.write('\n');
+      writer.flush();
+    }
+    synchronized (flushLock) {
+      written += batch.size();
+      flushLock.notifyAll();
+    }
+  }
+
+  /** Writes a batch as an {@code ExportTraceServiceRequest}. */
+  private void writeRequest(JsonGenerator generator, List<Span> batch) throws IOException {
+    generator.writeStartObject();
+    generator.writeArrayFieldStart("resourceSpans");
+    generator.writeStartObject();
+    generator.writeObjectFieldStart("resource");
+    generator.writeArrayFieldStart("attributes");
+    writeAttribute(generator, "service.name", serviceName);
+    generator.writeEndArray();
+    generator.writeEndObject();
+    generator.writeArrayFieldStart("scopeSpans");
+    generator.writeStartObject();
+    generator.writeObjectFieldStart("scope");
+    generator.writeStringField("name", Tracer.class.getName());
+    generator.writeEndObject();
+    generator.writeArrayFieldStart("spans");
+    for (Span span : batch) {
+      writeSpan(generator, span);
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+    generator.writeEndArray();
+    generator.writeEndObject();
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writeSpan(JsonGenerator generator, Span span) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("traceId", span.getTraceId());
+    generator.writeStringField("spanId", span.getSpanId());
+    if (span.getParentSpanId() != null) {
+      generator.writeStringField("parentSpanId", span.getParentSpanId());
+    }
+    generator.writeStringField("name", span.getName());
+    generator.writeNumberField("kind", span.getKind());
+    // 64-bit integers are strings in OTLP/JSON
+    generator.writeStringField("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+    generator.writeStringField("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+    List<Object> attributes = span.getAttributes();
+    if (!attributes.isEmpty()) {
+      generator.writeArrayFieldStart("attributes");
+      for (int i = 0; i < attributes.size(); i += 2) {
+        writeAttribute(generator, (String) attributes.get(i), attributes.get(i + 1));
+      }
+      generator.writeEndArray();
+    }
+    if (span.getErrorMessage() != null) {
+      generator.writeObjectFieldStart("status");
+      generator.writeStringField("message", span.getErrorMessage());
+      generator.writeNumberField("code", 2);
+      generator.writeEndObject();
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeAttribute(JsonGenerator generator, String key, Object value)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("key", key);
+    generator.writeObjectFieldStart("value");
+    if (value instanceof Long number) {
+      generator.writeStringField("intValue", number.toString());
+    } else {
+      generator.writeStringField("stringValue", String.valueOf(value));
+    }
+    generator.writeEndObject();
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,363 @@
+package utils.perf;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSender;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+import utils.JsonUtils;
+
+/**
+ * Instrumentation mode that splits the time of every request into the phases of its lifecycle, so
+ * that the framework's own cost can be told apart from the network and the API. Enabled with {@code
+ * profiler.enabled}; when disabled every method is a no-op and the filter chain is left untouched.
+ *
+ * <p>The phases are:
+ *
+ * <ul>
+ *   <li>one phase per Rest-Assured filter, named after the filter class, measuring the time spent
+ *       in the filter itself, excluding the filters after it and the HTTP exchange
+ *   <li>{@value #HTTP}: the HTTP exchange, as seen from the innermost filter
+ *   <li>{@value #TOKEN}: the per-method token refresh in {@code BaseTest}, including the token
+ *       request when one is needed
+ *   <li>{@value #GPATH}: the time between the response (or the previous logged assertion) and the
+ *       next logged assertion, which is dominated by GPath evaluation of the body path
+ *   <li>{@value #MATCHER} and {@value #MATCHER_LOGGING}: the Hamcrest match and the assertion log
+ *       line of a {@code LoggingMatcher}
+ * </ul>
+ *
+ * <p>Durations are recorded in nanoseconds into HdrHistogram {@link Recorder}s. The aggregated cost
+ * per phase and per request is written as a report at the end of the suite.
+ */
+public class PhaseProfiler {
+
+  private static final Logger logger = LogManager.getLogger(PhaseProfiler.class);
+
+  /** Phase name of the HTTP exchange. */
+  public static final String HTTP = "http";
+
+  /** Phase name of the token refresh before each test method. */
+  public static final String TOKEN = "token";
+
+  /** Phase name of the body path evaluation before a logged assertion. */
+  public static final String GPATH = "gpath";
+
+  /** Phase name of the Hamcrest match of a logged assertion. */
+  public static final String MATCHER = "matcher";
+
+  /** Phase name of the log line written for a logged assertion. */
+  public static final String MATCHER_LOGGING = "matcherLogging";
+
+  private static final boolean ENABLED = Config.get().getBoolean("profiler.enabled", false);
+
+  /** Number of significant value digits kept by the histograms. */
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private static final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+  private static final Map<String, Histogram> accumulated = new ConcurrentHashMap<>();
+  private static final LongAdder requests = new LongAdder();
+
+  /** Time at which the current thread last received a response or finished a logged assertion. */
+  private static final ThreadLocal<long[]> checkpoint = ThreadLocal.withInitial(() -> new long[1]);
+
+  /**
+   * Aggregated cost of one phase.
+   *
+   * @param count number of recorded durations
+   * @param totalMs total time spent in the phase
+   * @param meanMicros mean duration
+   * @param p50Micros median duration
+   * @param p99Micros 99th percentile duration
+   * @param maxMicros maximum duration
+   * @param microsPerRequest total time divided by the number of requests
+   */
+  public record PhaseStatistics(
+      long count,
+      double totalMs,
+      double meanMicros,
+      double p50Micros,
+      double p99Micros,
+      double maxMicros,
+      double microsPerRequest) {}
+
+  /**
+   * Framework overhead report.
+   *
+   * @param requests number of requests that went through the filter chain
+   * @param frameworkMicrosPerRequest time spent in all phases except {@value #HTTP}, per request
+   * @param httpMicrosPerRequest time spent in the HTTP exchange, per request
+   * @param frameworkSharePercent framework share of the total profiled time
+   * @param phases statistics by phase, most expensive first
+   */
+  public record OverheadReport(
+      long requests,
+      double frameworkMicrosPerRequest,
+      double httpMicrosPerRequest,
+      double frameworkSharePercent,
+      Map<String, PhaseStatistics> phases) {}
+
+  private PhaseProfiler() {}
+
+  /**
+   * Returns whether the profiler is enabled.
+   *
+   * @return true if {@code profiler.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Wraps each filter so that its own time is recorded as a phase, and appends a probe that records
+   * the HTTP exchange. Returns the filters unchanged when the profiler is disabled.
+   *
+   * @param filters the filters in chain order
+   * @return the filters to register
+   */
+  public static List<Filter> instrument(List<Filter> filters) {
+    if (!ENABLED) {
+      return filters;
+    }
+    List<Filter> instrumented = new ArrayList<>();
+    for (Filter filter : filters) {
+      instrumented.add(new ProfiledFilter(filter.getClass().getSimpleName(), filter));
+    }
+    instrumented.add(new HttpProbe());
+    return instrumented;
+  }
+
+  /**
+   * Records a duration against a phase.
+   *
+   * @param phase the phase name
+   * @param nanos the duration in nanoseconds
+   */
+  public static void record(String phase, long nanos) {
+    if (ENABLED) {
+      recorders.computeIfAbsent(phase, key -> new Recorder(SIGNIFICANT_DIGITS)).recordValue(nanos);
+    }
+  }
+
+  /**
+   * Records the time since the last checkpoint of the current thread against a phase, if there is
+   * one, and moves the checkpoint to now.
+   *
+   * @param phase the phase name
+   */
+  public static void recordSinceCheckpoint(String phase) {
+    if (ENABLED) {
+      long now = System.nanoTime();
+      long[] last = checkpoint.get();
+      if (last[0] != 0) {
+        record(phase, now - last[0]);
+      }
+      last[0] = now;
+    }
+  }
+
+  /** Moves the checkpoint of the current thread to now. */
+  public static void checkpoint() {
+    if (ENABLED) {
+      checkpoint.get()[0] = System.nanoTime();
+    }
+  }
+
+  /**
+   * Aggregates everything recorded so far.
+   *
+   * @return the overhead report
+   */
+  public static synchronized OverheadReport report() {
+    recorders.forEach(
+        (phase, recorder) ->
+            accumulated
+                .computeIfAbsent(phase, key -> new Histogram(SIGNIFICANT_DIGITS))
+                .add(recorder.getIntervalHistogram()));
+
+    long requestCount = requests.sum();
+    long frameworkNanos = 0;
+    long httpNanos = 0;
+    Map<String, PhaseStatistics> phases = new LinkedHashMap<>();
+    List<Map.Entry<String, Histogram>> entries = new ArrayList<>(accumulated.entrySet());
+    entries.sort(
+        Comparator.comparingDouble((Map.Entry<String, Histogram> entry) -> total(entry.getValue()))
+            .reversed());
+    for (Map.Entry<String, Histogram> entry : entries) {
+      Histogram histogram = entry.getValue();
+      long totalNanos = (long) total(histogram);
+      if (entry.getKey().equals(HTTP)) {
+        httpNanos += totalNanos;
+      } else {
+        frameworkNanos += totalNanos;
+      }
+      phases.put(
+          entry.getKey(),
+          new PhaseStatistics(
+              histogram.getTotalCount(),
+              totalNanos / 1e6,
+              histogram.getMean() / 1e3,
+              histogram.getValueAtPercentile(50) / 1e3,
+              histogram.getValueAtPercentile(99) / 1e3,
+              histogram.getMaxValue() / 1e3,
+              perRequestMicros(totalNanos, requestCount)));
+    }
+    long totalNanos = frameworkNanos + httpNanos;
+    return new OverheadReport(
+        requestCount,
+        perRequestMicros(frameworkNanos, requestCount),
+        perRequestMicros(httpNanos, requestCount),
+        totalNanos == 0 ? 0 : frameworkNanos * 100.0 / totalNanos,
+        phases);
+  }
+
+  /** Discards the phase timings and request count recorded so far, at the start of a run. */
+  public static synchronized void reset() {
+    recorders.values().forEach(Recorder::reset);
+    accumulated.clear();
+    requests.reset();
+  }
+
+  /**
+   * Writes the overhead report as JSON.
+   *
+   * @param file the report file
+   */
+  public static void writeReport(Path file) {
+    OverheadReport report = report();
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.writeString(file, JsonUtils.toJson(report));
+      logger.info(
+          "Framework overhead: {}us per request over {} requests ({}% of profiled time), report"
+              + " generated successfully: {}",
+          String.format("%.1f", report.frameworkMicrosPerRequest()),
+          report.requests(),
+          String.format("%.1f", report.frameworkSharePercent()),
+          file);
+    } catch (IOException e) {
+      logger.error("Failed to write framework overhead report: ", e);
+    }
+  }
+
+  private static double total(Histogram histogram) {
+    return histogram.getMean() * histogram.getTotalCount();
+  }
+
+  private static double perRequestMicros(long nanos, long requestCount) {
+    return requestCount == 0 ? 0 : nanos / 1e3 / requestCount;
+  }
+
+  /**
+   * Records the time spent in a filter, excluding the rest of the chain. Sets the checkpoint when
+   * the response is handed back, so the assertion phases are measured from there.
+   */
+  private static final class ProfiledFilter implements Filter {
+
+    private final String phase;
+    private final Filter delegate;
+
+    private ProfiledFilter(String phase, Filter delegate) {
+      this.phase = phase;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Response filter(
+        FilterableRequestSpecification requestSpec,
+        FilterableResponseSpecification responseSpec,
+        FilterContext filterContext) {
+      DownstreamTimingContext context = new DownstreamTimingContext(filterContext);
+      long start = System.nanoTime();
+      try {
+        return delegate.filter(requestSpec, responseSpec, context);
+      } finally {
+        long end = System.nanoTime();
+        record(phase, end - start - context.downstreamNanos);
+        checkpoint.get()[0] = end;
+      }
+    }
+  }
+
+  /** Innermost filter that records the HTTP exchange and counts requests. */
+  private static final class HttpProbe implements Filter {
+
+    @Override
+    public Response filter(
+        FilterableRequestSpecification requestSpec,
+        FilterableResponseSpecification responseSpec,
+        FilterContext filterContext) {
+      long start = System.nanoTime();
+      try {
+        return filterContext.next(requestSpec, responseSpec);
+      } finally {
+        record(HTTP, System.nanoTime() - start);
+        requests.increment();
+      }
+    }
+  }
+
+  /** Filter context that measures the time spent in the rest of the chain. */
+  private static final class DownstreamTimingContext implements FilterContext {
+
+    private final FilterContext delegate;
+    private long downstreamNanos;
+
+    private DownstreamTimingContext(FilterContext delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Response next(
+        FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec) {
+      long start = System.nanoTime();
+      try {
+        return delegate.next(requestSpec, responseSpec);
+      } finally {
+        downstreamNanos += System.nanoTime() - start;
+      }
+    }
+
+    @Override
+    public void setValue(String name, Object value) {
+      delegate.setValue(name, value);
+    }
+
+    @Override
+    public <T> T getValue(String name) {
+      return delegate.getValue(name);
+    }
+
+    @Override
+    public boolean hasValue(String name) {
+      return delegate.hasValue(name);
+    }
+
+    @Override
+    public boolean hasValue(String name, Object value) {
+      return delegate.hasValue(name, value);
+    }
+
+    @Override
+    public Response send(RequestSender requestSender) {
+      return delegate.send(requestSender);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package utils.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The client-side CPU time and heap allocation of one test invocation, measured with the thread
+ * MXBean, so that tests that are expensive for the client, such as GPath over large responses,
+ * stand out in the results report.
+ *
+ * <p>The usage is started on the test thread and covers it until {@link #stop()}. Work the test
+ * hands to other threads is attributed back to it with {@link #attribute}: on platform threads its
+ * CPU time and allocation are added, while on virtual threads, for which the JDK reports neither,
+ * only its elapsed time is added to the async time.
+ */
+public final class ResourceUsage {
+
+  private static final com.sun.management.ThreadMXBean threads = threadMXBean();
+
+  private static final ThreadLocal<ResourceUsage> current = new ThreadLocal<>();
+
+  private final Thread owner;
+  private final long startCpuNanos;
+  private final long startAllocatedBytes;
+  private final LongAdder cpuNanos = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final LongAdder asyncNanos = new LongAdder();
+  private volatile boolean stopped;
+
+  private ResourceUsage() {
+    this.owner = Thread.currentThread();
+    this.startCpuNanos = cpuTime();
+    this.startAllocatedBytes = allocatedBytes();
+  }
+
+  /**
+   * Starts measuring the current thread and makes the usage current on it.
+   *
+   * @return the usage, or null if the JVM measures neither CPU time nor allocation
+   */
+  public static ResourceUsage start() {
+    if (threads == null) {
+      return null;
+    }
+    ResourceUsage usage = new ResourceUsage();
+    current.set(usage);
+    return usage;
+  }
+
+  /**
+   * Returns the usage current on this thread, to hand to the threads doing work for it.
+   *
+   * @return the current usage, or null if there is none
+   */
+  public static ResourceUsage current() {
+    return current.get();
+  }
+
+  /**
+   * Runs a task on the current thread on behalf of a usage, adding what the task consumes to it.
+   *
+   * @param usage the usage to attribute the task to, or null to just run it
+   * @param task the task
+   * @param <T> the result type
+   * @return the result of the task
+   */
+  public static <T> T attribute(ResourceUsage usage, Supplier<T> task) {
+    if (usage == null || usage.owner == Thread.currentThread()) {
+      return task.get();
+    }
+    long start = System.nanoTime();
+    long cpu = cpuTime();
+    long allocated = allocatedBytes();
+    try {
+      return task.get();
+    } finally {
+      if (cpu >= 0) {
+        usage.cpuNanos.add(cpuTime() - cpu);
+      }
+      if (allocated >= 0) {
+        usage.allocatedBytes.add(allocatedBytes() - allocated);
+      }
+      usage.asyncNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Adds what the test thread consumed since the start and stops the usage. Must be called on the
+   * thread that started it; stopping more than once has no effect.
+   */
+  public void stop() {
+    if (stopped || Thread.currentThread() != owner) {
+      return;
+    }
+    stopped = true;
+    if (startCpuNanos >= 0) {
+      cpuNanos.add(cpuTime() - startCpuNanos);
+    }
+    if (startAllocatedBytes >= 0) {
+      allocatedBytes.add(allocatedBytes() - startAllocatedBytes);
+    }
+    if (current.get() == this) {
+      current.remove();
+    }
+  }
+
+  /**
+   * Returns the CPU time of the test thread and of the work attributed to it on platform threads.
+   *
+   * @return the CPU time in milliseconds, or null if the JVM does not measure it
+   */
+  public Long getCpuTimeInMs() {
+    return startCpuNanos < 0 ? null : TimeUnit.NANOSECONDS.toMillis(cpuNanos.sum());
+  }
+
+  /**
+   * Returns the heap allocated by the test thread and by the work attributed to it on platform
+   * threads.
+   *
+   * @return the allocated bytes, or null if the JVM does not measure them
+   */
+  public Long getAllocatedBytes() {
+    return startAllocatedBytes < 0 ? null : allocatedBytes.sum();
+  }
+
+  /**
+   * Returns the elapsed time of the work attributed to the test on other threads.
+   *
+   * @return the async time in milliseconds
+   */
+  public long getAsyncTimeInMs() {
+    return TimeUnit.NANOSECONDS.toMillis(asyncNanos.sum());
+  }
+
+  private static long cpuTime() {
+    return threads.isThreadCpuTimeEnabled() ? threads.getCurrentThreadCpuTime() : -1;
+  }
+
+  private static long allocatedBytes() {
+    return threads.isThreadAllocatedMemoryEnabled() ? threads.getCurrentThreadAllocatedBytes() : -1;
+  }
+
+  /** Returns the HotSpot thread MXBean with the measurements enabled, or null if unsupported. */
+  private static com.sun.management.ThreadMXBean threadMXBean() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)) {
+      return null;
+    }
+    if (bean.isCurrentThreadCpuTimeSupported() && !bean.isThreadCpuTimeEnabled()) {
+      bean.setThreadCpuTimeEnabled(true);
+    }
+    if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+      bean.setThreadAllocatedMemoryEnabled(true);
+    }
+    return bean.isThreadCpuTimeEnabled() || bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+  }
+}
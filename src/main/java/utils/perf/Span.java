@@ -0,0 +1,179 @@
+package utils.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A timed operation of the test run, started through {@link Tracer}. Ending a span hands it to the
+ * exporter; attributes and status must be set before that. Spans are ended with {@link #end()} or
+ * try-with-resources.
+ */
+public class Span implements AutoCloseable {
+
+  /** OTLP span kind of operations inside the test run. */
+  static final int KIND_INTERNAL = 1;
+
+  /** OTLP span kind of outgoing HTTP requests. */
+  static final int KIND_CLIENT = 3;
+
+  /** Span returned while tracing is disabled, on which every method is a no-op. */
+  public static final Span NOOP = new Span();
+
+  private final String name;
+  private final String traceId;
+  private final String spanId;
+  private final String parentSpanId;
+  private final int kind;
+  private final long startEpochNanos;
+  private final List<Object> attributes = new ArrayList<>();
+  private volatile long endEpochNanos;
+  private String errorMessage;
+  private boolean current;
+  private Span previous;
+
+  private Span() {
+    this.name = "noop";
+    this.traceId = null;
+    this.spanId = null;
+    this.parentSpanId = null;
+    this.kind = KIND_INTERNAL;
+    this.startEpochNanos = 0;
+  }
+
+  Span(String name, String traceId, Span parent, int kind) {
+    this.name = name;
+    this.traceId = traceId;
+    this.spanId = Tracer.newSpanId();
+    this.parentSpanId = parent == null ? null : parent.spanId;
+    this.kind = kind;
+    this.startEpochNanos = Tracer.nowEpochNanos();
+  }
+
+  /**
+   * Sets a string attribute.
+   *
+   * @param key the attribute key
+   * @param value the value, ignored if null
+   * @return this span
+   */
+  public Span setAttribute(String key, String value) {
+    if (this != NOOP && value != null) {
+      synchronized (attributes) {
+        attributes.add(key);
+        attributes.add(value);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Sets an integer attribute.
+   *
+   * @param key the attribute key
+   * @param value the value
+   * @return this span
+   */
+  public Span setAttribute(String key, long value) {
+    if (this != NOOP) {
+      synchronized (attributes) {
+        attributes.add(key);
+        attributes.add(value);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Marks the span as failed.
+   *
+   * @param message the error description
+   * @return this span
+   */
+  public Span setError(String message) {
+    if (this != NOOP) {
+      this.errorMessage = message == null ? "" : message;
+    }
+    return this;
+  }
+
+  /** Ends the span now. Ending a span more than once has no effect. */
+  public void end() {
+    end(Tracer.nowEpochNanos());
+  }
+
+  /**
+   * Ends the span at a given time, such as the end of its last child.
+   *
+   * @param epochNanos the end time in nanoseconds since the epoch
+   */
+  public synchronized void end(long epochNanos) {
+    if (this == NOOP || endEpochNanos != 0) {
+      return;
+    }
+    endEpochNanos = Math.max(epochNanos, startEpochNanos);
+    Tracer.ended(this);
+  }
+
+  /** Ends the span, for use with try-with-resources. */
+  @Override
+  public void close() {
+    end();
+  }
+
+  /**
+   * Returns the end time.
+   *
+   * @return the end time in nanoseconds since the epoch, or 0 if the span has not ended
+   */
+  public long getEndEpochNanos() {
+    return endEpochNanos;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  String getTraceId() {
+    return traceId;
+  }
+
+  String getSpanId() {
+    return spanId;
+  }
+
+  String getParentSpanId() {
+    return parentSpanId;
+  }
+
+  int getKind() {
+    return kind;
+  }
+
+  long getStartEpochNanos() {
+    return startEpochNanos;
+  }
+
+  String getErrorMessage() {
+    return errorMessage;
+  }
+
+  /** Returns the attributes as alternating keys and values. */
+  List<Object> getAttributes() {
+    synchronized (attributes) {
+      return new ArrayList<>(attributes);
+    }
+  }
+
+  void makeCurrent(Span previous) {
+    this.current = true;
+    this.previous = previous;
+  }
+
+  boolean isCurrent() {
+    return current;
+  }
+
+  Span getPrevious() {
+    return previous;
+  }
+}
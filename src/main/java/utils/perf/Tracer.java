@@ -0,0 +1,214 @@
+package utils.perf;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import utils.Config;
+
+/**
+ * Local tracing of the test run, so that the timeline of a slow run can be inspected afterwards.
+ * Enabled with {@code tracing.enabled}; when disabled every method returns {@link Span#NOOP} and
+ * costs nothing.
+ *
+ * <p>The run is a single trace rooted at the suite span. Each thread has a current span, which new
+ * spans are children of; a thread without one, such as a hedging or fan-out thread, attaches its
+ * spans to the suite. Ended spans are handed to an {@link OtlpJsonFileExporter}, which writes them
+ * in batches from a background thread as OTLP/JSON lines to {@code tracing.file}, a format that
+ * OpenTelemetry collectors and trace viewers can import without running a collector during the
+ * test.
+ */
+public class Tracer {
+
+  private static final boolean ENABLED = Config.get().getBoolean("tracing.enabled", false);
+
+  /** Wall clock time and monotonic time at class initialization, to timestamp spans in nanos. */
+  private static final long EPOCH_NANOS_AT_START =
+      TimeUnit.MILLISECONDS.toNanos(Instant.now().toEpochMilli());
+
+  private static final long NANO_TIME_AT_START = System.nanoTime();
+
+  private static final ThreadLocal<Span> current = new ThreadLocal<>();
+
+  private static volatile Span suiteSpan;
+
+  private static volatile OtlpJsonFileExporter exporter;
+
+  private Tracer() {}
+
+  /**
+   * Returns whether tracing is enabled.
+   *
+   * @return true if {@code tracing.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Starts the root span of the run and the exporter. Spans started on threads without a current
+   * span become its children.
+   *
+   * @param name the span name
+   * @return the suite span
+   */
+  public static synchronized Span startSuite(String name) {
+    if (!ENABLED) {
+      return Span.NOOP;
+    }
+    if (exporter == null) {
+      exporter =
+          new OtlpJsonFileExporter(
+              Path.of(Config.get().getString("tracing.file", "test-results/traces.jsonl")),
+              Config.get().getString("tracing.serviceName", "amadeus-rest-assured"),
+              Config.get().getInt("tracing.queueSize", 8192),
+              Config.get().getInt("tracing.batchSize", 512),
+              Config.get().getLong("tracing.flushIntervalMs", 1000));
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(Tracer::shutdown, "tracing-exporter-shutdown"));
+    }
+    suiteSpan = new Span(name, newTraceId(), null, Span.KIND_INTERNAL);
+    return suiteSpan;
+  }
+
+  /**
+   * Ends the suite span and writes every pending span.
+   *
+   * @param span the suite span
+   */
+  public static synchronized void endSuite(Span span) {
+    span.end();
+    if (span == suiteSpan) {
+      suiteSpan = null;
+    }
+    if (exporter != null) {
+      exporter.flush();
+    }
+  }
+
+  /**
+   * Starts a span as a child of the current thread's span and makes it current until it ends.
+   *
+   * @param name the span name
+   * @return the span, to be ended on the same thread
+   */
+  public static Span startSpan(String name) {
+    return ENABLED ? start(name, parentOf(current.get()), Span.KIND_INTERNAL, true) : Span.NOOP;
+  }
+
+  /**
+   * Starts a span as a child of a given span and makes it current until it ends.
+   *
+   * @param name the span name
+   * @param parent the parent span
+   * @return the span, to be ended on the same thread
+   */
+  public static Span startSpan(String name, Span parent) {
+    return ENABLED ? start(name, parentOf(parent), Span.KIND_INTERNAL, true) : Span.NOOP;
+  }
+
+  /**
+   * Starts a span for an outgoing request as a child of the current thread's span and makes it
+   * current until it ends.
+   *
+   * @param name the span name
+   * @return the span, to be ended on the same thread
+   */
+  public static Span startClientSpan(String name) {
+    return ENABLED ? start(name, parentOf(current.get()), Span.KIND_CLIENT, true) : Span.NOOP;
+  }
+
+  /**
+   * Starts a span that is not current on any thread, for work that outlives the calling scope, such
+   * as all the data iterations of a test method.
+   *
+   * @param name the span name
+   * @param parent the parent span, or null for the suite span
+   * @return the span, which may be ended on any thread
+   */
+  public static Span startDetachedSpan(String name, Span parent) {
+    return ENABLED ? start(name, parentOf(parent), Span.KIND_INTERNAL, false) : Span.NOOP;
+  }
+
+  /**
+   * Returns the current span of this thread.
+   *
+   * @return the current span, or null if there is none
+   */
+  public static Span current() {
+    return ENABLED ? current.get() : null;
+  }
+
+  /**
+   * Sets the current span of this thread, for example to continue a caller's trace on a worker
+   * thread.
+   *
+   * @param span the span, or null to clear it
+   */
+  public static void setCurrent(Span span) {
+    if (ENABLED) {
+      current.set(span);
+    }
+  }
+
+  /**
+   * Returns the current time in nanoseconds since the epoch, on the clock spans are timed with.
+   *
+   * @return the time in epoch nanoseconds
+   */
+  public static long nowEpochNanos() {
+    return EPOCH_NANOS_AT_START + (System.nanoTime() - NANO_TIME_AT_START);
+  }
+
+  /** Writes every pending span and stops the exporter. */
+  public static synchronized void shutdown() {
+    if (exporter != null) {
+      exporter.shutdown();
+    }
+  }
+
+  /** Called by {@link Span#end} on the thread that ends the span. */
+  static void ended(Span span) {
+    if (span.isCurrent() && current.get() == span) {
+      current.set(span.getPrevious());
+    }
+    OtlpJsonFileExporter spanExporter = exporter;
+    if (spanExporter != null) {
+      spanExporter.export(span);
+    }
+  }
+
+  private static Span parentOf(Span span) {
+    return span == null || span == Span.NOOP ? suiteSpan : span;
+  }
+
+  private static Span start(String name, Span parent, int kind, boolean makeCurrent) {
+    String traceId = parent == null ? newTraceId() : parent.getTraceId();
+    Span span = new Span(name, traceId, parent, kind);
+    if (makeCurrent) {
+      span.makeCurrent(current.get());
+      current.set(span);
+    }
+    return span;
+  }
+
+  /** Returns a random 16-byte trace id in lower case hex, as OTLP/JSON encodes it. */
+  private static String newTraceId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return hex(random.nextLong()) + hex(random.nextLong());
+  }
+
+  /**
+   * Returns a random 8-byte span id in lower case hex.
+   *
+   * @return the span id
+   */
+  static String newSpanId() {
+    return hex(ThreadLocalRandom.current().nextLong());
+  }
+
+  private static String hex(long value) {
+    String hex = Long.toHexString(value);
+    return "0".repeat(16 - hex.length()) + hex;
+  }
+}
@@ -0,0 +1,50 @@
+package utils.perf;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import utils.Endpoints;
+
+/**
+ * A Rest-Assured filter that records every request as a client span of the current test. It should
+ * be registered first, so that the span covers the whole filter chain as the test experiences it,
+ * including rate limit waits and hedges.
+ */
+public class TracingFilter implements Filter {
+
+  /**
+   * Sends the request inside a span named after its method and endpoint key.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    String endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+    Span span =
+        Tracer.startClientSpan(requestSpec.getMethod() + " " + endpoint)
+            .setAttribute("http.request.method", requestSpec.getMethod())
+            .setAttribute("url.full", requestSpec.getURI())
+            .setAttribute("endpoint", endpoint);
+    try {
+      Response response = filterContext.next(requestSpec, responseSpec);
+      span.setAttribute("http.response.status_code", response.getStatusCode());
+      if (response.getStatusCode() >= 500) {
+        span.setError(response.getStatusLine());
+      }
+      return response;
+    } catch (RuntimeException | Error e) {
+      span.setError(e.toString());
+      throw e;
+    } finally {
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package utils.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import utils.Config;
+
+/**
+ * Request quota of an endpoint, read from {@code rateLimit.<endpoint>.permitsPerSecond} and {@code
+ * rateLimit.<endpoint>.burst}, falling back to {@code rateLimit.permitsPerSecond} and {@code
+ * rateLimit.burst}.
+ *
+ * @param permitsPerSecond sustained number of requests per second
+ * @param burst number of requests that may be sent back to back after an idle period
+ */
+public record Quota(double permitsPerSecond, int burst) {
+
+  /**
+   * Reads the quota of an endpoint from the current configuration.
+   *
+   * @param endpoint the endpoint key
+   * @return the endpoint quota
+   */
+  public static Quota of(String endpoint) {
+    Config config = Config.get();
+    return new Quota(
+        config.getDouble(
+            "rateLimit." + endpoint + ".permitsPerSecond",
+            config.getDouble("rateLimit.permitsPerSecond", 10)),
+        config.getInt("rateLimit." + endpoint + ".burst", config.getInt("rateLimit.burst", 1)));
+  }
+
+  /**
+   * Returns the emission interval, the time between two requests at the sustained rate.
+   *
+   * @return interval in nanoseconds
+   */
+  public long intervalNanos() {
+    return (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+  }
+
+  /**
+   * Returns how far ahead of the sustained schedule a burst may run.
+   *
+   * @return tolerance in nanoseconds
+   */
+  public long toleranceNanos() {
+    return Math.max(0, burst - 1) * intervalNanos();
+  }
+}
@@ -0,0 +1,137 @@
+package utils.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Rate limit coordinator that hands out request slots to {@link SocketRateLimiter} clients over
+ * TCP, so that runners on several hosts sharing one Amadeus key draw from one budget per endpoint.
+ *
+ * <p>The protocol is one line per request: the client sends {@code RESERVE <endpoint>
+ * <permitsPerSecond> <burst>} and the coordinator answers with the number of nanoseconds until the
+ * reserved slot is due. The client sleeps on its side, so no connection is held while waiting and
+ * the answer does not depend on clock agreement between hosts. The first quota received for an
+ * endpoint is the one enforced.
+ *
+ * <p>Run it standalone with {@code java utils.ratelimit.RateLimitCoordinator <port>}, or use the
+ * embedded loopback instance started by {@code rateLimit.coordinator = embedded}, which stands in
+ * for a shared coordinator in local runs and tests.
+ */
+public class RateLimitCoordinator implements AutoCloseable {
+
+  private static final Logger logger = LogManager.getLogger(RateLimitCoordinator.class);
+
+  private static RateLimitCoordinator embedded;
+
+  private final ServerSocket serverSocket;
+  private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+  private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(quotas::get);
+
+  /**
+   * Starts a coordinator.
+   *
+   * @param address the address to listen on
+   * @throws IOException if the socket cannot be bound
+   */
+  public RateLimitCoordinator(InetSocketAddress address) throws IOException {
+    serverSocket = new ServerSocket();
+    serverSocket.bind(address);
+    Thread.ofVirtual().name("rate-limit-coordinator").start(this::acceptConnections);
+    logger.info("Rate limit coordinator listening on {}", serverSocket.getLocalSocketAddress());
+  }
+
+  /**
+   * Starts the shared in-process coordinator on a loopback port if it is not already running.
+   *
+   * @return the embedded coordinator
+   * @throws UncheckedIOException if the socket cannot be bound
+   */
+  public static synchronized RateLimitCoordinator startEmbedded() {
+    if (embedded == null) {
+      try {
+        embedded =
+            new RateLimitCoordinator(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to start embedded rate limit coordinator", e);
+      }
+    }
+    return embedded;
+  }
+
+  /**
+   * Returns the address clients connect to.
+   *
+   * @return {@code host:port} of the coordinator
+   */
+  public String getAddress() {
+    return serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+  }
+
+  /** Stops accepting connections. */
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        Thread.ofVirtual().name("rate-limit-client").start(() -> serve(socket));
+      } catch (SocketException e) {
+        return; // closed
+      } catch (IOException e) {
+        logger.error("Failed to accept rate limit client: ", e);
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket;
+        BufferedReader reader =
+            new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        PrintWriter writer =
+            new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+      socket.setTcpNoDelay(true);
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.trim().split(" ");
+        if (parts.length == 4 && parts[0].equals("RESERVE")) {
+          quotas.putIfAbsent(
+              parts[1], new Quota(Double.parseDouble(parts[2]), Integer.parseInt(parts[3])));
+          writer.println(limiter.reserve(parts[1]));
+        } else {
+          writer.println("ERROR unknown command: " + line);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Rate limit client disconnected: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Runs a standalone coordinator until the process is stopped.
+   *
+   * @param args the port to listen on, 7070 by default
+   * @throws Exception if the coordinator cannot be started
+   */
+  public static void main(String[] args) throws Exception {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+    new RateLimitCoordinator(new InetSocketAddress(port));
+    Thread.currentThread().join();
+  }
+}
@@ -0,0 +1,77 @@
+package utils.ratelimit;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+import utils.Endpoints;
+import utils.jfr.RateLimitWaitEvent;
+
+/**
+ * A Rest-Assured filter that throttles requests per endpoint key with a {@link RateLimiter}, so
+ * that tests running in parallel stay under the API quotas instead of failing with 429 responses.
+ * It should be registered as the first filter, so that the time spent waiting for a permit is not
+ * counted as request latency.
+ */
+public class RateLimitFilter implements Filter {
+
+  private static final Logger logger = LogManager.getLogger(RateLimitFilter.class);
+
+  private final RateLimiter rateLimiter;
+
+  /**
+   * Constructs a RateLimitFilter.
+   *
+   * @param rateLimiter the limiter to draw permits from
+   */
+  public RateLimitFilter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Returns whether client-side rate limiting is enabled.
+   *
+   * @return true if {@code rateLimit.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("rateLimit.enabled", false);
+  }
+
+  /**
+   * Waits for a permit of the request's endpoint before passing the request on.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    String endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+    RateLimitWaitEvent event = new RateLimitWaitEvent();
+    event.begin();
+    try {
+      long waited = rateLimiter.acquire(endpoint);
+      if (waited > 0) {
+        event.endpoint = endpoint;
+        event.commit();
+        logger.debug(
+            "Throttled {} for {}ms to stay under quota",
+            endpoint,
+            TimeUnit.NANOSECONDS.toMillis(waited));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a permit of " + endpoint, e);
+    }
+    return filterContext.next(requestSpec, responseSpec);
+  }
+}
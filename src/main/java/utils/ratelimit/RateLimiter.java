@@ -0,0 +1,62 @@
+package utils.ratelimit;
+
+import utils.Config;
+
+/**
+ * Client-side limiter that keeps the requests to each endpoint under its {@link Quota}.
+ * Implementations must be safe to call from many threads at once.
+ *
+ * <p>The backend is chosen with {@code rateLimit.backend}:
+ *
+ * <ul>
+ *   <li>{@code local} - {@link TokenBucketRateLimiter}, one budget per JVM
+ *   <li>{@code sharedFile} - {@link SharedFileRateLimiter}, one budget per host, shared by every
+ *       JVM that maps the same file (surefire forks, concurrent runners)
+ *   <li>{@code socket} - {@link SocketRateLimiter}, one budget per {@link RateLimitCoordinator},
+ *       which may serve runners on several hosts
+ * </ul>
+ */
+public interface RateLimiter {
+
+  /**
+   * Reserves the next slot of the endpoint without waiting for it.
+   *
+   * @param endpoint the endpoint key
+   * @return the time until the reserved slot is due in nanoseconds, 0 or less if it is due now
+   */
+  long reserve(String endpoint);
+
+  /**
+   * Blocks until a request to the endpoint is permitted.
+   *
+   * @param endpoint the endpoint key
+   * @return the time waited in nanoseconds
+   * @throws InterruptedException if interrupted while waiting
+   */
+  default long acquire(String endpoint) throws InterruptedException {
+    long wait = reserve(endpoint);
+    if (wait <= 0) {
+      return 0;
+    }
+    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+    return wait;
+  }
+
+  /**
+   * Creates the rate limiter selected by {@code rateLimit.backend}.
+   *
+   * @return the configured rate limiter
+   * @throws IllegalArgumentException if the backend is unknown
+   */
+  static RateLimiter fromConfig() {
+    Config config = Config.get();
+    String backend = config.getString("rateLimit.backend", "local");
+    return switch (backend) {
+      case "local" -> TokenBucketRateLimiter.withConfiguredQuotas();
+      case "sharedFile" -> SharedFileRateLimiter.open(config.getString("rateLimit.sharedFile", ""));
+      case "socket" ->
+          SocketRateLimiter.connect(config.getString("rateLimit.coordinator", "embedded"));
+      default -> throw new IllegalArgumentException("Unknown rate limit backend: " + backend);
+    };
+  }
+}
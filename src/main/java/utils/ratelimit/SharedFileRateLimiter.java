@@ -0,0 +1,149 @@
+package utils.ratelimit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Token bucket limiter whose state lives in a memory-mapped file, so that every JVM on the host
+ * that maps the same file draws from one budget per endpoint: surefire forks, parallel CI jobs and
+ * local runs sharing the same Amadeus key.
+ *
+ * <p>The file is a table of 64-byte slots, one cache line each. A slot holds the hash of an
+ * endpoint key and its theoretical arrival time (GCRA, as in {@link TokenBucketRateLimiter}) in
+ * nanoseconds since the epoch, since {@link System#nanoTime()} is not comparable across processes.
+ * Both words are updated with a {@link VarHandle} compare-and-set on the mapped buffer, which is
+ * atomic across processes on the same host, so no file lock is ever taken. Endpoints claim a slot
+ * by open addressing on first use.
+ */
+public class SharedFileRateLimiter implements RateLimiter {
+
+  private static final Logger logger = LogManager.getLogger(SharedFileRateLimiter.class);
+
+  /** Default state file, shared by every runner of the same user on the host. */
+  private static final String DEFAULT_FILE_NAME = "amadeus-api-rate-limit.state";
+
+  /** Size of a slot: one cache line, so that endpoints do not share lines. */
+  private static final int SLOT_BYTES = 64;
+
+  /** Number of endpoint slots in the file. */
+  private static final int SLOTS = 64;
+
+  /** Offset of the endpoint key hash in a slot. */
+  private static final int KEY_OFFSET = 0;
+
+  /** Offset of the theoretical arrival time in a slot. */
+  private static final int ARRIVAL_OFFSET = 8;
+
+  private static final VarHandle LONGS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private final MappedByteBuffer buffer;
+  private final Function<String, Quota> quotas;
+  private final Map<String, Integer> slotOffsets = new ConcurrentHashMap<>();
+  private final Map<String, Quota> endpointQuotas = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a SharedFileRateLimiter.
+   *
+   * @param file the state file, created if it does not exist
+   * @param quotas resolves the quota of an endpoint key; every process must use the same quotas
+   * @throws IOException if the file cannot be mapped
+   */
+  public SharedFileRateLimiter(Path file, Function<String, Quota> quotas) throws IOException {
+    this.quotas = quotas;
+    try (FileChannel channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // Mapping beyond the end grows the file with zeros, which is an empty table
+      this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) SLOT_BYTES * SLOTS);
+    }
+  }
+
+  /**
+   * Opens the shared limiter with the quotas from {@code config.properties}.
+   *
+   * @param file the state file, or empty for a file in the temporary directory
+   * @return the shared limiter
+   * @throws UncheckedIOException if the file cannot be mapped
+   */
+  public static SharedFileRateLimiter open(String file) {
+    Path path =
+        file.isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_FILE_NAME)
+            : Path.of(file);
+    try {
+      logger.info("Sharing rate limits through {}", path.toAbsolutePath());
+      return new SharedFileRateLimiter(path, Quota::of);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to map rate limit state file " + path, e);
+    }
+  }
+
+  /**
+   * Reserves the next slot of the endpoint by advancing its shared theoretical arrival time.
+   *
+   * @param endpoint the endpoint key
+   * @return the time until the reserved slot is due in nanoseconds
+   */
+  @Override
+  public long reserve(String endpoint) {
+    int offset = slotOffsets.computeIfAbsent(endpoint, this::claimSlot) + ARRIVAL_OFFSET;
+    Quota quota = endpointQuotas.computeIfAbsent(endpoint, quotas);
+    long interval = quota.intervalNanos();
+    long tolerance = quota.toleranceNanos();
+    while (true) {
+      long now = epochNanos();
+      long arrival = (long) LONGS.getVolatile(buffer, offset);
+      long start = Math.max(arrival, now);
+      if (LONGS.compareAndSet(buffer, offset, arrival, start + interval)) {
+        return start - tolerance - now;
+      }
+    }
+  }
+
+  /** Finds the slot of an endpoint, claiming a free one if no process has used it yet. */
+  private int claimSlot(String endpoint) {
+    long hash = hash(endpoint);
+    int start = (int) Math.floorMod(hash, (long) SLOTS);
+    for (int probe = 0; probe < SLOTS; probe++) {
+      int offset = ((start + probe) % SLOTS) * SLOT_BYTES;
+      long key = (long) LONGS.getVolatile(buffer, offset + KEY_OFFSET);
+      if (key == hash
+          || (key == 0 && LONGS.compareAndSet(buffer, offset + KEY_OFFSET, 0L, hash))
+          || (long) LONGS.getVolatile(buffer, offset + KEY_OFFSET) == hash) {
+        return offset;
+      }
+    }
+    throw new IllegalStateException("No free rate limit slot for endpoint " + endpoint);
+  }
+
+  /** 64-bit FNV-1a hash of the endpoint key, never 0 since 0 marks a free slot. */
+  private static long hash(String endpoint) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : endpoint.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash == 0 ? 1 : hash;
+  }
+
+  private static long epochNanos() {
+    Instant now = Instant.now();
+    return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+  }
+}
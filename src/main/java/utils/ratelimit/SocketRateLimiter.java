@@ -0,0 +1,123 @@
+package utils.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Client of a {@link RateLimitCoordinator}: every reservation is a round trip to the coordinator,
+ * so that all runners connected to it share one budget per endpoint. If the coordinator cannot be
+ * reached, the limiter falls back to an in-process {@link TokenBucketRateLimiter} rather than
+ * failing the run.
+ */
+public class SocketRateLimiter implements RateLimiter {
+
+  private static final Logger logger = LogManager.getLogger(SocketRateLimiter.class);
+
+  /** Timeout for connecting to and reading from the coordinator. */
+  private static final int TIMEOUT_MS = 5000;
+
+  private final String host;
+  private final int port;
+  private final Function<String, Quota> quotas;
+  private final RateLimiter fallback;
+
+  private Socket socket;
+  private BufferedReader reader;
+  private PrintWriter writer;
+
+  /**
+   * Constructs a SocketRateLimiter.
+   *
+   * @param host the coordinator host
+   * @param port the coordinator port
+   * @param quotas resolves the quota of an endpoint key, sent along with each reservation
+   */
+  public SocketRateLimiter(String host, int port, Function<String, Quota> quotas) {
+    this.host = host;
+    this.port = port;
+    this.quotas = quotas;
+    this.fallback = new TokenBucketRateLimiter(quotas);
+  }
+
+  /**
+   * Connects to the configured coordinator with the quotas from {@code config.properties}.
+   *
+   * @param coordinator {@code host:port} of the coordinator, or {@code embedded} to start one in
+   *     this JVM
+   * @return the socket limiter
+   */
+  public static SocketRateLimiter connect(String coordinator) {
+    String address =
+        coordinator.equals("embedded")
+            ? RateLimitCoordinator.startEmbedded().getAddress()
+            : coordinator;
+    int separator = address.lastIndexOf(':');
+    return new SocketRateLimiter(
+        address.substring(0, separator),
+        Integer.parseInt(address.substring(separator + 1)),
+        Quota::of);
+  }
+
+  /**
+   * Reserves the next slot of the endpoint at the coordinator.
+   *
+   * @param endpoint the endpoint key
+   * @return the time until the reserved slot is due in nanoseconds
+   */
+  @Override
+  public long reserve(String endpoint) {
+    Quota quota = quotas.apply(endpoint);
+    String request = "RESERVE " + endpoint + " " + quota.permitsPerSecond() + " " + quota.burst();
+    synchronized (this) {
+      // One retry on a fresh connection, in case the coordinator was restarted
+      for (int attempt = 1; attempt <= 2; attempt++) {
+        try {
+          if (socket == null) {
+            open();
+          }
+          writer.println(request);
+          String response = reader.readLine();
+          if (response == null) {
+            throw new IOException("Coordinator closed the connection");
+          }
+          return Long.parseLong(response.trim());
+        } catch (IOException | NumberFormatException e) {
+          logger.warn("Rate limit coordinator {}:{} failed: {}", host, port, e.getMessage());
+          closeQuietly();
+        }
+      }
+    }
+    logger.warn("Falling back to the in-process rate limit for {}", endpoint);
+    return fallback.reserve(endpoint);
+  }
+
+  private void open() throws IOException {
+    socket = new Socket();
+    socket.connect(new InetSocketAddress(host, port), TIMEOUT_MS);
+    socket.setSoTimeout(TIMEOUT_MS);
+    socket.setTcpNoDelay(true);
+    reader =
+        new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+    writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+  }
+
+  private void closeQuietly() {
+    try {
+      if (socket != null) {
+        socket.close();
+      }
+    } catch (IOException e) {
+      logger.debug("Failed to close coordinator connection: {}", e.getMessage());
+    }
+    socket = null;
+  }
+}
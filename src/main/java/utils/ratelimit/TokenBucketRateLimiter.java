@@ -0,0 +1,95 @@
+package utils.ratelimit;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import utils.Config;
+
+/**
+ * In-process token bucket limiter, implemented as the equivalent generic cell rate algorithm
+ * (GCRA): the state of each endpoint is a single theoretical arrival time that is advanced by one
+ * emission interval per request with a compare-and-set, so no lock is held while waiting.
+ *
+ * <p>A request that finds the theoretical arrival time more than the burst tolerance ahead of now
+ * reserves its slot and sleeps until the slot is due (see {@link RateLimiter#acquire(String)}),
+ * which spreads concurrent callers evenly over the quota instead of letting them retry in a busy
+ * loop.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+  /**
+   * Limiters using the quotas from the configuration, held weakly so that a limiter replaced by a
+   * later suite is collected.
+   */
+  private static final Set<TokenBucketRateLimiter> configured =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  static {
+    Config.onReload(
+        config -> {
+          synchronized (configured) {
+            configured.forEach(TokenBucketRateLimiter::refreshQuotas);
+          }
+        });
+  }
+
+  private final Function<String, Quota> quotas;
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  /** Theoretical arrival time of an endpoint together with its quota. */
+  private record Bucket(Quota quota, AtomicLong theoreticalArrival) {}
+
+  /**
+   * Constructs a TokenBucketRateLimiter.
+   *
+   * @param quotas resolves the quota of an endpoint key
+   */
+  public TokenBucketRateLimiter(Function<String, Quota> quotas) {
+    this.quotas = quotas;
+  }
+
+  /**
+   * Creates a TokenBucketRateLimiter using the quotas from the configuration, which are updated
+   * when it is reloaded without resetting the schedule of each endpoint.
+   *
+   * @return the limiter
+   */
+  public static TokenBucketRateLimiter withConfiguredQuotas() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(Quota::of);
+    configured.add(limiter);
+    return limiter;
+  }
+
+  /**
+   * Reserves the next slot of the endpoint by advancing its theoretical arrival time.
+   *
+   * @param endpoint the endpoint key
+   * @return the time until the reserved slot is due in nanoseconds
+   */
+  @Override
+  public long reserve(String endpoint) {
+    Bucket bucket =
+        buckets.computeIfAbsent(
+            endpoint, key -> new Bucket(quotas.apply(key), new AtomicLong(System.nanoTime())));
+    long interval = bucket.quota().intervalNanos();
+    long tolerance = bucket.quota().toleranceNanos();
+    while (true) {
+      long now = System.nanoTime();
+      long arrival = bucket.theoreticalArrival().get();
+      long start = Math.max(arrival, now);
+      if (bucket.theoreticalArrival().compareAndSet(arrival, start + interval)) {
+        return start - tolerance - now;
+      }
+    }
+  }
+
+  /** Resolves the quota of every endpoint again, keeping its theoretical arrival time. */
+  private void refreshQuotas() {
+    buckets.replaceAll(
+        (endpoint, bucket) -> new Bucket(quotas.apply(endpoint), bucket.theoreticalArrival()));
+  }
+}
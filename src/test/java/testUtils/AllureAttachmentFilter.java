@@ -0,0 +1,71 @@
+package testUtils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * A Rest-Assured filter that hands every request and response to {@link AllureAttachments}, which
+ * attaches them to the Allure results within size bounds, deduplicated and written in the
+ * background. Authorization header values and client secrets are masked. Of the response headers,
+ * only the content type is attached: the others carry per-response values, such as the date and
+ * request IDs, which would make every response unique and defeat the deduplication.
+ */
+public class AllureAttachmentFilter implements Filter {
+
+  /**
+   * Sends the request and adds the request and response attachments.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    StringBuilder requestHead =
+        new StringBuilder(requestSpec.getMethod()).append(' ').append(requestSpec.getURI());
+    appendHeaders(requestHead, requestSpec.getHeaders());
+    for (Map.Entry<String, String> param : requestSpec.getFormParams().entrySet()) {
+      requestHead.append('\n').append(param.getKey()).append('=');
+      requestHead.append(isSecret(param.getKey()) ? "***" : param.getValue());
+    }
+    AllureAttachments.add(
+        "Request: " + requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath(),
+        requestHead.toString(),
+        requestBody(requestSpec.getBody()));
+
+    Response response = filterContext.next(requestSpec, responseSpec);
+
+    String responseHead = response.getStatusLine() + "\nContent-Type: " + response.getContentType();
+    AllureAttachments.add(response.getStatusLine(), responseHead, response.getBody().asByteArray());
+    return response;
+  }
+
+  private static void appendHeaders(StringBuilder head, Headers headers) {
+    for (Header header : headers) {
+      head.append('\n').append(header.getName()).append(": ");
+      head.append(isSecret(header.getName()) ? "***" : header.getValue());
+    }
+  }
+
+  private static boolean isSecret(String name) {
+    return name.equalsIgnoreCase("Authorization") || name.equalsIgnoreCase("client_secret");
+  }
+
+  private static byte[] requestBody(Object body) {
+    if (body == null) {
+      return new byte[0];
+    }
+    return body instanceof byte[] bytes ? bytes : body.toString().getBytes(StandardCharsets.UTF_8);
+  }
+}
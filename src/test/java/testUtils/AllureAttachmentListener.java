@@ -0,0 +1,37 @@
+package testUtils;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * TestNG listener that delimits the tests whose HTTP exchanges {@link AllureAttachments} holds
+ * back, and attaches them once the outcome of the iteration is known.
+ */
+public class AllureAttachmentListener implements ITestListener, IInvokedMethodListener {
+
+  /**
+   * Starts holding back the attachments of a test invocation.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestStart(ITestResult result) {
+    AllureAttachments.beginTest();
+  }
+
+  /**
+   * Attaches the exchanges of a test invocation after it returns, while its report entry is still
+   * open, with full bodies if it failed or is to be retried.
+   *
+   * @param method the invoked method
+   * @param result the test result
+   */
+  @Override
+  public void afterInvocation(IInvokedMethod method, ITestResult result) {
+    if (method.isTestMethod()) {
+      AllureAttachments.endTest(result.getStatus() != ITestResult.SUCCESS);
+    }
+  }
+}
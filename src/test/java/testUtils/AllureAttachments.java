@@ -0,0 +1,282 @@
+package testUtils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+
+/**
+ * Attaches HTTP exchanges to the Allure results within fixed bounds, in place of attaching every
+ * full request and response as they happen:
+ *
+ * <ul>
+ *   <li>the attachments of a test are held until it ends; a passing iteration keeps the first
+ *       {@code allure.attachment.passedBodyBytes} of each body, and a failed or retried one the
+ *       first {@code allure.attachment.maxBodyBytes}
+ *   <li>identical attachments, such as the same error body across data iterations, are written once
+ *       and referenced by every test that has them
+ *   <li>attachments above {@code allure.attachment.compressAboveBytes} are written gzip compressed
+ *   <li>files are written by a background thread, so the test thread only hashes and queues them
+ * </ul>
+ *
+ * <p>Requests sent outside a test, such as the token request of a method setup, are attached to the
+ * running fixture straight away with the passing bound.
+ */
+public class AllureAttachments {
+
+  private static final Logger logger = LogManager.getLogger(AllureAttachments.class);
+
+  private static final int MAX_BODY_BYTES =
+      Config.get().getInt("allure.attachment.maxBodyBytes", 1048576);
+
+  private static final int PASSED_BODY_BYTES =
+      Config.get().getInt("allure.attachment.passedBodyBytes", 4096);
+
+  private static final int COMPRESS_ABOVE_BYTES =
+      Config.get().getInt("allure.attachment.compressAboveBytes", 16384);
+
+  /** Time given to the writer to finish the queued attachments at the end of the suite. */
+  private static final long WRITE_TIMEOUT_SECONDS = 60;
+
+  /** An exchange part to attach: its name, its head (start line and headers) and its body. */
+  private record Part(String name, String head, byte[] body) {}
+
+  /** A written attachment file, by the hash of its content. */
+  private record Source(String source, String type) {}
+
+  private static final ThreadLocal<List<Part>> pendingParts = new ThreadLocal<>();
+
+  private static final ThreadLocal<MessageDigest> digests =
+      ThreadLocal.withInitial(AllureAttachments::newDigest);
+
+  private static final Map<String, Source> sources = new ConcurrentHashMap<>();
+
+  /**
+   * Single writer thread, which stops when idle; when it falls far behind, test threads write their
+   * own attachments.
+   */
+  private static final ThreadPoolExecutor writer =
+      new ThreadPoolExecutor(
+          1,
+          1,
+          30,
+          TimeUnit.SECONDS,
+          new ArrayBlockingQueue<>(1024),
+          runnable -> {
+            Thread thread = new Thread(runnable, "allure-attachment-writer");
+            thread.setDaemon(true);
+            return thread;
+          },
+          new ThreadPoolExecutor.CallerRunsPolicy());
+
+  static {
+    writer.allowCoreThreadTimeOut(true);
+  }
+
+  private static final LongAdder written = new LongAdder();
+  private static final LongAdder writtenBytes = new LongAdder();
+  private static final LongAdder compressed = new LongAdder();
+  private static final LongAdder deduplicated = new LongAdder();
+  private static final LongAdder truncated = new LongAdder();
+
+  private AllureAttachments() {}
+
+  /** Starts holding back the attachments of the test running on the current thread. */
+  static void beginTest() {
+    pendingParts.set(new ArrayList<>());
+  }
+
+  /**
+   * Attaches the parts held back for the current thread's test, while it is still running.
+   *
+   * @param fullBodies true for a failed or retried iteration, to keep bodies up to the larger bound
+   */
+  static void endTest(boolean fullBodies) {
+    List<Part> parts = pendingParts.get();
+    pendingParts.remove();
+    if (parts == null) {
+      return;
+    }
+    AllureLifecycle lifecycle = Allure.getLifecycle();
+    for (Part part : parts) {
+      attach(lifecycle, part, fullBodies ? MAX_BODY_BYTES : PASSED_BODY_BYTES, true);
+    }
+  }
+
+  /**
+   * Adds an exchange part to the current thread's test, or attaches it now outside a test.
+   *
+   * @param name the attachment name
+   * @param head the start line and headers
+   * @param body the body, possibly empty
+   */
+  static void add(String name, String head, byte[] body) {
+    List<Part> parts = pendingParts.get();
+    if (parts != null) {
+      parts.add(new Part(name, head, body));
+      return;
+    }
+    AllureLifecycle lifecycle = Allure.getLifecycle();
+    if (lifecycle.getCurrentTestCaseOrStep().isPresent()) {
+      attach(lifecycle, new Part(name, head, body), PASSED_BODY_BYTES, false);
+    }
+  }
+
+  /** Waits for the queued attachments to be written and logs what the pipeline saved. */
+  public static void awaitWrites() {
+    try {
+      // The writer runs its tasks in order, so this one completes after every queued write
+      writer.submit(() -> {}).get(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      logger.warn("Timed out writing Allure attachments");
+    } catch (ExecutionException e) {
+      logger.error("Failed to write Allure attachments: ", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    logger.info(
+        "Allure attachments: {} file(s) written ({} bytes, {} compressed), {} deduplicated, {}"
+            + " truncated",
+        written.sum(),
+        writtenBytes.sum(),
+        compressed.sum(),
+        deduplicated.sum(),
+        truncated.sum());
+  }
+
+  /**
+   * Attaches a part cut to a body bound, referencing an identical earlier attachment if there is
+   * one. Deduplicated references are only added to test cases, whose attachments can be updated
+   * directly.
+   */
+  private static void attach(
+      AllureLifecycle lifecycle, Part part, int maxBodyBytes, boolean toTestCase) {
+    byte[] content = render(part, maxBodyBytes);
+    String hash = hash(content);
+    Source existing = toTestCase ? sources.get(hash) : null;
+    if (existing != null) {
+      deduplicated.increment();
+      lifecycle.updateTestCase(
+          testResult ->
+              testResult
+                  .getAttachments()
+                  .add(
+                      new Attachment()
+                          .setName(part.name())
+                          .setType(existing.type())
+                          .setSource(existing.source())));
+      return;
+    }
+    boolean compress = content.length > COMPRESS_ABOVE_BYTES;
+    String type = compress ? "application/gzip" : "text/plain";
+    String source;
+    if (toTestCase) {
+      source = UUID.randomUUID() + "-attachment" + (compress ? ".txt.gz" : ".txt");
+      Source registered = sources.putIfAbsent(hash, new Source(source, type));
+      if (registered != null) {
+        deduplicated.increment();
+        source = registered.source();
+        type = registered.type();
+        compress = false;
+        content = null;
+      }
+      String attachedSource = source;
+      String attachedType = type;
+      lifecycle.updateTestCase(
+          testResult ->
+              testResult
+                  .getAttachments()
+                  .add(
+                      new Attachment()
+                          .setName(part.name())
+                          .setType(attachedType)
+                          .setSource(attachedSource)));
+    } else {
+      source = lifecycle.prepareAttachment(part.name(), type, compress ? ".txt.gz" : ".txt");
+    }
+    if (content != null) {
+      write(lifecycle, source, content, compress);
+    }
+  }
+
+  private static void write(
+      AllureLifecycle lifecycle, String source, byte[] content, boolean compress) {
+    writer.execute(
+        () -> {
+          try {
+            byte[] bytes = compress ? gzip(content) : content;
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+            written.increment();
+            writtenBytes.add(bytes.length);
+            if (compress) {
+              compressed.increment();
+            }
+          } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write Allure attachment {}: ", source, e);
+          }
+        });
+  }
+
+  /** Returns the head and the body, cut to the bound with a note of how much was left out. */
+  private static byte[] render(Part part, int maxBodyBytes) {
+    byte[] head = part.head().getBytes(StandardCharsets.UTF_8);
+    int bodyLength = Math.min(part.body().length, maxBodyBytes);
+    byte[] note =
+        bodyLength < part.body().length
+            ? ("\n... " + (part.body().length - bodyLength) + " more byte(s) not attached")
+                .getBytes(StandardCharsets.UTF_8)
+            : new byte[0];
+    if (note.length > 0) {
+      truncated.increment();
+    }
+    byte[] content = new byte[head.length + 1 + bodyLength + note.length];
+    System.arraycopy(head, 0, content, 0, head.length);
+    content[head.length] = '\n';
+    System.arraycopy(part.body(), 0, content, head.length + 1, bodyLength);
+    System.arraycopy(note, 0, content, head.length + 1 + bodyLength, note.length);
+    return content;
+  }
+
+  private static String hash(byte[] content) {
+    MessageDigest digest = digests.get();
+    digest.reset();
+    return HexFormat.of().formatHex(digest.digest(content));
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    }
+    return out.toByteArray();
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -8,12 +8,15 @@ import org.testng.annotations.ITestAnnotation;
 
 /**
  * TestNG annotation transformer that automatically assigns a retry analyzer to test methods. This
- * enables automatic retry of failed tests based on custom logic in {@link RetryAnalyzer}.
+ * enables automatic retry of failed tests based on custom logic in {@link RetryAnalyzer}. It also
+ * registers the response time budgets declared with {@link ResponseTime} on test methods or their
+ * classes, which are enforced by {@link ResponseTimeSlaFilter}.
  */
 public class AnnotationTransformer implements IAnnotationTransformer {
 
   /**
-   * Transforms the test annotation to set a retry analyzer if not already present.
+   * Transforms the test annotation to set a retry analyzer if not already present, and registers
+   * the response time budget of the test method, if any.
    *
    * @param annotation the test annotation
    * @param testClass the test class
@@ -29,5 +32,15 @@ public class AnnotationTransformer implements IAnnotationTransformer {
         || retyAnalyzer.getName().equals("org.testng.internal.annotations.DisabledRetryAnalyzer")) {
       annotation.setRetryAnalyzer(RetryAnalyzer.class);
     }
+
+    if (testMethod != null) {
+      ResponseTime responseTime = testMethod.getAnnotation(ResponseTime.class);
+      if (responseTime == null) {
+        responseTime = testMethod.getDeclaringClass().getAnnotation(ResponseTime.class);
+      }
+      if (responseTime != null) {
+        ResponseTimeSlaFilter.register(testMethod, responseTime);
+      }
+    }
   }
 }
@@ -1,5 +1,6 @@
 package testUtils;
 
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
@@ -31,6 +32,31 @@ public class Assertion {
     assertWithLog(() -> Assert.assertEquals(actual, expected), message, actual, expected);
   }
 
+  /**
+   * Asserts that a document has no JSON schema violations and logs the result.
+   *
+   * @param violations the violations found by {@link JsonSchemaValidator}
+   * @param message the assertion message
+   */
+  public static void assertSchemaValid(List<String> violations, String message) {
+    assertNoViolations(violations, message);
+  }
+
+  /**
+   * Asserts that a check found no violations and logs the result.
+   *
+   * @param violations the violations found, such as by {@link StreamingInvariants}
+   * @param message the assertion message
+   */
+  public static void assertNoViolations(List<String> violations, String message) {
+    if (violations.isEmpty()) {
+      logger.info("Assertion Passed: '{}'", message);
+      return;
+    }
+    logger.error("Assertion Failed: '{}', violations={}", message, violations);
+    throw new AssertionError(message + ", violations: " + String.join("; ", violations));
+  }
+
   /**
    * Runs an assertion and logs the result (pass/fail) with a message.
    *
@@ -0,0 +1,97 @@
+package testUtils;
+
+import java.util.Arrays;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import utils.dashboard.DashboardServer;
+
+/**
+ * TestNG listener that publishes test starts and finishes to the live {@link DashboardServer}, when
+ * it is running.
+ */
+public class DashboardListener implements ITestListener {
+
+  /**
+   * Publishes the start of a test invocation.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestStart(ITestResult result) {
+    if (DashboardServer.isRunning()) {
+      Object[] params =
+          Arrays.stream(result.getParameters())
+              .filter(param -> param != null && !(param instanceof ITestContext))
+              .toArray();
+      publish(
+          "testStart",
+          result,
+          ",\"parameters\":"
+              + DashboardServer.quote(params.length > 0 ? Arrays.toString(params) : null));
+    }
+  }
+
+  /**
+   * Publishes a passed test invocation.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestSuccess(ITestResult result) {
+    finished(result, "passed");
+  }
+
+  /**
+   * Publishes a failed test invocation with its error.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestFailure(ITestResult result) {
+    finished(result, "failed");
+  }
+
+  /**
+   * Publishes a skipped or retried test invocation.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestSkipped(ITestResult result) {
+    finished(result, result.wasRetried() ? "retried" : "skipped");
+  }
+
+  private static void finished(ITestResult result, String status) {
+    if (DashboardServer.isRunning()) {
+      Throwable throwable = "failed".equals(status) ? result.getThrowable() : null;
+      publish(
+          "testFinish",
+          result,
+          ",\"status\":"
+              + DashboardServer.quote(status)
+              + ",\"durationMs\":"
+              + (result.getEndMillis() - result.getStartMillis())
+              + ",\"error\":"
+              + DashboardServer.quote(throwable == null ? null : throwable.toString()));
+    }
+  }
+
+  private static void publish(String type, ITestResult result, String fields) {
+    DashboardServer.publish(
+        type,
+        "{\"id\":"
+            + System.identityHashCode(result)
+            + ",\"test\":"
+            + DashboardServer.quote(
+                result.getMethod().getRealClass().getSimpleName()
+                    + "."
+                    + result.getMethod().getMethodName())
+            + ",\"thread\":"
+            + DashboardServer.quote(Thread.currentThread().getName())
+            + fields
+            + ",\"time\":"
+            + System.currentTimeMillis()
+            + "}");
+  }
+}
@@ -0,0 +1,142 @@
+package testUtils;
+
+import java.util.Arrays;
+
+/**
+ * An invariant over a stream of {@code double} values, such as prices.
+ *
+ * <pre>{@code
+ * StreamingInvariants.over(response)
+ *     .doubles("data.price.total", DoubleInvariant.ascending(), DoubleInvariant.atLeast(0))
+ *     .verify();
+ * }</pre>
+ */
+public abstract class DoubleInvariant extends PrimitiveInvariant {
+
+  private long index;
+
+  private DoubleInvariant(String description) {
+    super(description);
+  }
+
+  /**
+   * Checks the next value.
+   *
+   * @param value the value
+   */
+  public final void accept(double value) {
+    String violation = check(value);
+    if (violation != null) {
+      recordViolation(index, violation);
+    }
+    index++;
+  }
+
+  /**
+   * Checks a value.
+   *
+   * @param value the value
+   * @return the description of the violation, or null if the value satisfies the invariant
+   */
+  abstract String check(double value);
+
+  /**
+   * Values in non-decreasing order within each array.
+   *
+   * @return a new invariant
+   */
+  public static DoubleInvariant ascending() {
+    return new Ordered("ascending", 1);
+  }
+
+  /**
+   * Values in non-increasing order within each array.
+   *
+   * @return a new invariant
+   */
+  public static DoubleInvariant descending() {
+    return new Ordered("descending", -1);
+  }
+
+  /**
+   * Values greater than or equal to a bound.
+   *
+   * @param min the inclusive lower bound
+   * @return a new invariant
+   */
+  public static DoubleInvariant atLeast(double min) {
+    return between(min, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Values less than or equal to a bound.
+   *
+   * @param max the inclusive upper bound
+   * @return a new invariant
+   */
+  public static DoubleInvariant atMost(double max) {
+    return between(Double.NEGATIVE_INFINITY, max);
+  }
+
+  /**
+   * Values within inclusive bounds.
+   *
+   * @param min the inclusive lower bound
+   * @param max the inclusive upper bound
+   * @return a new invariant
+   */
+  public static DoubleInvariant between(double min, double max) {
+    return new DoubleInvariant("between " + min + " and " + max) {
+      @Override
+      String check(double value) {
+        return value >= min && value <= max ? null : String.valueOf(value);
+      }
+    };
+  }
+
+  /**
+   * Values from a set of allowed values.
+   *
+   * @param allowed the allowed values
+   * @return a new invariant
+   */
+  public static DoubleInvariant oneOf(double... allowed) {
+    double[] sorted = allowed.clone();
+    Arrays.sort(sorted);
+    return new DoubleInvariant("one of " + Arrays.toString(sorted)) {
+      @Override
+      String check(double value) {
+        return Arrays.binarySearch(sorted, value) >= 0 ? null : String.valueOf(value);
+      }
+    };
+  }
+
+  /** Compares each value with the previous one of the same array. */
+  private static final class Ordered extends DoubleInvariant {
+
+    private final int direction;
+    private boolean hasPrevious;
+    private double previous;
+
+    private Ordered(String description, int direction) {
+      super(description);
+      this.direction = direction;
+    }
+
+    @Override
+    String check(double value) {
+      String violation =
+          hasPrevious && Double.compare(value, previous) * direction < 0
+              ? value + " after " + previous
+              : null;
+      hasPrevious = true;
+      previous = value;
+      return violation;
+    }
+
+    @Override
+    protected void endGroup() {
+      hasPrevious = false;
+    }
+  }
+}
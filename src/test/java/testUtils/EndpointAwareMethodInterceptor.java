@@ -0,0 +1,106 @@
+package testUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import utils.Endpoints;
+
+/**
+ * TestNG method interceptor that orders test methods by priority and target endpoint.
+ *
+ * <p>The target endpoint of a test method is the endpoint key whose {@code config.properties} path
+ * is held in a static String field of its test class, such as {@code FLIGHT_OFFERS}. Methods of the
+ * {@code smoke} group run first; within each tier the methods are interleaved round-robin across
+ * endpoints, so that with {@code parallel="methods"} the threads spread over all endpoints instead
+ * of queueing on the quota of one. The per-endpoint throttling itself is done by {@link
+ * utils.ratelimit.RateLimitFilter}.
+ */
+public class EndpointAwareMethodInterceptor implements IMethodInterceptor {
+
+  private static final Logger logger = LogManager.getLogger(EndpointAwareMethodInterceptor.class);
+
+  /** Group whose methods are scheduled ahead of all others. */
+  private static final String PRIORITY_GROUP = "smoke";
+
+  /** Endpoint key used for methods whose target endpoint cannot be determined. */
+  private static final String UNKNOWN_ENDPOINT = "unknown";
+
+  /**
+   * Orders the methods smoke first, interleaved across endpoints.
+   *
+   * @param methods the methods TestNG is about to run
+   * @param context the test context
+   * @return the reordered methods
+   */
+  @Override
+  public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+    List<IMethodInstance> priority = new ArrayList<>();
+    List<IMethodInstance> others = new ArrayList<>();
+    for (IMethodInstance method : methods) {
+      boolean isPriority = Arrays.asList(method.getMethod().getGroups()).contains(PRIORITY_GROUP);
+      (isPriority ? priority : others).add(method);
+    }
+
+    List<IMethodInstance> ordered = new ArrayList<>(interleave(priority));
+    ordered.addAll(interleave(others));
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Scheduled methods of {}: {}",
+          context.getName(),
+          ordered.stream()
+              .map(method -> method.getMethod().getMethodName() + "@" + getEndpoint(method))
+              .toList());
+    }
+    return ordered;
+  }
+
+  /** Round-robins over the endpoints, keeping the original order within each endpoint. */
+  private static List<IMethodInstance> interleave(List<IMethodInstance> methods) {
+    Map<String, Deque<IMethodInstance>> byEndpoint = new LinkedHashMap<>();
+    for (IMethodInstance method : methods) {
+      byEndpoint.computeIfAbsent(getEndpoint(method), key -> new ArrayDeque<>()).add(method);
+    }
+    List<IMethodInstance> interleaved = new ArrayList<>();
+    while (interleaved.size() < methods.size()) {
+      for (Deque<IMethodInstance> queue : byEndpoint.values()) {
+        if (!queue.isEmpty()) {
+          interleaved.add(queue.poll());
+        }
+      }
+    }
+    return interleaved;
+  }
+
+  /** Finds the endpoint key referenced by a static String field of the method's class. */
+  private static String getEndpoint(IMethodInstance method) {
+    Class<?> testClass = method.getMethod().getRealClass();
+    for (Field field : testClass.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+        try {
+          field.setAccessible(true);
+          Object value = field.get(null);
+          for (Map.Entry<String, String> endpoint : Endpoints.all().entrySet()) {
+            if (Objects.equals(endpoint.getValue(), value)) {
+              return endpoint.getKey();
+            }
+          }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+          logger.debug("Cannot read {}: {}", field, e.getMessage());
+        }
+      }
+    }
+    return UNKNOWN_ENDPOINT;
+  }
+}
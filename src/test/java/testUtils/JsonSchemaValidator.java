@@ -0,0 +1,523 @@
+package testUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON Schema validator that compiles a schema once into a tree of validator nodes and checks
+ * documents in a single streaming pass over their bytes, without building a JSON tree of the
+ * document. Validation cost is linear in the size of the document.
+ *
+ * <p>Schemas are read from {@code schemas/<name>.json} on the classpath and cached. The supported
+ * keywords are the subset of JSON Schema used for response contracts: {@code type} (a name or a
+ * list of names), {@code properties}, {@code required}, {@code additionalProperties} (boolean or
+ * schema), {@code items}, {@code minItems}, {@code maxItems}, {@code enum} and {@code const} with
+ * scalar values, {@code minimum}, {@code maximum}, {@code minLength}, {@code maxLength}, {@code
+ * pattern} (matched anywhere in the value unless anchored) and {@code format: date}. Annotation
+ * keywords such as {@code $schema}, {@code title} and {@code description} are ignored; any other
+ * keyword is rejected when the schema is compiled, so that a schema never checks less than it
+ * appears to.
+ */
+public class JsonSchemaValidator {
+
+  /** Classpath directory of the schema files. */
+  private static final String SCHEMA_DIRECTORY = "schemas/";
+
+  /** Violations reported per document before validation stops collecting. */
+  private static final int MAX_VIOLATIONS = 20;
+
+  private static final JsonFactory jsonFactory = new JsonFactory();
+  private static final ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+
+  private static final Set<String> ANNOTATIONS =
+      Set.of("$schema", "$id", "$comment", "title", "description", "examples", "default");
+
+  /** Compiled validators by schema name, empty if there is no schema file. */
+  private static final Map<String, Optional<JsonSchemaValidator>> validators =
+      new ConcurrentHashMap<>();
+
+  private final String name;
+  private final Node root;
+  private final int patternCount;
+
+  private JsonSchemaValidator(String name, Node root, int patternCount) {
+    this.name = name;
+    this.root = root;
+    this.patternCount = patternCount;
+  }
+
+  /**
+   * Returns the validator of a schema, compiling it on first use.
+   *
+   * @param name the schema name, such as an endpoint key
+   * @return the validator, or empty if there is no {@code schemas/<name>.json}
+   */
+  public static Optional<JsonSchemaValidator> forSchema(String name) {
+    return validators.computeIfAbsent(name, JsonSchemaValidator::load);
+  }
+
+  /**
+   * Returns the schema name.
+   *
+   * @return the schema name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Validates a JSON document.
+   *
+   * @param json the document bytes
+   * @return the violations, each prefixed with the JSON path of the offending value; empty if the
+   *     document is valid
+   */
+  public List<String> validate(byte[] json) {
+    Validation validation = new Validation(patternCount);
+    try (JsonParser parser = jsonFactory.createParser(json)) {
+      if (parser.nextToken() == null) {
+        validation.report("Empty document");
+      } else {
+        validate(root, parser, validation);
+      }
+    } catch (JsonProcessingException e) {
+      validation.report("Malformed JSON: " + e.getOriginalMessage());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return validation.violations;
+  }
+
+  /** Validates the value at the parser's current token, leaving the parser on its last token. */
+  private static void validate(Node node, JsonParser parser, Validation validation)
+      throws IOException {
+    JsonToken token = parser.currentToken();
+    if (node.unconstrained) {
+      parser.skipChildren();
+      return;
+    }
+    switch (token) {
+      case START_OBJECT -> validateObject(node, parser, validation);
+      case START_ARRAY -> validateArray(node, parser, validation);
+      case VALUE_STRING -> validateString(node, parser, validation);
+      case VALUE_NUMBER_INT -> validateNumber(node, parser, Node.INTEGER, validation);
+      case VALUE_NUMBER_FLOAT -> validateNumber(node, parser, Node.NUMBER, validation);
+      case VALUE_TRUE, VALUE_FALSE -> {
+        if (checkType(node, Node.BOOLEAN, "boolean", validation)) {
+          checkEnum(node, token.asString(), validation);
+        }
+      }
+      case VALUE_NULL -> {
+        if (checkType(node, Node.NULL, "null", validation)) {
+          checkEnum(node, "null", validation);
+        }
+      }
+      default -> validation.report("Unexpected token " + token);
+    }
+  }
+
+  private static void validateObject(Node node, JsonParser parser, Validation validation)
+      throws IOException {
+    if (!checkType(node, Node.OBJECT, "object", validation)) {
+      parser.skipChildren();
+      return;
+    }
+    boolean[] seen = node.required.length == 0 ? null : new boolean[node.required.length];
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      Node child = node.properties.get(field);
+      if (child == null) {
+        child = node.additionalProperties;
+      } else if (child.requiredIndex >= 0 && seen != null) {
+        seen[child.requiredIndex] = true;
+      }
+      if (child != null) {
+        validation.push(field);
+        validate(child, parser, validation);
+        validation.pop();
+      } else if (node.noAdditionalProperties) {
+        validation.push(field);
+        validation.report("Unexpected property");
+        validation.pop();
+        parser.skipChildren();
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (seen != null) {
+      for (int i = 0; i < seen.length; i++) {
+        if (!seen[i]) {
+          validation.report("Missing required property '" + node.required[i] + "'");
+        }
+      }
+    }
+  }
+
+  private static void validateArray(Node node, JsonParser parser, Validation validation)
+      throws IOException {
+    if (!checkType(node, Node.ARRAY, "array", validation)) {
+      parser.skipChildren();
+      return;
+    }
+    int count = 0;
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      if (node.items == null) {
+        parser.skipChildren();
+      } else {
+        validation.push(count);
+        validate(node.items, parser, validation);
+        validation.pop();
+      }
+      count++;
+    }
+    if (count < node.minItems) {
+      validation.report("Expected at least " + node.minItems + " items, found " + count);
+    }
+    if (count > node.maxItems) {
+      validation.report("Expected at most " + node.maxItems + " items, found " + count);
+    }
+  }
+
+  private static void validateString(Node node, JsonParser parser, Validation validation)
+      throws IOException {
+    if (!checkType(node, Node.STRING, "string", validation) || !node.checksText) {
+      return;
+    }
+    // Patterns, lengths and dates are checked on the parser's buffer, without copying the value
+    CharSequence text =
+        CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    if (node.enumStrings != null && !node.enumStrings.contains(text.toString())) {
+      validation.report("Value '" + text + "' is not one of " + node.enumStrings);
+    }
+    if (text.length() < node.minLength) {
+      validation.report(
+          "Expected at least " + node.minLength + " characters, found " + text.length());
+    }
+    if (text.length() > node.maxLength) {
+      validation.report(
+          "Expected at most " + node.maxLength + " characters, found " + text.length());
+    }
+    if (node.pattern != null && !validation.matches(node, text)) {
+      validation.report("Value '" + text + "' does not match " + node.pattern.pattern());
+    }
+    if (node.dateFormat) {
+      try {
+        LocalDate.parse(text);
+      } catch (DateTimeParseException e) {
+        validation.report("Value '" + text + "' is not a date");
+      }
+    }
+  }
+
+  private static void validateNumber(Node node, JsonParser parser, int type, Validation validation)
+      throws IOException {
+    if (!checkType(node, type, type == Node.INTEGER ? "integer" : "number", validation)) {
+      return;
+    }
+    if (node.enumOthers != null) {
+      checkEnum(node, parser.getText(), validation);
+    }
+    if (node.minimum == null && node.maximum == null) {
+      return;
+    }
+    double value = parser.getDoubleValue();
+    if (node.minimum != null && value < node.minimum) {
+      validation.report("Value " + parser.getText() + " is less than " + format(node.minimum));
+    }
+    if (node.maximum != null && value > node.maximum) {
+      validation.report("Value " + parser.getText() + " is greater than " + format(node.maximum));
+    }
+  }
+
+  private static String format(double bound) {
+    return bound == Math.rint(bound) ? Long.toString((long) bound) : Double.toString(bound);
+  }
+
+  private static boolean checkType(Node node, int type, String typeName, Validation validation) {
+    // An integer is also a number
+    int accepted = type == Node.INTEGER ? Node.INTEGER | Node.NUMBER : type;
+    if ((node.types & accepted) == 0) {
+      validation.report("Expected " + node.typeNames() + ", found " + typeName);
+      return false;
+    }
+    return true;
+  }
+
+  private static void checkEnum(Node node, String text, Validation validation) {
+    if (node.enumOthers != null && !node.enumOthers.contains(text)) {
+      validation.report("Value " + text + " is not one of " + node.enumOthers);
+    }
+  }
+
+  private static Optional<JsonSchemaValidator> load(String name) {
+    String resource = SCHEMA_DIRECTORY + name + ".json";
+    try (InputStream inputStream =
+        JsonSchemaValidator.class.getClassLoader().getResourceAsStream(resource)) {
+      if (inputStream == null) {
+        return Optional.empty();
+      }
+      int[] patterns = new int[1];
+      Node root = compile(objectMapper.readTree(inputStream), resource, patterns);
+      return Optional.of(new JsonSchemaValidator(name, root, patterns[0]));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read JSON schema " + resource, e);
+    }
+  }
+
+  /** Compiles a schema object into a validator node. */
+  private static Node compile(JsonNode schema, String location, int[] patterns) {
+    Node node = new Node();
+    if (schema.isBoolean()) {
+      node.types = schema.asBoolean() ? Node.ANY : 0;
+      node.unconstrained = schema.asBoolean();
+      return node;
+    }
+    List<String> required = new ArrayList<>();
+    for (Map.Entry<String, JsonNode> field : schema.properties()) {
+      String keyword = field.getKey();
+      JsonNode value = field.getValue();
+      String at = location + "/" + keyword;
+      switch (keyword) {
+        case "type" -> {
+          node.types = 0;
+          if (value.isArray()) {
+            value.forEach(type -> node.types |= Node.type(type.asText(), at));
+          } else {
+            node.types = Node.type(value.asText(), at);
+          }
+        }
+        case "properties" ->
+            value
+                .properties()
+                .forEach(
+                    property ->
+                        node.properties.put(
+                            property.getKey(),
+                            compile(property.getValue(), at + "/" + property.getKey(), patterns)));
+        case "required" -> value.forEach(property -> required.add(property.asText()));
+        case "additionalProperties" -> {
+          if (value.isBoolean()) {
+            node.noAdditionalProperties = !value.asBoolean();
+          } else {
+            node.additionalProperties = compile(value, at, patterns);
+          }
+        }
+        case "items" -> node.items = compile(value, at, patterns);
+        case "minItems" -> node.minItems = value.asInt();
+        case "maxItems" -> node.maxItems = value.asInt();
+        case "minLength" -> node.minLength = value.asInt();
+        case "maxLength" -> node.maxLength = value.asInt();
+        case "minimum" -> node.minimum = value.asDouble();
+        case "maximum" -> node.maximum = value.asDouble();
+        case "pattern" -> {
+          node.pattern = Pattern.compile(value.asText());
+          node.patternIndex = patterns[0]++;
+          node.anchoredPattern = value.asText().startsWith("^") && !value.asText().contains("|");
+        }
+        case "format" -> {
+          if (!value.asText().equals("date")) {
+            throw new IllegalArgumentException("Unsupported format at " + at + ": " + value);
+          }
+          node.dateFormat = true;
+        }
+        case "enum" -> value.forEach(option -> node.addEnum(option, at));
+        case "const" -> node.addEnum(value, at);
+        default -> {
+          if (!ANNOTATIONS.contains(keyword)) {
+            throw new IllegalArgumentException("Unsupported JSON schema keyword at " + at);
+          }
+        }
+      }
+    }
+    node.required = required.toArray(String[]::new);
+    for (int i = 0; i < node.required.length; i++) {
+      String property = node.required[i];
+      Node child = node.properties.get(property);
+      if (child == null) {
+        // Required but otherwise unconstrained
+        child = new Node();
+        child.unconstrained = true;
+        node.properties.put(property, child);
+      }
+      child.requiredIndex = i;
+    }
+    if (node.enumTypes != 0) {
+      // A value of a kind the enum does not list is rejected by its type
+      node.types &= node.enumTypes;
+    }
+    node.unconstrained = node.isUnconstrained();
+    node.checksText =
+        node.enumStrings != null
+            || node.minLength > 0
+            || node.maxLength < Integer.MAX_VALUE
+            || node.pattern != null
+            || node.dateFormat;
+    return node;
+  }
+
+  /** A compiled schema. Fields are only written while compiling. */
+  private static final class Node {
+    private static final int NULL = 1;
+    private static final int BOOLEAN = 1 << 1;
+    private static final int INTEGER = 1 << 2;
+    private static final int NUMBER = 1 << 3;
+    private static final int STRING = 1 << 4;
+    private static final int ARRAY = 1 << 5;
+    private static final int OBJECT = 1 << 6;
+    private static final int ANY = (1 << 7) - 1;
+    private static final String[] TYPE_NAMES = {
+      "null", "boolean", "integer", "number", "string", "array", "object"
+    };
+
+    private int types = ANY;
+    private final Map<String, Node> properties = new HashMap<>();
+    private String[] required = new String[0];
+    private int requiredIndex = -1;
+    private Node additionalProperties;
+    private boolean noAdditionalProperties;
+    private Node items;
+    private int minItems;
+    private int maxItems = Integer.MAX_VALUE;
+    private int minLength;
+    private int maxLength = Integer.MAX_VALUE;
+    private Double minimum;
+    private Double maximum;
+    private Pattern pattern;
+    private int patternIndex;
+    private boolean anchoredPattern;
+    private boolean checksText;
+    private boolean dateFormat;
+    private Set<String> enumStrings;
+    private Set<String> enumOthers;
+    private int enumTypes;
+    private boolean unconstrained;
+
+    private static int type(String name, String at) {
+      for (int i = 0; i < TYPE_NAMES.length; i++) {
+        if (TYPE_NAMES[i].equals(name)) {
+          return 1 << i;
+        }
+      }
+      throw new IllegalArgumentException("Unknown type at " + at + ": " + name);
+    }
+
+    private void addEnum(JsonNode value, String at) {
+      if (value.isContainerNode()) {
+        throw new IllegalArgumentException("Only scalar enum values are supported at " + at);
+      }
+      enumTypes |=
+          value.isTextual()
+              ? STRING
+              : value.isNumber() ? INTEGER | NUMBER : value.isBoolean() ? BOOLEAN : NULL;
+      if (value.isTextual()) {
+        enumStrings = enumStrings == null ? new HashSet<>() : enumStrings;
+        enumStrings.add(value.asText());
+      } else {
+        enumOthers = enumOthers == null ? new HashSet<>() : enumOthers;
+        enumOthers.add(value.toString());
+      }
+    }
+
+    /** Whether the node accepts any value, so that its subtree can be skipped. */
+    private boolean isUnconstrained() {
+      return types == ANY
+          && properties.isEmpty()
+          && required.length == 0
+          && additionalProperties == null
+          && !noAdditionalProperties
+          && items == null
+          && minItems == 0
+          && maxItems == Integer.MAX_VALUE
+          && minLength == 0
+          && maxLength == Integer.MAX_VALUE
+          && minimum == null
+          && maximum == null
+          && pattern == null
+          && !dateFormat
+          && enumStrings == null
+          && enumOthers == null;
+    }
+
+    private String typeNames() {
+      List<String> names = new ArrayList<>();
+      for (int i = 0; i < TYPE_NAMES.length; i++) {
+        if ((types & (1 << i)) != 0) {
+          names.add(TYPE_NAMES[i]);
+        }
+      }
+      return names.isEmpty() ? "no value" : String.join(" or ", names);
+    }
+  }
+
+  /** Violations of one document and the JSON path of the value being validated. */
+  private static final class Validation {
+    private final List<String> violations = new ArrayList<>();
+    private final Matcher[] matchers;
+    private Object[] path = new Object[16];
+    private int depth;
+
+    private Validation(int patternCount) {
+      this.matchers = new Matcher[patternCount];
+    }
+
+    /** Matches a value against the node's pattern, reusing one matcher per pattern. */
+    private boolean matches(Node node, CharSequence value) {
+      Matcher matcher = matchers[node.patternIndex];
+      if (matcher == null) {
+        matcher = node.pattern.matcher(value);
+        matchers[node.patternIndex] = matcher;
+      } else {
+        matcher.reset(value);
+      }
+      // An anchored pattern can only match at the start, so skip the search over every position
+      return node.anchoredPattern ? matcher.lookingAt() : matcher.find();
+    }
+
+    private void push(Object segment) {
+      if (depth == path.length) {
+        path = Arrays.copyOf(path, depth * 2);
+      }
+      path[depth++] = segment;
+    }
+
+    private void pop() {
+      depth--;
+    }
+
+    private void report(String message) {
+      if (violations.size() < MAX_VIOLATIONS) {
+        StringBuilder location = new StringBuilder("$");
+        for (int i = 0; i < depth; i++) {
+          if (path[i] instanceof Integer index) {
+            location.append('[').append(index).append(']');
+          } else {
+            location.append('.').append(path[i]);
+          }
+        }
+        violations.add(location.append(": ").append(message).toString());
+      }
+    }
+  }
+}
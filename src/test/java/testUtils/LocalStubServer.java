@@ -0,0 +1,368 @@
+package testUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import records.AirportQueriesWrapper;
+import records.AirportQueriesWrapper.AirportQuery;
+import utils.Config;
+import utils.JsonUtils;
+
+/**
+ * In-process HTTP stub of the Amadeus endpoints used by the test suite.
+ *
+ * <p>The stub answers the token, flight, airport, transfer, activity and hotel endpoints from
+ * {@code config.properties} with deterministic payloads that satisfy the contracts asserted by the
+ * tests, including the validation errors expected by the invalid flight offer queries. It has no
+ * network latency of its own (unless {@code localStub.latencyMs} is set), so runs against it
+ * measure the framework and are reproducible offline.
+ *
+ * <p>Enable it with {@code -DlocalStub.enabled=true}; {@code BaseTest} then points {@code
+ * RestAssured.baseURI} at the stub.
+ */
+public class LocalStubServer {
+
+  private static final Logger logger = LogManager.getLogger(LocalStubServer.class);
+
+  /** Location codes the stub treats as known, anything else is reported as unknown. */
+  private static final Set<String> KNOWN_LOCATION_CODES =
+      Set.of("BLR", "MAA", "DEL", "BOM", "HYD", "CCU", "MAD", "LON", "PAR", "NYC", "BCN");
+
+  private static LocalStubServer instance;
+
+  private final HttpServer server;
+  private final long latencyMs;
+  private final List<AirportQuery> airportQueries;
+
+  private LocalStubServer(int port, long latencyMs) throws IOException {
+    this.latencyMs = latencyMs;
+    AirportQueriesWrapper wrapper =
+        JsonUtils.fromJson("airport_locations_test_data.json", AirportQueriesWrapper.class, true);
+    this.airportQueries = wrapper == null ? List.of() : wrapper.airportQueries();
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/", this::handle);
+    server.start();
+    logger.info("Local stub server started at {}", getBaseUri());
+  }
+
+  /**
+   * Returns whether the suite should run against the local stub.
+   *
+   * @return true if {@code localStub.enabled} is set to true
+   */
+  public static boolean isEnabled() {
+    return Config.get().getBoolean("localStub.enabled", false);
+  }
+
+  /**
+   * Starts the shared stub server if it is not already running.
+   *
+   * @return the running stub server
+   */
+  public static synchronized LocalStubServer start() {
+    if (instance == null) {
+      try {
+        instance =
+            new LocalStubServer(
+                Config.get().getInt("localStub.port", 0),
+                Config.get().getLong("localStub.latencyMs", 0));
+        Runtime.getRuntime().addShutdownHook(new Thread(instance::stop));
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to start local stub server", e);
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the base URI of the running stub.
+   *
+   * @return base URI such as {@code http://127.0.0.1:54321}
+   */
+  public String getBaseUri() {
+    InetSocketAddress address = server.getAddress();
+    return "http://" + address.getHostString() + ":" + address.getPort();
+  }
+
+  /** Stops the stub server. */
+  public void stop() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (latencyMs > 0) {
+        Thread.sleep(latencyMs);
+      }
+      String path = exchange.getRequestURI().getPath();
+      Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+      String method = exchange.getRequestMethod();
+
+      if (method.equals("POST") && path.equals(endpoint("tokenURI"))) {
+        respond(exchange, 200, token());
+      } else if (method.equals("GET") && path.equals(endpoint("flightOffers"))) {
+        flightOffers(exchange, query);
+      } else if (method.equals("GET") && path.equals(endpoint("hotelsByCity"))) {
+        respond(exchange, 200, hotels(query.get("cityCode")));
+      } else if (method.equals("GET") && path.equals(endpoint("airportLocations"))) {
+        respond(exchange, 200, airportLocations(query.get("keyword"), query.get("countryCode")));
+      } else if (method.equals("GET") && path.equals(endpoint("flightDates"))) {
+        respond(exchange, 200, flightDates(query.get("origin"), query.get("destination")));
+      } else if (method.equals("POST") && path.equals(endpoint("transferOffers"))) {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        respond(exchange, 200, transferOffers(JsonUtils.jsonToMap(body)));
+      } else if (method.equals("GET") && path.equals(endpoint("activitiesSearch"))) {
+        respond(
+            exchange,
+            200,
+            Map.of("data", List.of(activity("STUB-1", 4.8), activity("STUB-2", 3.9))));
+      } else if (method.equals("GET") && path.startsWith(endpoint("activitiesSearch") + "/")) {
+        String id = path.substring(endpoint("activitiesSearch").length() + 1);
+        respond(exchange, 200, Map.of("data", activity(id, 4.8)));
+      } else {
+        respond(
+            exchange, 404, error(404, "RESOURCE NOT FOUND", "No stub for " + method + " " + path));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      logger.error("Local stub failed to handle request", e);
+      respond(exchange, 500, error(500, "INTERNAL ERROR", String.valueOf(e.getMessage())));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void flightOffers(HttpExchange exchange, Map<String, String> query) throws IOException {
+    String origin = query.get("originLocationCode");
+    String destination = query.get("destinationLocationCode");
+    String departureDate = query.get("departureDate");
+    String returnDate = query.get("returnDate");
+    String adults = query.get("adults");
+
+    String[] invalid =
+        validateFlightOffersQuery(origin, destination, departureDate, returnDate, adults);
+    if (invalid != null) {
+      respond(exchange, 400, error(400, invalid[0], invalid[1]));
+      return;
+    }
+
+    List<Object> offers = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      List<Object> itineraries = new ArrayList<>();
+      itineraries.add(itinerary(origin, destination, departureDate, i));
+      if (returnDate != null) {
+        itineraries.add(itinerary(destination, origin, returnDate, i));
+      }
+      Map<String, Object> offer = new LinkedHashMap<>();
+      offer.put("type", "flight-offer");
+      offer.put("id", String.valueOf(i));
+      offer.put("numberOfBookableSeats", 9);
+      offer.put("itineraries", itineraries);
+      offer.put("price", Map.of("currency", "EUR", "total", String.format("%.2f", 100.0 * i)));
+      offers.add(offer);
+    }
+    respond(exchange, 200, Map.of("meta", Map.of("count", offers.size()), "data", offers));
+  }
+
+  /**
+   * Applies the validation rules of the flight offers API in the order the real service reports
+   * them.
+   *
+   * @return error title and detail, or null if the query is valid
+   */
+  private String[] validateFlightOffersQuery(
+      String origin, String destination, String departureDate, String returnDate, String adults) {
+    if (departureDate == null) {
+      return new String[] {"MANDATORY DATA MISSING", "departureDate needed"};
+    }
+    if (adults == null) {
+      return new String[] {"MANDATORY DATA MISSING", "adults needed"};
+    }
+    int adultCount = Integer.parseInt(adults);
+    if (adultCount < 1 || adultCount > 9) {
+      return new String[] {"INVALID DATA RECEIVED", "adults must be between 1 and 9"};
+    }
+    if (origin.equals(destination)) {
+      return new String[] {"INVALID DATA RECEIVED", "The multiple O/D overlap"};
+    }
+    if (!KNOWN_LOCATION_CODES.contains(origin) || !KNOWN_LOCATION_CODES.contains(destination)) {
+      return new String[] {"INVALID DATA RECEIVED", "This location code is unknown"};
+    }
+    try {
+      LocalDate departure = LocalDate.parse(departureDate);
+      if (departure.isBefore(LocalDate.now())) {
+        return new String[] {"INVALID DATE", "Date/Time is in the past"};
+      }
+      if (returnDate != null && LocalDate.parse(returnDate).isBefore(departure)) {
+        return new String[] {
+          "INVALID DATA RECEIVED",
+          "The date/time of OriginDestination are not in chronological order"
+        };
+      }
+    } catch (DateTimeParseException e) {
+      return new String[] {"INVALID FORMAT", "Date/Time format is invalid"};
+    }
+    return null;
+  }
+
+  private Map<String, Object> itinerary(String from, String to, String date, int offer) {
+    LocalDateTime departureAt = LocalDate.parse(date).atTime(6 + offer, 0);
+    return Map.of(
+        "duration",
+        "PT2H",
+        "segments",
+        List.of(
+            Map.of(
+                "departure", Map.of("iataCode", from, "at", departureAt.toString()),
+                "arrival", Map.of("iataCode", to, "at", departureAt.plusHours(2).toString()),
+                "carrierCode", "AI",
+                "number", String.valueOf(500 + offer))));
+  }
+
+  private Map<String, Object> token() {
+    return Map.of(
+        "type", "amadeusOAuth2Token",
+        "access_token", "local-stub-token",
+        "token_type", "Bearer",
+        "expires_in", 1799,
+        "state", "approved");
+  }
+
+  private Map<String, Object> hotels(String cityCode) {
+    List<Object> hotels = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      hotels.add(
+          Map.of(
+              "name",
+              "STUB HOTEL " + i,
+              "hotelId",
+              "ST" + cityCode + i,
+              "iataCode",
+              cityCode,
+              "chainCode",
+              "ST"));
+    }
+    return Map.of("meta", Map.of("count", hotels.size()), "data", hotels);
+  }
+
+  private Map<String, Object> airportLocations(String keyword, String countryCode) {
+    List<Object> locations =
+        airportQueries.stream()
+            .filter(q -> q.keyword().equals(keyword) && q.countryCode().equals(countryCode))
+            .findFirst()
+            .<List<Object>>map(q -> new ArrayList<>(q.expected()))
+            .orElse(List.of());
+    return Map.of("meta", Map.of("count", locations.size()), "data", locations);
+  }
+
+  private Map<String, Object> flightDates(String origin, String destination) {
+    List<Object> dates = new ArrayList<>();
+    LocalDate date = LocalDate.now().plusDays(7);
+    for (int i = 0; i < 10; i++) {
+      dates.add(
+          Map.of(
+              "type",
+              "flight-date",
+              "origin",
+              origin,
+              "destination",
+              destination,
+              "departureDate",
+              date.plusDays(i).toString(),
+              "price",
+              Map.of("total", String.format("%.2f", 40.0 + i * 7.5))));
+    }
+    return Map.of("data", dates);
+  }
+
+  private Map<String, Object> transferOffers(Map<String, Object> request) {
+    LocalDateTime start = LocalDateTime.parse((String) request.get("startDateTime"));
+    List<Object> offers = new ArrayList<>();
+    String[] transferTypes = {"PRIVATE", "TAXI", "HOURLY"};
+    for (int i = 0; i < transferTypes.length; i++) {
+      offers.add(
+          Map.of(
+              "type",
+              "transfer-offer",
+              "id",
+              "STUB-TRANSFER-" + i,
+              "transferType",
+              transferTypes[i],
+              "start",
+              Map.of(
+                  "dateTime", start.plusMinutes(i * 5L).toString(),
+                  "locationCode", request.get("startLocationCode")),
+              "end",
+              Map.of("address", Map.of("line", request.get("endAddressLine")))));
+    }
+    return Map.of("data", offers);
+  }
+
+  private Map<String, Object> activity(String id, double rating) {
+    return Map.of(
+        "type",
+        "activity",
+        "id",
+        id,
+        "name",
+        "Stub Activity " + id,
+        "rating",
+        String.valueOf(rating),
+        "geoCode",
+        Map.of("latitude", 41.397158, "longitude", 2.160873));
+  }
+
+  private Map<String, Object> error(int status, String title, String detail) {
+    return Map.of(
+        "errors", List.of(Map.of("status", status, "code", 477, "title", title, "detail", detail)));
+  }
+
+  private void respond(HttpExchange exchange, int status, Map<String, Object> body)
+      throws IOException {
+    byte[] bytes = JsonUtils.mapToJson(body).getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/vnd.amadeus+json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream outputStream = exchange.getResponseBody()) {
+      outputStream.write(bytes);
+    }
+  }
+
+  private static String endpoint(String key) {
+    return Config.get().getString(key);
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> query = new LinkedHashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return query;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int index = pair.indexOf('=');
+      String name = index >= 0 ? pair.substring(0, index) : pair;
+      String value = index >= 0 ? pair.substring(index + 1) : "";
+      query.put(
+          URLDecoder.decode(name, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return query;
+  }
+}
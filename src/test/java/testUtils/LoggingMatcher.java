@@ -4,6 +4,7 @@ import org.apache.logging.log4j.Logger;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
+import utils.perf.PhaseProfiler;
 
 /**
  * A Hamcrest matcher that logs assertion results using Log4j2.
@@ -30,27 +31,26 @@ public class LoggingMatcher<T> extends TypeSafeMatcher<T> {
   }
 
   /**
-   * Evaluates the matcher and logs the result.
+   * Evaluates the matcher and logs the result. When the phase profiler is enabled, the match and
+   * the log line are recorded as separate phases, and so is the body path evaluation before it.
    *
    * @param actual the actual value
    * @return true if the match is successful, false otherwise
    */
   @Override
   protected boolean matchesSafely(T actual) {
+    PhaseProfiler.recordSinceCheckpoint(PhaseProfiler.GPATH);
     boolean result = matcher.matches(actual);
+    PhaseProfiler.recordSinceCheckpoint(PhaseProfiler.MATCHER);
+    // The matcher is passed as is, so its description is only formatted if the line is logged
     if (result) {
       logger.info(
-          "Assertion Passed: '{}': actual='{}', expected='{}'",
-          this.message,
-          actual,
-          matcher.toString());
+          "Assertion Passed: '{}': actual='{}', expected='{}'", this.message, actual, matcher);
     } else {
       logger.error(
-          "Assertion Failed: '{}': actual='{}', expected='{}'",
-          this.message,
-          actual,
-          matcher.toString());
+          "Assertion Failed: '{}': actual='{}', expected='{}'", this.message, actual, matcher);
     }
+    PhaseProfiler.recordSinceCheckpoint(PhaseProfiler.MATCHER_LOGGING);
     return result;
   }
 
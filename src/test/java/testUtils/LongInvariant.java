@@ -0,0 +1,146 @@
+package testUtils;
+
+import java.util.Arrays;
+
+/**
+ * An invariant over a stream of {@code long} values, such as counts or timestamps read as epoch
+ * seconds with {@link StreamingInvariants#epochSeconds}.
+ *
+ * <pre>{@code
+ * StreamingInvariants.over(response)
+ *     .epochSeconds(
+ *         "data.itineraries.segments.departure.at",
+ *         LongInvariant.atLeast(StreamingInvariants.epochSecond(departureDate)),
+ *         LongInvariant.ascending())
+ *     .verify();
+ * }</pre>
+ */
+public abstract class LongInvariant extends PrimitiveInvariant {
+
+  private long index;
+
+  private LongInvariant(String description) {
+    super(description);
+  }
+
+  /**
+   * Checks the next value.
+   *
+   * @param value the value
+   */
+  public final void accept(long value) {
+    String violation = check(value);
+    if (violation != null) {
+      recordViolation(index, violation);
+    }
+    index++;
+  }
+
+  /**
+   * Checks a value.
+   *
+   * @param value the value
+   * @return the description of the violation, or null if the value satisfies the invariant
+   */
+  abstract String check(long value);
+
+  /**
+   * Values in non-decreasing order within each array, such as monotonic timestamps.
+   *
+   * @return a new invariant
+   */
+  public static LongInvariant ascending() {
+    return new Ordered("ascending", 1);
+  }
+
+  /**
+   * Values in non-increasing order within each array.
+   *
+   * @return a new invariant
+   */
+  public static LongInvariant descending() {
+    return new Ordered("descending", -1);
+  }
+
+  /**
+   * Values greater than or equal to a bound.
+   *
+   * @param min the inclusive lower bound
+   * @return a new invariant
+   */
+  public static LongInvariant atLeast(long min) {
+    return between(min, Long.MAX_VALUE);
+  }
+
+  /**
+   * Values less than or equal to a bound.
+   *
+   * @param max the inclusive upper bound
+   * @return a new invariant
+   */
+  public static LongInvariant atMost(long max) {
+    return between(Long.MIN_VALUE, max);
+  }
+
+  /**
+   * Values within inclusive bounds.
+   *
+   * @param min the inclusive lower bound
+   * @param max the inclusive upper bound
+   * @return a new invariant
+   */
+  public static LongInvariant between(long min, long max) {
+    return new LongInvariant("between " + min + " and " + max) {
+      @Override
+      String check(long value) {
+        return value >= min && value <= max ? null : String.valueOf(value);
+      }
+    };
+  }
+
+  /**
+   * Values from a set of allowed values.
+   *
+   * @param allowed the allowed values
+   * @return a new invariant
+   */
+  public static LongInvariant oneOf(long... allowed) {
+    long[] sorted = allowed.clone();
+    Arrays.sort(sorted);
+    return new LongInvariant("one of " + Arrays.toString(sorted)) {
+      @Override
+      String check(long value) {
+        return Arrays.binarySearch(sorted, value) >= 0 ? null : String.valueOf(value);
+      }
+    };
+  }
+
+  /** Compares each value with the previous one of the same array. */
+  private static final class Ordered extends LongInvariant {
+
+    private final int direction;
+    private boolean hasPrevious;
+    private long previous;
+
+    private Ordered(String description, int direction) {
+      super(description);
+      this.direction = direction;
+    }
+
+    @Override
+    String check(long value) {
+      String violation =
+          hasPrevious && Long.compare(value, previous) * direction < 0
+              ? value + " after " + previous
+              : null;
+      hasPrevious = true;
+      previous = value;
+      return violation;
+    }
+
+    @Override
+    protected void endGroup() {
+      hasPrevious = false;
+    }
+  }
+}
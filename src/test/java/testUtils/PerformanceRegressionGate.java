@@ -0,0 +1,279 @@
+/**
+ * About the performance regression gate:
+ *
+ * <p>After the results report has been collected, the gate compares the latency distribution of
+ * every test case (iteration durations) and every endpoint (HTTP exchange times recorded by {@link
+ * utils.perf.LatencyRecorder}) with a stored baseline, and writes the comparison to {@code
+ * test-results/performance-gate-report.json}.
+ */
+package testUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IExecutionListener;
+import testUtils.TestResultsRecords.LatencyComparison;
+import testUtils.TestResultsRecords.PerformanceGateReport;
+import testUtils.TestResultsRecords.PerformanceSnapshot;
+import testUtils.TestResultsRecords.TestIterationResult;
+import testUtils.TestResultsRecords.TestResult;
+import utils.Config;
+import utils.JsonUtils;
+import utils.perf.LatencyRecorder;
+import utils.perf.LatencyStatistics;
+
+/**
+ * Post-run stage that flags statistically significant latency regressions against a baseline.
+ *
+ * <p>A distribution is reported as a regression only when all of the following hold:
+ *
+ * <ul>
+ *   <li>both the baseline and the current run have at least {@code perfGate.minSamples} samples
+ *   <li>a one-sided Mann-Whitney U test rejects "not slower" at {@code perfGate.significanceLevel}
+ *   <li>the median grew by more than {@code perfGate.maxMedianIncreasePercent} or the p95 grew by
+ *       more than {@code perfGate.maxP95IncreasePercent}
+ *   <li>the median grew by at least {@code perfGate.minAbsoluteIncreaseMs}, which keeps
+ *       sub-millisecond noise of stub runs from tripping the gate
+ * </ul>
+ *
+ * <b>Modes</b> ({@code perfGate.mode}):
+ *
+ * <ul>
+ *   <li>{@code off} - the gate does nothing (default)
+ *   <li>{@code report} - only the gate report is written
+ *   <li>{@code inconclusive} - affected test results are marked {@code Inconclusive}
+ *   <li>{@code fail} - as {@code inconclusive}, and the run fails once TestNG has finished
+ * </ul>
+ *
+ * <p>Run with {@code -DperfGate.updateBaseline=true} to store the current run as the new baseline.
+ * Baselines are best recorded against the local stub ({@code -DlocalStub.enabled=true}), which
+ * removes network variance so that framework overhead regressions are caught deterministically.
+ */
+public class PerformanceRegressionGate implements IExecutionListener {
+
+  /** Path where the gate report is written. */
+  private static final String GATE_REPORT_FILE_PATH = "test-results/performance-gate-report.json";
+
+  private static final Logger logger = LogManager.getLogger(PerformanceRegressionGate.class);
+
+  /** Outcomes that a regression makes inconclusive; failures are never hidden by it. */
+  private static final Set<String> DOWNGRADED_OUTCOMES = Set.of("Passed", "Warning");
+
+  /** Regressions found by the last evaluation, used to fail the run in {@code fail} mode. */
+  private static final List<LatencyComparison> regressions = new CopyOnWriteArrayList<>();
+
+  /**
+   * Compares the run with the baseline and marks regressed test results as inconclusive.
+   *
+   * @param testResultsMap aggregated results by test case ID, updated in place
+   * @param testCaseIdResolver maps a test method name to its test case ID
+   */
+  public static void evaluate(
+      Map<String, TestResult> testResultsMap, Function<String, String> testCaseIdResolver) {
+    // Regressions of an earlier run in the same JVM, such as a test daemon run, do not carry over
+    regressions.clear();
+    String mode = Config.get().getString("perfGate.mode", "off");
+    if (mode.equals("off")) {
+      return;
+    }
+
+    Path baselineFile =
+        Path.of(
+            Config.get()
+                .getString(
+                    "perfGate.baselineFile", "src/test/resources/performance-baseline.json"));
+    PerformanceSnapshot current = snapshot(testResultsMap);
+
+    if (Config.get().getBoolean("perfGate.updateBaseline", false)) {
+      writeJson(baselineFile, current);
+      logger.info("Performance baseline updated: {}", baselineFile);
+      return;
+    }
+
+    PerformanceSnapshot baseline = readBaseline(baselineFile);
+    if (baseline == null) {
+      logger.warn("No performance baseline found at {}, skipping comparison", baselineFile);
+      return;
+    }
+
+    List<LatencyComparison> comparisons = new ArrayList<>();
+    comparisons.addAll(compare("test", baseline.tests(), current.tests()));
+    comparisons.addAll(compare("endpoint", baseline.endpoints(), current.endpoints()));
+    writeJson(
+        Path.of(GATE_REPORT_FILE_PATH),
+        new PerformanceGateReport(mode, baselineFile.toString(), current, comparisons));
+
+    comparisons.stream().filter(LatencyComparison::regression).forEach(regressions::add);
+    for (LatencyComparison regression : regressions) {
+      logger.warn(
+          "Performance regression in {} '{}': median {}ms -> {}ms, p95 {}ms -> {}ms (p={})",
+          regression.scope(),
+          regression.key(),
+          regression.baselineMedianInMs(),
+          regression.currentMedianInMs(),
+          regression.baselineP95InMs(),
+          regression.currentP95InMs(),
+          String.format("%.4f", regression.pValue()));
+      if (!mode.equals("report")) {
+        markInconclusive(testResultsMap, regression, testCaseIdResolver);
+      }
+    }
+    logger.info(
+        "Performance gate compared {} distributions, {} regression(s) found",
+        comparisons.size(),
+        regressions.size());
+  }
+
+  /**
+   * Fails the run after TestNG has finished when the gate is in {@code fail} mode and a regression
+   * was found.
+   */
+  @Override
+  public void onExecutionFinish() {
+    if (Config.get().getString("perfGate.mode", "off").equals("fail") && !regressions.isEmpty()) {
+      throw new AssertionError(
+          "Performance regression gate failed for: "
+              + regressions.stream()
+                  .map(regression -> regression.scope() + " '" + regression.key() + "'")
+                  .collect(Collectors.joining(", ")));
+    }
+  }
+
+  /** Builds the latency snapshot of the current run. */
+  private static PerformanceSnapshot snapshot(Map<String, TestResult> testResultsMap) {
+    Map<String, List<Long>> tests = new TreeMap<>();
+    testResultsMap.forEach(
+        (testCaseId, result) ->
+            tests.put(
+                testCaseId,
+                result.iterationDetails().stream()
+                    .map(TestIterationResult::durationInMs)
+                    .toList()));
+    return new PerformanceSnapshot(tests, new TreeMap<>(LatencyRecorder.getEndpointSamples()));
+  }
+
+  /** Compares every key present in both the baseline and the current run. */
+  private static List<LatencyComparison> compare(
+      String scope, Map<String, List<Long>> baseline, Map<String, List<Long>> current) {
+    int minSamples = Config.get().getInt("perfGate.minSamples", 3);
+    double significance = Config.get().getDouble("perfGate.significanceLevel", 0.01);
+    double maxMedianIncrease = Config.get().getDouble("perfGate.maxMedianIncreasePercent", 25);
+    double maxP95Increase = Config.get().getDouble("perfGate.maxP95IncreasePercent", 50);
+    long minAbsoluteIncrease = Config.get().getLong("perfGate.minAbsoluteIncreaseMs", 5);
+
+    List<LatencyComparison> comparisons = new ArrayList<>();
+    for (Map.Entry<String, List<Long>> entry : current.entrySet()) {
+      List<Long> baselineSamples = baseline.get(entry.getKey());
+      if (baselineSamples == null) {
+        continue;
+      }
+      long[] before = LatencyStatistics.sorted(baselineSamples);
+      long[] after = LatencyStatistics.sorted(entry.getValue());
+      long medianBefore = LatencyStatistics.percentile(before, 50);
+      long medianAfter = LatencyStatistics.percentile(after, 50);
+      long p95Before = LatencyStatistics.percentile(before, 95);
+      long p95After = LatencyStatistics.percentile(after, 95);
+      double pValue = LatencyStatistics.mannWhitneyGreaterPValue(before, after);
+
+      boolean enoughSamples = before.length >= minSamples && after.length >= minSamples;
+      boolean exceedsThreshold =
+          increasePercent(medianBefore, medianAfter) > maxMedianIncrease
+              || increasePercent(p95Before, p95After) > maxP95Increase;
+      boolean regression =
+          enoughSamples
+              && pValue < significance
+              && exceedsThreshold
+              && medianAfter - medianBefore >= minAbsoluteIncrease;
+
+      comparisons.add(
+          new LatencyComparison(
+              scope,
+              entry.getKey(),
+              before.length,
+              after.length,
+              medianBefore,
+              medianAfter,
+              p95Before,
+              p95After,
+              pValue,
+              regression));
+    }
+    return comparisons;
+  }
+
+  private static double increasePercent(long before, long after) {
+    return (after - before) * 100.0 / Math.max(1, before);
+  }
+
+  /**
+   * Marks the passed test results affected by a regression as inconclusive. Failed results keep
+   * their outcome, the regression is only added to their error message.
+   */
+  private static void markInconclusive(
+      Map<String, TestResult> testResultsMap,
+      LatencyComparison regression,
+      Function<String, String> testCaseIdResolver) {
+    Set<String> testCaseIds =
+        regression.scope().equals("test")
+            ? Set.of(regression.key())
+            : LatencyRecorder.getTestMethods(regression.key()).stream()
+                .map(testCaseIdResolver)
+                .collect(Collectors.toSet());
+    String message =
+        "Performance regression in "
+            + regression.scope()
+            + " '"
+            + regression.key()
+            + "': median "
+            + regression.baselineMedianInMs()
+            + "ms -> "
+            + regression.currentMedianInMs()
+            + "ms\n";
+    for (String testCaseId : testCaseIds) {
+      testResultsMap.computeIfPresent(
+          testCaseId,
+          (id, result) ->
+              new TestResult(
+                  DOWNGRADED_OUTCOMES.contains(result.outcome())
+                      ? "Inconclusive"
+                      : result.outcome(),
+                  result.comment(),
+                  result.durationInMs(),
+                  result.errorMessage() + message,
+                  result.iterationDetails()));
+    }
+  }
+
+  private static PerformanceSnapshot readBaseline(Path baselineFile) {
+    if (!Files.exists(baselineFile)) {
+      return null;
+    }
+    try {
+      return JsonUtils.fromJson(Files.readString(baselineFile), PerformanceSnapshot.class);
+    } catch (IOException e) {
+      logger.error("Failed to read performance baseline: ", e);
+      return null;
+    }
+  }
+
+  private static void writeJson(Path file, Object value) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.writeString(file, JsonUtils.toJson(value));
+    } catch (IOException e) {
+      logger.error("Failed to write {}: ", file, e);
+    }
+  }
+}
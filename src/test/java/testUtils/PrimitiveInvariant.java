@@ -0,0 +1,74 @@
+package testUtils;
+
+/**
+ * Base class of the invariants checked over a stream of primitive values by {@link
+ * StreamingInvariants}.
+ *
+ * <p>An invariant sees every value once, in document order, and keeps only a count and the first
+ * violation, so checking it costs no boxing, copying or sorting regardless of the number of values.
+ * Invariants are stateful: create a new one for every check.
+ */
+public abstract class PrimitiveInvariant {
+
+  private final String description;
+  private long violations;
+  private long firstIndex = -1;
+  private String firstViolation;
+
+  /**
+   * Constructs an invariant.
+   *
+   * @param description what the values are expected to satisfy, such as "ascending"
+   */
+  protected PrimitiveInvariant(String description) {
+    this.description = description;
+  }
+
+  /**
+   * Records a violation by the value at an index. Only the first violation is described.
+   *
+   * @param index the position of the value among the values checked
+   * @param violation the description of the violating value
+   */
+  protected final void recordViolation(long index, String violation) {
+    if (violations++ == 0) {
+      firstIndex = index;
+      firstViolation = violation;
+    }
+  }
+
+  /**
+   * Called when the innermost array holding the values ends. Order invariants hold within each
+   * array, so that, for example, the segments of every itinerary are checked separately.
+   */
+  protected void endGroup() {}
+
+  /**
+   * Returns the number of values that violated the invariant.
+   *
+   * @return the violation count
+   */
+  public long getViolations() {
+    return violations;
+  }
+
+  /**
+   * Describes the violations of the values at a path.
+   *
+   * @param path the path the values were read from
+   * @return the description, or null if the invariant holds
+   */
+  public String describeViolations(String path) {
+    if (violations == 0) {
+      return null;
+    }
+    return String.format(
+        "%s: expected %s, first violated at index %d by %s (%d violation(s))",
+        path, description, firstIndex, firstViolation, violations);
+  }
+
+  @Override
+  public String toString() {
+    return description;
+  }
+}
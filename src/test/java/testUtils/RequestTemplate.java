@@ -0,0 +1,399 @@
+package testUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A request template precompiled into a byte-level skeleton with typed placeholder slots, so that
+ * data-driven and load runs build request bodies and query strings without creating maps or
+ * serializing through reflection on every call.
+ *
+ * <p>Templates are classpath resources. A JSON template ({@code .json}) is the request body with
+ * unquoted placeholders where values go, for example {@code "passengers": {{passengers:int}}};
+ * string-like values are written quoted and escaped, and null is written as {@code null}. A query
+ * template ({@code .properties}) has one {@code name = {{slot:type}}} line per query parameter, in
+ * the order they are sent; values are URL-encoded, and a parameter whose slot is marked optional
+ * with a trailing {@code ?} is left out when its value is null.
+ *
+ * <p>The slot types are {@code string}, {@code int}, {@code number}, {@code boolean}, {@code date}
+ * ({@link LocalDate} or an ISO date string) and {@code dateTime} ({@link LocalDateTime}, written as
+ * an ISO local date-time). Values are passed to {@link #render(Object...)} in the order the slots
+ * first appear in the template; a slot that appears several times takes the same value everywhere.
+ * Templates are immutable and shared, so a single instance can be filled from any number of
+ * threads.
+ */
+public class RequestTemplate {
+
+  /** Placeholder syntax: {@code {{name:type}}}, with a trailing {@code ?} for optional slots. */
+  private static final Pattern PLACEHOLDER =
+      Pattern.compile("\\{\\{\\s*(\\w+)\\s*:\\s*(\\w+)\\s*(\\??)\\s*}}");
+
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+  /** Compiled templates by resource name. */
+  private static final Map<String, RequestTemplate> templates = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final boolean query;
+  private final List<String> slotNames;
+  private final Segment[] segments;
+  private final int skeletonLength;
+
+  /** Value types of the placeholder slots. */
+  private enum SlotType {
+    STRING,
+    INT,
+    NUMBER,
+    BOOLEAN,
+    DATE,
+    DATE_TIME;
+
+    private static SlotType of(String type) {
+      return switch (type) {
+        case "string" -> STRING;
+        case "int" -> INT;
+        case "number" -> NUMBER;
+        case "boolean" -> BOOLEAN;
+        case "date" -> DATE;
+        case "dateTime" -> DATE_TIME;
+        default -> throw new IllegalArgumentException("Unknown template slot type: " + type);
+      };
+    }
+  }
+
+  /**
+   * A literal run of bytes followed by an optional slot. In query templates a segment is a whole
+   * {@code name=} prefix with its slot, so that an optional parameter can be left out entirely.
+   *
+   * @param literal bytes written before the slot
+   * @param slot index of the slot value, or -1 for a trailing literal
+   * @param type type of the slot
+   * @param optional whether the segment is left out when the slot value is null (query only)
+   */
+  private record Segment(byte[] literal, int slot, SlotType type, boolean optional) {}
+
+  private RequestTemplate(String name, boolean query, List<String> slotNames, Segment[] segments) {
+    this.name = name;
+    this.query = query;
+    this.slotNames = List.copyOf(slotNames);
+    this.segments = segments;
+    this.skeletonLength = Arrays.stream(segments).mapToInt(segment -> segment.literal.length).sum();
+  }
+
+  /**
+   * Returns the compiled template of a classpath resource, compiling it on first use.
+   *
+   * @param resource the resource name, ending in {@code .json} for a body template or {@code
+   *     .properties} for a query template
+   * @return the compiled template
+   */
+  public static RequestTemplate of(String resource) {
+    return templates.computeIfAbsent(resource, RequestTemplate::compile);
+  }
+
+  /**
+   * Returns the slot names in the order their values are passed to {@link #render(Object...)}.
+   *
+   * @return the slot names
+   */
+  public List<String> getSlotNames() {
+    return slotNames;
+  }
+
+  /**
+   * Fills the template.
+   *
+   * @param values the slot values, in the order of {@link #getSlotNames()}
+   * @return the rendered body or query string as UTF-8 bytes
+   */
+  public byte[] render(Object... values) {
+    if (values.length != slotNames.size()) {
+      throw new IllegalArgumentException(
+          "Template " + name + " expects " + slotNames.size() + " values " + slotNames);
+    }
+    ByteSink sink = new ByteSink(skeletonLength + 16 * segments.length);
+    boolean first = true;
+    for (Segment segment : segments) {
+      Object value = segment.slot < 0 ? null : values[segment.slot];
+      if (query) {
+        if (segment.optional && value == null) {
+          continue;
+        }
+        if (!first) {
+          sink.write((byte) '&');
+        }
+        first = false;
+      }
+      sink.write(segment.literal);
+      if (segment.slot >= 0) {
+        writeValue(sink, segment.type, value);
+      }
+    }
+    return sink.toByteArray();
+  }
+
+  /**
+   * Fills a query template.
+   *
+   * @param values the slot values, in the order of {@link #getSlotNames()}
+   * @return the query string, without the leading {@code ?}
+   */
+  public String renderQuery(Object... values) {
+    return new String(render(values), StandardCharsets.UTF_8);
+  }
+
+  private void writeValue(ByteSink sink, SlotType type, Object value) {
+    if (value == null) {
+      if (!query) {
+        sink.write(NULL);
+      }
+      return;
+    }
+    switch (type) {
+      case INT -> sink.writeLong(((Number) value).longValue());
+      case NUMBER, BOOLEAN -> sink.writeAscii(value.toString());
+      case DATE -> writeText(sink, value instanceof LocalDate date ? date.toString() : value);
+      case DATE_TIME ->
+          writeText(
+              sink,
+              value instanceof LocalDateTime dateTime
+                  ? dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                  : value);
+      case STRING -> writeText(sink, value);
+    }
+  }
+
+  private void writeText(ByteSink sink, Object value) {
+    String text = value.toString();
+    if (query) {
+      sink.writeUrlEncoded(text);
+    } else {
+      sink.write((byte) '"');
+      sink.writeJsonEscaped(text);
+      sink.write((byte) '"');
+    }
+  }
+
+  /** Compiles a template resource into its segments. */
+  private static RequestTemplate compile(String resource) {
+    String source = readResource(resource);
+    boolean query = resource.endsWith(".properties");
+    List<String> slotNames = new ArrayList<>();
+    List<Segment> segments = new ArrayList<>();
+    if (query) {
+      for (String line : source.split("\\R")) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+          continue;
+        }
+        int separator = trimmed.indexOf('=');
+        Matcher matcher =
+            separator < 0 ? null : PLACEHOLDER.matcher(trimmed.substring(separator + 1).trim());
+        if (matcher == null || !matcher.matches()) {
+          throw new IllegalArgumentException(
+              "Query template " + resource + " expects name = {{slot:type}} lines: " + line);
+        }
+        String parameter = trimmed.substring(0, separator).trim();
+        segments.add(
+            new Segment(
+                (urlEncode(parameter) + "=").getBytes(StandardCharsets.UTF_8),
+                slotIndex(slotNames, matcher.group(1)),
+                SlotType.of(matcher.group(2)),
+                !matcher.group(3).isEmpty()));
+      }
+    } else {
+      Matcher matcher = PLACEHOLDER.matcher(source);
+      int literalStart = 0;
+      while (matcher.find()) {
+        SlotType type = SlotType.of(matcher.group(2));
+        segments.add(
+            new Segment(
+                source.substring(literalStart, matcher.start()).getBytes(StandardCharsets.UTF_8),
+                slotIndex(slotNames, matcher.group(1)),
+                type,
+                false));
+        literalStart = matcher.end();
+      }
+      segments.add(
+          new Segment(
+              source.substring(literalStart).getBytes(StandardCharsets.UTF_8),
+              -1,
+              SlotType.STRING,
+              false));
+    }
+    return new RequestTemplate(resource, query, slotNames, segments.toArray(Segment[]::new));
+  }
+
+  private static int slotIndex(List<String> slotNames, String slot) {
+    int index = slotNames.indexOf(slot);
+    if (index < 0) {
+      slotNames.add(slot);
+      index = slotNames.size() - 1;
+    }
+    return index;
+  }
+
+  private static String readResource(String resource) {
+    try (InputStream inputStream =
+        RequestTemplate.class.getClassLoader().getResourceAsStream(resource)) {
+      if (inputStream == null) {
+        throw new IllegalArgumentException("Request template not found: " + resource);
+      }
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read request template " + resource, e);
+    }
+  }
+
+  private static String urlEncode(String text) {
+    ByteSink sink = new ByteSink(text.length() * 3);
+    sink.writeUrlEncoded(text);
+    return new String(sink.toByteArray(), StandardCharsets.US_ASCII);
+  }
+
+  /** Growable byte buffer that encodes values without intermediate strings where it can. */
+  private static final class ByteSink {
+    private byte[] bytes;
+    private int size;
+
+    private ByteSink(int capacity) {
+      this.bytes = new byte[capacity];
+    }
+
+    private void ensure(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+
+    private void write(byte value) {
+      ensure(1);
+      bytes[size++] = value;
+    }
+
+    private void write(byte[] values) {
+      ensure(values.length);
+      System.arraycopy(values, 0, bytes, size, values.length);
+      size += values.length;
+    }
+
+    private void writeAscii(String text) {
+      ensure(text.length());
+      for (int i = 0; i < text.length(); i++) {
+        bytes[size++] = (byte) text.charAt(i);
+      }
+    }
+
+    private void writeLong(long value) {
+      if (value == Long.MIN_VALUE) {
+        writeAscii(Long.toString(value));
+        return;
+      }
+      if (value < 0) {
+        write((byte) '-');
+        value = -value;
+      }
+      int digits = 1;
+      for (long rest = value / 10; rest > 0; rest /= 10) {
+        digits++;
+      }
+      ensure(digits);
+      for (int i = size + digits - 1; i >= size; i--) {
+        bytes[i] = (byte) ('0' + value % 10);
+        value /= 10;
+      }
+      size += digits;
+    }
+
+    private void writeJsonEscaped(String text) {
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        switch (c) {
+          case '"' -> writeAscii("\\\"");
+          case '\\' -> writeAscii("\\\\");
+          case '\n' -> writeAscii("\\n");
+          case '\r' -> writeAscii("\\r");
+          case '\t' -> writeAscii("\\t");
+          default -> {
+            if (c < 0x20) {
+              writeAscii(String.format("\\u%04x", (int) c));
+            } else {
+              writeUtf8(text, i);
+              if (Character.isHighSurrogate(c)) {
+                i++;
+              }
+            }
+          }
+        }
+      }
+    }
+
+    private void writeUrlEncoded(String text) {
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if ((c >= 'a' && c <= 'z')
+            || (c >= 'A' && c <= 'Z')
+            || (c >= '0' && c <= '9')
+            || c == '-'
+            || c == '_'
+            || c == '.'
+            || c == '~'
+            || c == ':') {
+          write((byte) c);
+        } else {
+          int start = size;
+          writeUtf8(text, i);
+          if (Character.isHighSurrogate(c)) {
+            i++;
+          }
+          byte[] encoded = Arrays.copyOfRange(bytes, start, size);
+          size = start;
+          for (byte b : encoded) {
+            ensure(3);
+            bytes[size++] = '%';
+            bytes[size++] = HEX[(b >> 4) & 0xF];
+            bytes[size++] = HEX[b & 0xF];
+          }
+        }
+      }
+    }
+
+    /** Writes the character at an index as UTF-8, including its low surrogate if it has one. */
+    private void writeUtf8(String text, int index) {
+      int codePoint = text.codePointAt(index);
+      ensure(4);
+      if (codePoint < 0x80) {
+        bytes[size++] = (byte) codePoint;
+      } else if (codePoint < 0x800) {
+        bytes[size++] = (byte) (0xC0 | (codePoint >> 6));
+        bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else if (codePoint < 0x10000) {
+        bytes[size++] = (byte) (0xE0 | (codePoint >> 12));
+        bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else {
+        bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+      }
+    }
+
+    private byte[] toByteArray() {
+      return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+    }
+  }
+}
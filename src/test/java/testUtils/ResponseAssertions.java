@@ -0,0 +1,174 @@
+package testUtils;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.Logger;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import utils.perf.PhaseProfiler;
+import utils.perf.Span;
+import utils.perf.Tracer;
+
+/**
+ * A batch of logged assertions on one response, evaluated together in soft-assert style.
+ *
+ * <p>Checks are collected with {@link #statusCode(int)} and {@link #body(String, Matcher, String)}
+ * and evaluated by {@link #verify()}: the body is parsed once, every distinct path is resolved once
+ * against the parsed document, and every check runs even if an earlier one failed. Each outcome is
+ * logged like a {@link LoggingMatcher} assertion, with the matcher description formatted only if
+ * the line is actually logged, and all failures are reported together in a single {@link
+ * AssertionError}.
+ *
+ * <pre>{@code
+ * JsonPath json =
+ *     ResponseAssertions.assertThat(response, logger)
+ *         .statusCode(200)
+ *         .body("data.type.unique()", Matchers.hasItem("transfer-offer"), "Data Type")
+ *         .verify();
+ * }</pre>
+ */
+public class ResponseAssertions {
+
+  private final Response response;
+  private final Logger logger;
+  private final List<Check> checks = new ArrayList<>();
+  private Integer expectedStatusCode;
+
+  /**
+   * A body path, the matcher applied to its value and the assertion message.
+   *
+   * @param path the GPath expression
+   * @param matcher the matcher
+   * @param message the assertion message
+   */
+  private record Check(String path, Matcher<?> matcher, String message) {}
+
+  private ResponseAssertions(Response response, Logger logger) {
+    this.response = response;
+    this.logger = logger;
+  }
+
+  /**
+   * Starts a batch of assertions on a response.
+   *
+   * @param response the response to check
+   * @param logger the logger the outcomes are written to
+   * @return the assertion batch
+   */
+  public static ResponseAssertions assertThat(Response response, Logger logger) {
+    return new ResponseAssertions(response, logger);
+  }
+
+  /**
+   * Adds a status code check.
+   *
+   * @param expected the expected status code
+   * @return this batch
+   */
+  public ResponseAssertions statusCode(int expected) {
+    this.expectedStatusCode = expected;
+    return this;
+  }
+
+  /**
+   * Adds a check of the value at a body path.
+   *
+   * @param path the GPath expression, as used with {@code ValidatableResponse.body}
+   * @param matcher the matcher the value must satisfy
+   * @param message the assertion message
+   * @return this batch
+   */
+  public ResponseAssertions body(String path, Matcher<?> matcher, String message) {
+    checks.add(new Check(path, matcher, message));
+    return this;
+  }
+
+  /**
+   * Evaluates all checks, logging each outcome.
+   *
+   * @return the parsed body, for further extraction without parsing it again
+   * @throws AssertionError listing every failed check, if any failed
+   */
+  public JsonPath verify() {
+    try (Span span =
+        Tracer.startSpan("assertions").setAttribute("assertions.checks", checks.size())) {
+      return verify(span);
+    }
+  }
+
+  private JsonPath verify(Span span) {
+    List<String> failures = new ArrayList<>();
+    int statusCode = response.getStatusCode();
+    if (expectedStatusCode != null) {
+      if (statusCode == expectedStatusCode) {
+        logger.info("Assertion Passed: 'Status Code': actual='{}'", statusCode);
+      } else {
+        logger.error(
+            "Assertion Failed: 'Status Code': actual='{}', expected='{}'",
+            statusCode,
+            expectedStatusCode);
+        failures.add("Status Code: expected " + expectedStatusCode + " but was " + statusCode);
+      }
+    }
+
+    JsonPath jsonPath = response.jsonPath();
+    Map<String, Object> values = new HashMap<>();
+    for (Check check : checks) {
+      Object actual;
+      try {
+        actual = values.computeIfAbsent(check.path(), jsonPath::get);
+      } catch (RuntimeException e) {
+        logger.error("Assertion Failed: '{}': path '{}' {}", check.message(), check.path(), e);
+        failures.add(check.message() + ": path '" + check.path() + "' failed with " + e);
+        continue;
+      }
+      PhaseProfiler.recordSinceCheckpoint(PhaseProfiler.GPATH);
+      boolean result = check.matcher().matches(actual);
+      PhaseProfiler.recordSinceCheckpoint(PhaseProfiler.MATCHER);
+      if (result) {
+        logger.info(
+            "Assertion Passed: '{}': actual='{}', expected='{}'",
+            check.message(),
+            actual,
+            check.matcher());
+      } else {
+        logger.error(
+            "Assertion Failed: '{}': actual='{}', expected='{}'",
+            check.message(),
+            actual,
+            check.matcher());
+        failures.add(describeFailure(check, actual));
+      }
+      PhaseProfiler.recordSinceCheckpoint(PhaseProfiler.MATCHER_LOGGING);
+    }
+
+    if (!failures.isEmpty()) {
+      span.setAttribute("assertions.failures", failures.size()).setError("Assertions failed");
+      logger.error(
+          "Response of {} failed {} assertion(s):\n{}",
+          response.getStatusLine(),
+          failures.size(),
+          response.asPrettyString());
+      throw new AssertionError(
+          failures.size() + " assertion(s) failed:\n  " + String.join("\n  ", failures));
+    }
+    return jsonPath;
+  }
+
+  private static String describeFailure(Check check, Object actual) {
+    StringDescription description = new StringDescription();
+    description
+        .appendText(check.message())
+        .appendText(" (")
+        .appendText(check.path())
+        .appendText("): expected ")
+        .appendDescriptionOf(check.matcher())
+        .appendText(" but ");
+    check.matcher().describeMismatch(actual, description);
+    return description.toString();
+  }
+}
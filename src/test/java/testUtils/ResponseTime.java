@@ -0,0 +1,42 @@
+package testUtils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the response time budget of the requests sent by a test method, or by every test method
+ * of a class. Budgets override the per-endpoint defaults ({@code sla.<endpoint>.p95Ms} and {@code
+ * sla.<endpoint>.maxMs} in {@code config.properties}); a value of 0 or less keeps the default.
+ *
+ * <p>The budgets are registered by {@link AnnotationTransformer} and enforced by {@link
+ * ResponseTimeSlaFilter}: {@link #maxMs()} applies to every single request and {@link #p95Ms()} to
+ * the requests of each data provider iteration. Iterations that pass their assertions but break a
+ * budget are reported with the {@code Warning} outcome.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ResponseTime {
+
+  /**
+   * Returns the 95th percentile budget of the requests of an iteration.
+   *
+   * @return budget in milliseconds
+   */
+  long p95Ms() default 0;
+
+  /**
+   * Returns the budget of a single request.
+   *
+   * @return budget in milliseconds
+   */
+  long maxMs() default 0;
+
+  /**
+   * Returns the endpoint keys the budget applies to.
+   *
+   * @return endpoint keys from {@code config.properties}, all endpoints if empty
+   */
+  String[] endpoints() default {};
+}
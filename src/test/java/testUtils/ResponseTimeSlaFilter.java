@@ -0,0 +1,187 @@
+package testUtils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import utils.Config;
+import utils.Endpoints;
+import utils.perf.LatencyStatistics;
+
+/**
+ * A Rest-Assured filter that enforces response time SLAs on every functional run.
+ *
+ * <p>The budget of a request is taken from the {@link ResponseTime} annotation of the running test
+ * method, registered by {@link AnnotationTransformer}, falling back to the per-endpoint defaults
+ * {@code sla.<endpoint>.p95Ms} and {@code sla.<endpoint>.maxMs} in {@code config.properties}. A
+ * request over its max budget is a violation immediately; the p95 budget is checked over the
+ * requests of each test iteration when the results are reported. Latencies and violations are kept
+ * as attributes of the TestNG result of the iteration.
+ *
+ * <p>The filter should be registered after the logging, attachment and schema validation filters,
+ * so that their work is not counted; only request hedging follows it in the suite's chain. Set
+ * {@code sla.enabled} to false to turn the checks off.
+ */
+public class ResponseTimeSlaFilter implements Filter {
+
+  private static final Logger logger = LogManager.getLogger(ResponseTimeSlaFilter.class);
+
+  private static final boolean ENABLED = Config.get().getBoolean("sla.enabled", true);
+
+  /** Result attribute holding the latencies of the iteration by endpoint key. */
+  private static final String LATENCIES_ATTRIBUTE = "responseTimes";
+
+  /** Result attribute holding the max budget violations of the iteration. */
+  private static final String VIOLATIONS_ATTRIBUTE = "slaViolations";
+
+  /** Budgets declared with {@link ResponseTime}, by test method. */
+  private static final Map<Method, ResponseTime> annotatedBudgets = new ConcurrentHashMap<>();
+
+  /**
+   * Response time budget of an endpoint.
+   *
+   * @param p95Ms 95th percentile budget in milliseconds, 0 if none
+   * @param maxMs single request budget in milliseconds, 0 if none
+   */
+  public record Budget(long p95Ms, long maxMs) {}
+
+  /**
+   * Registers the budget declared on a test method.
+   *
+   * @param testMethod the test method
+   * @param responseTime the declared budget
+   */
+  public static void register(Method testMethod, ResponseTime responseTime) {
+    annotatedBudgets.put(testMethod, responseTime);
+  }
+
+  /**
+   * Times the HTTP exchange, records it on the current test result and checks the max budget.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    long start = System.nanoTime();
+    Response response = filterContext.next(requestSpec, responseSpec);
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    ITestResult result = Reporter.getCurrentTestResult();
+    if (!ENABLED || result == null || !result.getMethod().isTest()) {
+      return response;
+    }
+    String endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+    Budget budget = getBudget(result, endpoint);
+    if (budget.p95Ms() <= 0 && budget.maxMs() <= 0) {
+      return response;
+    }
+
+    latencies(result)
+        .computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>())
+        .add(elapsedMs);
+    if (budget.maxMs() > 0 && elapsedMs > budget.maxMs()) {
+      String violation =
+          "SLA violation: " + endpoint + " took " + elapsedMs + "ms, max " + budget.maxMs() + "ms";
+      logger.warn(violation);
+      violations(result).add(violation);
+    }
+    return response;
+  }
+
+  /**
+   * Returns the SLA violations of a test iteration: the requests over their max budget and the
+   * endpoints whose 95th percentile is over its budget.
+   *
+   * @param result the TestNG result of the iteration
+   * @return the violation messages, empty if the iteration met its budgets
+   */
+  public static List<String> getViolations(ITestResult result) {
+    List<String> violations = new ArrayList<>();
+    if (result.getAttribute(VIOLATIONS_ATTRIBUTE) instanceof Queue<?> maxViolations) {
+      maxViolations.forEach(violation -> violations.add(violation.toString()));
+    }
+    if (result.getAttribute(LATENCIES_ATTRIBUTE) instanceof Map<?, ?> latencies) {
+      latencies.forEach(
+          (endpoint, samples) -> {
+            Budget budget = getBudget(result, endpoint.toString());
+            if (budget.p95Ms() > 0 && samples instanceof Queue<?> queue) {
+              long[] sorted =
+                  LatencyStatistics.sorted(queue.stream().map(Long.class::cast).toList());
+              long p95 = LatencyStatistics.percentile(sorted, 95);
+              if (p95 > budget.p95Ms()) {
+                violations.add(
+                    "SLA violation: "
+                        + endpoint
+                        + " p95 "
+                        + p95
+                        + "ms over "
+                        + sorted.length
+                        + " requests, budget "
+                        + budget.p95Ms()
+                        + "ms");
+              }
+            }
+          });
+    }
+    return violations;
+  }
+
+  /** Resolves the budget of an endpoint for a test method, annotation first. */
+  private static Budget getBudget(ITestResult result, String endpoint) {
+    long p95Ms = Config.get().getLong("sla." + endpoint + ".p95Ms", 0);
+    long maxMs = Config.get().getLong("sla." + endpoint + ".maxMs", 0);
+    ResponseTime responseTime =
+        annotatedBudgets.get(result.getMethod().getConstructorOrMethod().getMethod());
+    if (responseTime != null
+        && (responseTime.endpoints().length == 0
+            || Arrays.asList(responseTime.endpoints()).contains(endpoint))) {
+      p95Ms = responseTime.p95Ms() > 0 ? responseTime.p95Ms() : p95Ms;
+      maxMs = responseTime.maxMs() > 0 ? responseTime.maxMs() : maxMs;
+    }
+    return new Budget(p95Ms, maxMs);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Queue<Long>> latencies(ITestResult result) {
+    synchronized (result) {
+      Object latencies = result.getAttribute(LATENCIES_ATTRIBUTE);
+      if (latencies == null) {
+        latencies = new ConcurrentHashMap<String, Queue<Long>>();
+        result.setAttribute(LATENCIES_ATTRIBUTE, latencies);
+      }
+      return (Map<String, Queue<Long>>) latencies;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Queue<String> violations(ITestResult result) {
+    synchronized (result) {
+      Object violations = result.getAttribute(VIOLATIONS_ATTRIBUTE);
+      if (violations == null) {
+        violations = new ConcurrentLinkedQueue<String>();
+        result.setAttribute(VIOLATIONS_ATTRIBUTE, violations);
+      }
+      return (Queue<String>) violations;
+    }
+  }
+}
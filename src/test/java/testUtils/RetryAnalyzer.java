@@ -5,6 +5,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
+import utils.jfr.RetryWaitEvent;
+import utils.metrics.FrameworkMetrics;
+import utils.perf.Span;
+import utils.perf.Tracer;
 
 /**
  * TestNG retry analyzer that retries a test if the HTTP status code is 429 (Too Many Requests).
@@ -31,11 +35,21 @@ public class RetryAnalyzer implements IRetryAnalyzer {
           "Retrying test after 5 seconds due to 429 Too Many Requests (attempt " + retryCount + ")";
       logger.warn(message);
       Allure.step(message);
+      FrameworkMetrics.RETRIES.inc(result.getMethod().getQualifiedName());
+      RetryWaitEvent event = new RetryWaitEvent();
+      event.begin();
+      Span span = Tracer.startSpan("retry wait").setAttribute("retry.attempt", retryCount);
       try {
         Thread.sleep(5000);
       } catch (InterruptedException e) {
         e.printStackTrace();
+      } finally {
+        span.end();
       }
+      event.testMethod = result.getMethod().getQualifiedName();
+      event.attempt = retryCount;
+      event.statusCode = (int) statusCode;
+      event.commit();
       return true;
     }
     return false;
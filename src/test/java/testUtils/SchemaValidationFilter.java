@@ -0,0 +1,82 @@
+package testUtils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.List;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.Config;
+import utils.Endpoints;
+
+/**
+ * A Rest-Assured filter that validates every response against the JSON schema of its endpoint.
+ *
+ * <p>Successful responses are validated against {@code schemas/<endpoint>.json} and error responses
+ * (status 400 and above) against {@code schemas/errors.json}; endpoints without a schema file are
+ * not validated. The outcome goes through {@link Assertion}, so it is logged like any other
+ * assertion and, with {@code schema.mode=fail}, a violation fails the request in functional and
+ * load runs alike. With {@code schema.mode=report}, the default, violations are only logged, and
+ * {@code off} disables the filter.
+ *
+ * <p>The filter should be registered before the latency filters, so that validation is not counted
+ * as response time.
+ */
+public class SchemaValidationFilter implements Filter {
+
+  private static final Logger logger = LogManager.getLogger(SchemaValidationFilter.class);
+
+  /** Schema of the error responses shared by all endpoints. */
+  private static final String ERRORS_SCHEMA = "errors";
+
+  private final boolean failOnViolation =
+      Config.get().getString("schema.mode", "report").equals("fail");
+
+  /**
+   * Returns whether response schema validation is enabled.
+   *
+   * @return true unless {@code schema.mode} is set to off
+   */
+  public static boolean isEnabled() {
+    return !Config.get().getString("schema.mode", "report").equals("off");
+  }
+
+  /**
+   * Validates the response against the schema of the request's endpoint.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    Response response = filterContext.next(requestSpec, responseSpec);
+    int statusCode = response.getStatusCode();
+    if (statusCode < 200 || (statusCode >= 300 && statusCode < 400)) {
+      return response;
+    }
+    String endpoint = Endpoints.resolve(requestSpec.getUserDefinedPath());
+    Optional<JsonSchemaValidator> validator =
+        JsonSchemaValidator.forSchema(statusCode >= 400 ? ERRORS_SCHEMA : endpoint);
+    if (validator.isEmpty()) {
+      return response;
+    }
+
+    List<String> violations = validator.get().validate(response.asByteArray());
+    String message =
+        "Response of " + endpoint + " matches the " + validator.get().getName() + " schema";
+    if (failOnViolation) {
+      Assertion.assertSchemaValid(violations, message);
+    } else if (!violations.isEmpty()) {
+      logger.warn("Schema violations: '{}': {}", message, violations);
+    }
+    return response;
+  }
+}
@@ -0,0 +1,477 @@
+package testUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import utils.perf.Span;
+import utils.perf.Tracer;
+
+/**
+ * Checks invariants over numeric and date values of a response in a single streaming pass.
+ *
+ * <p>Paths are dotted field names that descend into arrays implicitly, like GPath: {@code
+ * data.price.total} visits the price of every element of {@code data}. Values are read from the
+ * parser as {@code double}s, or as {@code long} epoch seconds for ISO-8601 dates and timestamps,
+ * and handed straight to the invariants, so no list is built, boxed, copied or sorted however many
+ * elements the response has. Numbers sent as strings, such as Amadeus prices, are parsed from the
+ * parser's character buffer.
+ *
+ * <p>Timestamps without an offset are read as UTC, so that local departure times compare with
+ * {@link #epochSecond(LocalDate)} of a local date. A path that matches no value is reported as a
+ * violation, since it usually means the path is wrong.
+ *
+ * <pre>{@code
+ * List<String> violations =
+ *     StreamingInvariants.over(response)
+ *         .doubles("data.price.total", DoubleInvariant.ascending())
+ *         .verify();
+ * Assertion.assertNoViolations(violations, "Flight Prices Cheapest to Highest");
+ * }</pre>
+ */
+public class StreamingInvariants {
+
+  private static final JsonFactory jsonFactory = new JsonFactory();
+
+  /** Exact powers of ten, for parsing decimals of up to 15 digits without rounding errors. */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+  };
+
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  private final byte[] body;
+  private final Node root = new Node(null);
+  private final Map<String, Binding> bindings = new LinkedHashMap<>();
+
+  /** A path of the document, with the invariants of the values found at it. */
+  private static final class Node {
+    private final Node parent;
+    private final Map<String, Node> children = new HashMap<>();
+    private final List<PrimitiveInvariant> groupInvariants = new ArrayList<>();
+    private Binding binding;
+
+    private Node(Node parent) {
+      this.parent = parent;
+    }
+  }
+
+  /** The invariants of one path and what was found there. */
+  private static final class Binding {
+    private final String path;
+    private final boolean epochSeconds;
+    private final DoubleInvariant[] doubleInvariants;
+    private final LongInvariant[] longInvariants;
+    private long count;
+    private long unreadable;
+    private String firstUnreadable;
+
+    private Binding(
+        String path,
+        boolean epochSeconds,
+        DoubleInvariant[] doubleInvariants,
+        LongInvariant[] longInvariants) {
+      this.path = path;
+      this.epochSeconds = epochSeconds;
+      this.doubleInvariants = doubleInvariants;
+      this.longInvariants = longInvariants;
+    }
+
+    private void unreadable(String value) {
+      if (unreadable++ == 0) {
+        firstUnreadable = value;
+      }
+    }
+  }
+
+  private StreamingInvariants(byte[] body) {
+    this.body = body;
+  }
+
+  /**
+   * Starts a set of invariants over a response body.
+   *
+   * @param response the response
+   * @return the invariants
+   */
+  public static StreamingInvariants over(Response response) {
+    return over(response.asByteArray());
+  }
+
+  /**
+   * Starts a set of invariants over a JSON document.
+   *
+   * @param json the UTF-8 encoded document
+   * @return the invariants
+   */
+  public static StreamingInvariants over(byte[] json) {
+    return new StreamingInvariants(json);
+  }
+
+  /**
+   * Adds invariants over the numbers at a path. Numbers sent as strings are parsed.
+   *
+   * @param path the dotted path
+   * @param invariants the invariants
+   * @return these invariants
+   */
+  public StreamingInvariants doubles(String path, DoubleInvariant... invariants) {
+    bind(new Binding(path, false, invariants, new LongInvariant[0]), invariants);
+    return this;
+  }
+
+  /**
+   * Adds invariants over the ISO-8601 dates or timestamps at a path, read as epoch seconds.
+   *
+   * @param path the dotted path
+   * @param invariants the invariants
+   * @return these invariants
+   */
+  public StreamingInvariants epochSeconds(String path, LongInvariant... invariants) {
+    bind(new Binding(path, true, new DoubleInvariant[0], invariants), invariants);
+    return this;
+  }
+
+  private void bind(Binding binding, PrimitiveInvariant[] invariants) {
+    if (bindings.putIfAbsent(binding.path, binding) != null) {
+      throw new IllegalArgumentException("Invariants already added for path " + binding.path);
+    }
+    Node node = root;
+    for (String name : binding.path.split("\\.")) {
+      Node parent = node;
+      node = node.children.computeIfAbsent(name, key -> new Node(parent));
+    }
+    node.binding = binding;
+    for (Node ancestor = node; ancestor != null; ancestor = ancestor.parent) {
+      ancestor.groupInvariants.addAll(List.of(invariants));
+    }
+  }
+
+  /**
+   * Reads the document once, checking every value against the invariants of its path.
+   *
+   * @return the violations, empty if every invariant holds
+   */
+  public List<String> verify() {
+    List<String> violations = new ArrayList<>();
+    Span span = Tracer.startSpan("invariants").setAttribute("invariants.paths", bindings.size());
+    try (JsonParser parser = jsonFactory.createParser(body)) {
+      walk(parser);
+    } catch (IOException e) {
+      violations.add("Response is not valid JSON: " + e.getMessage());
+      return violations;
+    } finally {
+      span.end();
+    }
+    for (Binding binding : bindings.values()) {
+      if (binding.count == 0) {
+        violations.add(binding.path + ": no values found");
+      }
+      if (binding.unreadable > 0) {
+        violations.add(
+            String.format(
+                "%s: expected %s, first unreadable value '%s' (%d unreadable value(s))",
+                binding.path,
+                binding.epochSeconds ? "ISO-8601 dates" : "numbers",
+                binding.firstUnreadable,
+                binding.unreadable));
+      }
+      addViolations(violations, binding.path, binding.doubleInvariants);
+      addViolations(violations, binding.path, binding.longInvariants);
+    }
+    return violations;
+  }
+
+  /**
+   * Checks invariants over an array of values.
+   *
+   * @param values the values
+   * @param invariants the invariants
+   * @return the violations, empty if every invariant holds
+   */
+  public static List<String> check(double[] values, DoubleInvariant... invariants) {
+    for (DoubleInvariant invariant : invariants) {
+      for (double value : values) {
+        invariant.accept(value);
+      }
+    }
+    List<String> violations = new ArrayList<>();
+    addViolations(violations, "values", invariants);
+    return violations;
+  }
+
+  /**
+   * Checks invariants over an array of values.
+   *
+   * @param values the values
+   * @param invariants the invariants
+   * @return the violations, empty if every invariant holds
+   */
+  public static List<String> check(long[] values, LongInvariant... invariants) {
+    for (LongInvariant invariant : invariants) {
+      for (long value : values) {
+        invariant.accept(value);
+      }
+    }
+    List<String> violations = new ArrayList<>();
+    addViolations(violations, "values", invariants);
+    return violations;
+  }
+
+  /**
+   * Returns the epoch second at which a date starts, in the same UTC reading as timestamps without
+   * an offset.
+   *
+   * @param date the date
+   * @return the epoch second of its start
+   */
+  public static long epochSecond(LocalDate date) {
+    return date.toEpochDay() * 86_400;
+  }
+
+  private static void addViolations(
+      List<String> violations, String path, PrimitiveInvariant[] invariants) {
+    for (PrimitiveInvariant invariant : invariants) {
+      String violation = invariant.describeViolations(path);
+      if (violation != null) {
+        violations.add(violation);
+      }
+    }
+  }
+
+  /**
+   * Walks the document with a stack of path nodes. Array elements share the node of their array,
+   * and a null node means the value is outside every path.
+   */
+  private void walk(JsonParser parser) throws IOException {
+    Node[] nodes = new Node[16];
+    boolean[] arrays = new boolean[16];
+    int depth = 0;
+    Node pending = root;
+    JsonToken token;
+    while ((token = parser.nextToken()) != null) {
+      switch (token) {
+        case FIELD_NAME -> {
+          Node container = nodes[depth - 1];
+          pending = container == null ? null : container.children.get(parser.currentName());
+        }
+        case START_OBJECT, START_ARRAY -> {
+          if (depth == nodes.length) {
+            nodes = Arrays.copyOf(nodes, depth * 2);
+            arrays = Arrays.copyOf(arrays, depth * 2);
+          }
+          nodes[depth] = pending;
+          arrays[depth] = token == JsonToken.START_ARRAY;
+          depth++;
+          if (token == JsonToken.START_OBJECT) {
+            pending = null;
+          }
+        }
+        case END_OBJECT, END_ARRAY -> {
+          depth--;
+          Node closed = nodes[depth];
+          if (token == JsonToken.END_ARRAY && closed != null) {
+            for (PrimitiveInvariant invariant : closed.groupInvariants) {
+              invariant.endGroup();
+            }
+          }
+          pending = depth > 0 && arrays[depth - 1] ? nodes[depth - 1] : null;
+        }
+        default -> {
+          if (pending != null && pending.binding != null) {
+            accept(parser, token, pending.binding);
+          }
+          pending = depth > 0 && arrays[depth - 1] ? nodes[depth - 1] : null;
+        }
+      }
+    }
+  }
+
+  private static void accept(JsonParser parser, JsonToken token, Binding binding)
+      throws IOException {
+    binding.count++;
+    if (binding.epochSeconds) {
+      long value =
+          token == JsonToken.VALUE_STRING
+              ? readEpochSeconds(
+                  parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+              : Long.MIN_VALUE;
+      if (value == Long.MIN_VALUE) {
+        binding.unreadable(parser.getText());
+        return;
+      }
+      for (LongInvariant invariant : binding.longInvariants) {
+        invariant.accept(value);
+      }
+      return;
+    }
+    double value =
+        switch (token) {
+          case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+          case VALUE_STRING ->
+              readDouble(
+                  parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+          default -> Double.NaN;
+        };
+    if (Double.isNaN(value)) {
+      binding.unreadable(parser.getText());
+      return;
+    }
+    for (DoubleInvariant invariant : binding.doubleInvariants) {
+      invariant.accept(value);
+    }
+  }
+
+  /**
+   * Parses a decimal number. Plain decimals of up to 15 digits are parsed in place, exactly as
+   * {@link Double#parseDouble} would; anything else falls back to it.
+   *
+   * @return the value, or NaN if the text is not a number
+   */
+  static double readDouble(char[] chars, int offset, int length) {
+    int end = offset + length;
+    int i = offset;
+    boolean negative = i < end && chars[i] == '-';
+    if (negative || (i < end && chars[i] == '+')) {
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int scale = 0;
+    boolean point = false;
+    for (; i < end; i++) {
+      char c = chars[i];
+      if (c >= '0' && c <= '9') {
+        if (++digits > MAX_EXACT_DIGITS) {
+          return parseDouble(chars, offset, length);
+        }
+        mantissa = mantissa * 10 + (c - '0');
+        if (point) {
+          scale++;
+        }
+      } else if (c == '.' && !point) {
+        point = true;
+      } else {
+        return parseDouble(chars, offset, length);
+      }
+    }
+    if (digits == 0) {
+      return Double.NaN;
+    }
+    double value = mantissa / POWERS_OF_TEN[scale];
+    return negative ? -value : value;
+  }
+
+  private static double parseDouble(char[] chars, int offset, int length) {
+    try {
+      double value = Double.parseDouble(new String(chars, offset, length));
+      return Double.isFinite(value) ? value : Double.NaN;
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  /**
+   * Parses an ISO-8601 date ({@code yyyy-MM-dd}) or local timestamp ({@code yyyy-MM-ddTHH:mm} or
+   * {@code yyyy-MM-ddTHH:mm:ss}) in place; other ISO-8601 forms, such as fractions of a second or
+   * offsets, fall back to {@link DateTimeFormatter#ISO_DATE_TIME}.
+   *
+   * @return the epoch second, or {@link Long#MIN_VALUE} if the text is not a date
+   */
+  static long readEpochSeconds(char[] chars, int offset, int length) {
+    if (length != 10 && length != 16 && length != 19) {
+      return parseEpochSeconds(new String(chars, offset, length));
+    }
+    int year = digits(chars, offset, 4);
+    int month = digits(chars, offset + 5, 2);
+    int day = digits(chars, offset + 8, 2);
+    if (year < 0
+        || chars[offset + 4] != '-'
+        || chars[offset + 7] != '-'
+        || month < 1
+        || month > 12
+        || day < 1
+        || day > lengthOfMonth(year, month)) {
+      return parseEpochSeconds(new String(chars, offset, length));
+    }
+    long seconds = epochDay(year, month, day) * 86_400;
+    if (length == 10) {
+      return seconds;
+    }
+    int hour = digits(chars, offset + 11, 2);
+    int minute = digits(chars, offset + 14, 2);
+    int second = length == 19 ? digits(chars, offset + 17, 2) : 0;
+    if (chars[offset + 10] != 'T'
+        || chars[offset + 13] != ':'
+        || (length == 19 && chars[offset + 16] != ':')
+        || hour < 0
+        || hour > 23
+        || minute < 0
+        || minute > 59
+        || second < 0
+        || second > 59) {
+      return parseEpochSeconds(new String(chars, offset, length));
+    }
+    return seconds + hour * 3600L + minute * 60L + second;
+  }
+
+  private static long parseEpochSeconds(String text) {
+    try {
+      if (text.length() == 10) {
+        return epochSecond(LocalDate.parse(text));
+      }
+      TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parse(text);
+      long seconds = LocalDateTime.from(parsed).toEpochSecond(ZoneOffset.UTC);
+      return parsed.isSupported(ChronoField.OFFSET_SECONDS)
+          ? seconds - parsed.get(ChronoField.OFFSET_SECONDS)
+          : seconds;
+    } catch (DateTimeParseException e) {
+      return Long.MIN_VALUE;
+    }
+  }
+
+  /** Returns the value of a run of decimal digits, or -1 if any character is not a digit. */
+  private static int digits(char[] chars, int offset, int count) {
+    int value = 0;
+    for (int i = offset; i < offset + count; i++) {
+      char c = chars[i];
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    return switch (month) {
+      case 2 -> (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  /** Days since 1970-01-01 of a proleptic Gregorian date, as {@link LocalDate#toEpochDay}. */
+  private static long epochDay(int year, int month, int day) {
+    int y = month <= 2 ? year - 1 : year;
+    int era = Math.floorDiv(y, 400);
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146_097L + dayOfEra - 719_468;
+  }
+}
@@ -1,25 +1,55 @@
 package testUtils;
 
+import io.qameta.allure.Allure;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
+import utils.logging.LogCapture;
+import utils.logging.LogContext;
+import utils.metrics.FrameworkMetrics;
+import utils.perf.ResourceUsage;
 
-/** TestNG listener that logs test execution events using Log4j2. */
-public class TestResultLoggerListener implements ITestListener {
+/**
+ * TestNG listener that logs test execution events using Log4j2. With {@code log.capture.enabled}
+ * the events logged while a test runs are held back by {@link LogCapture}: a passing test only
+ * leaves its start and pass lines, while a failed or retried test has its events written and
+ * attached to the Allure report. While a test runs, its events carry its test case ID from {@code
+ * test-plan-suite.json} and iteration in the {@link LogContext}, and its CPU time and allocation
+ * are measured with {@link ResourceUsage} for the results report.
+ */
+public class TestResultLoggerListener implements ITestListener, IInvokedMethodListener {
 
   private static final Logger logger = LogManager.getLogger(TestResultLoggerListener.class);
 
+  private static final String RESOURCE_USAGE_ATTRIBUTE = "resourceUsage";
+
+  /** Number of invocations of each test method so far. */
+  private final Map<ITestNGMethod, AtomicInteger> invocations = new ConcurrentHashMap<>();
+
   /**
-   * Called when a test method starts. Logs the method name and parameters.
+   * Called when a test method starts. Sets the test case and iteration of the log events, logs the
+   * method name, starts capturing the test's log events and logs the parameters, and starts
+   * measuring the test's resource usage.
    *
    * @param result the test result
    */
   @Override
   public void onTestStart(ITestResult result) {
+    ITestNGMethod method = result.getMethod();
+    LogContext.startTest(
+        TestResultsReporter.getTestCaseId(method.getMethodName()),
+        invocations.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet());
     logger.info("<=========== Test Started : {} ===========>", result.getMethod().getMethodName());
+    LogCapture.begin();
     Object[] params = result.getParameters();
     if (params != null && params.length > 0) {
       params =
@@ -31,20 +61,25 @@ public class TestResultLoggerListener implements ITestListener {
         logger.info("Test Data: {}", Arrays.toString(params));
       }
     }
+    result.setAttribute(RESOURCE_USAGE_ATTRIBUTE, ResourceUsage.start());
   }
 
   /**
-   * Called when a test method passes. Logs the method name.
+   * Called when a test method passes. Logs the method name, counts the test as passed and clears
+   * the test from the log events.
    *
    * @param result the test result
    */
   @Override
   public void onTestSuccess(ITestResult result) {
     logger.info("<=========== Test Passed : {} ===========>\n", result.getMethod().getMethodName());
+    FrameworkMetrics.TESTS.inc("passed");
+    LogContext.endTest();
   }
 
   /**
-   * Called when a test method fails. Logs the method name and throwable.
+   * Called when a test method fails. Logs the method name and throwable, counts the test as failed
+   * and clears the test from the log events.
    *
    * @param result the test result
    */
@@ -54,15 +89,59 @@ public class TestResultLoggerListener implements ITestListener {
         "<=========== Test Failed : {} ===========>",
         result.getMethod().getMethodName(),
         result.getThrowable());
+    FrameworkMetrics.TESTS.inc("failed");
+    LogContext.endTest();
   }
 
   /**
-   * Called when a test method is skipped. Logs the method name.
+   * Called when a test method is skipped. Logs the method name, counts the test as skipped, or as
+   * retried if it is run again, and clears the test from the log events.
    *
    * @param result the test result
    */
   @Override
   public void onTestSkipped(ITestResult result) {
     logger.warn("<=========== Test Skipped : {} ===========>\n", result.getMethod().getMethodName());
+    FrameworkMetrics.TESTS.inc(result.wasRetried() ? "retried" : "skipped");
+    LogContext.endTest();
+  }
+
+  /**
+   * Called after a test method returns, before the result listeners and while its report entry is
+   * still open. Drops the log events captured for a passing test, and writes and attaches those of
+   * a failed or skipped one, which may be retried.
+   *
+   * @param method the invoked method
+   * @param result the test result
+   */
+  @Override
+  public void afterInvocation(IInvokedMethod method, ITestResult result) {
+    if (!method.isTestMethod()) {
+      return;
+    }
+    ResourceUsage usage = getResourceUsage(result);
+    if (usage != null) {
+      usage.stop();
+    }
+    if (result.getStatus() == ITestResult.SUCCESS) {
+      LogCapture.discard();
+      return;
+    }
+    String capturedLogs = LogCapture.flush();
+    if (capturedLogs != null) {
+      Allure.addAttachment("Test log", "text/plain", capturedLogs, ".log");
+    }
+  }
+
+  /**
+   * Returns the resource usage measured for a test invocation.
+   *
+   * @param result the test result
+   * @return the resource usage, or null if it was not measured
+   */
+  public static ResourceUsage getResourceUsage(ITestResult result) {
+    return result.getAttribute(RESOURCE_USAGE_ATTRIBUTE) instanceof ResourceUsage usage
+        ? usage
+        : null;
   }
 }
@@ -22,9 +22,27 @@ public class TestResultsRecords {
   public record TestPlanSuite(
       String testPlanName, String testSuiteName, Map<String, TestCaseInfo> testCases) {}
 
-  /** Represents a single test iteration result. */
+  /**
+   * Represents a single test iteration result, with the client-side CPU time and heap allocation of
+   * the test and of the work it handed to platform threads, and the time of its work on other
+   * threads. Resource fields are null when not measured.
+   */
   public record TestIterationResult(
-      int id, String outcome, String comment, Long durationInMs, String errorMessage) {}
+      int id,
+      String outcome,
+      String comment,
+      Long durationInMs,
+      String errorMessage,
+      Long cpuTimeInMs,
+      Long allocatedBytes,
+      Long asyncTimeInMs) {
+
+    /** Constructor for an iteration without resource measurements. */
+    public TestIterationResult(
+        int id, String outcome, String comment, Long durationInMs, String errorMessage) {
+      this(id, outcome, comment, durationInMs, errorMessage, null, null, null);
+    }
+  }
 
   /** Represents the complete test result for a test case. */
   public record TestResult(
@@ -71,4 +89,59 @@ public class TestResultsRecords {
   /** Container for all test results. */
   public record TestResultReport(
       String testPlanName, String testSuiteName, Map<String, TestResult> testResults) {}
+
+  /** Latency samples in milliseconds of a run, by test case ID and by endpoint key. */
+  public record PerformanceSnapshot(
+      Map<String, List<Long>> tests, Map<String, List<Long>> endpoints) {}
+
+  /** Represents the comparison of one latency distribution against its baseline. */
+  public record LatencyComparison(
+      String scope,
+      String key,
+      int baselineSamples,
+      int currentSamples,
+      long baselineMedianInMs,
+      long currentMedianInMs,
+      long baselineP95InMs,
+      long currentP95InMs,
+      double pValue,
+      boolean regression) {}
+
+  /** Represents the latency percentiles of a load test scenario in milliseconds. */
+  public record LatencyPercentiles(long p50, long p90, long p95, long p99, long max) {}
+
+  /**
+   * Represents the outcome of one load test scenario. The latency is measured from the intended
+   * start time of each invocation, the service time from its actual start.
+   */
+  public record LoadScenarioResult(
+      double weight,
+      long invocations,
+      long errors,
+      double errorRatePercent,
+      double throughputPerSecond,
+      LatencyPercentiles latencyInMs,
+      LatencyPercentiles serviceTimeInMs,
+      String firstError) {}
+
+  /** Represents the outcome of a load test run. */
+  public record LoadTestReport(
+      double targetArrivalRatePerSecond,
+      long durationInMs,
+      long invocations,
+      long errors,
+      long dropped,
+      double errorRatePercent,
+      double throughputPerSecond,
+      LatencyPercentiles latencyInMs,
+      LatencyPercentiles serviceTimeInMs,
+      Map<String, LatencyPercentiles> endpointLatencyInMs,
+      Map<String, LoadScenarioResult> scenarios) {}
+
+  /** Performance gate outcome for a run. */
+  public record PerformanceGateReport(
+      String mode,
+      String baselineFile,
+      PerformanceSnapshot current,
+      List<LatencyComparison> comparisons) {}
 }
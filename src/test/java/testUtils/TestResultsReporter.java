@@ -12,6 +12,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,8 @@ import org.testng.ITestResult;
 import org.testng.xml.XmlSuite;
 import testUtils.TestResultsRecords.*;
 import utils.JsonUtils;
+import utils.jfr.ReportWriteEvent;
+import utils.perf.ResourceUsage;
 
 /**
  * Custom TestNG reporter that generates structured JSON reports for test execution results.
@@ -41,6 +44,8 @@ import utils.JsonUtils;
  *   <li>Maps test methods to test case IDs using a configuration file
  *   <li>Handles both single execution and parameterized tests with multiple iterations
  *   <li>Captures test outcomes, execution durations, and detailed parameters
+ *   <li>Records the client-side CPU time and allocated bytes of every iteration
+ *   <li>Reports passed iterations that broke a response time SLA as {@code Warning}
  *   <li>Exports results in structured JSON format
  *   <li>Provides null safety and error handling
  * </ul>
@@ -80,18 +85,26 @@ public class TestResultsReporter implements IReporter {
   /** Path where the final test results report will be written. */
   private static final String TEST_CASE_RESULTS_FILE_PATH = "test-results/test-results-report.json";
 
+  /** Outcome of iterations that passed but broke a response time budget. */
+  private static final String SLA_VIOLATION_OUTCOME = "Warning";
+
   /** Logger instance for this class. */
   private static final Logger logger = LogManager.getLogger(TestResultsReporter.class);
 
-  /** Map storing test method names to their corresponding test case information. */
-  private static Map<String, TestCaseInfo> testCasesMap = new HashMap<>();
-
   /** Map storing aggregated test results by test case ID. */
   private static Map<String, TestResult> testResultsMap = new HashMap<>();
 
   /** Map storing test parameters to their corresponding iteration ID. */
   private static Map<String, Integer> testParamsIterationIdMap = new HashMap<>();
 
+  /** The test plan and its test cases by test method name, loaded on first use. */
+  private static final class TestPlan {
+    private static final TestPlanSuite SUITE =
+        JsonUtils.fromJson(TEST_PLAN_SUITE_FILE_NAME, TestPlanSuite.class, true);
+    private static final Map<String, TestCaseInfo> TEST_CASES =
+        SUITE == null || SUITE.testCases() == null ? Map.of() : SUITE.testCases();
+  }
+
   /**
    * Generates the test results report by processing all test suites and their results.
    *
@@ -113,12 +126,7 @@ public class TestResultsReporter implements IReporter {
   public void generateReport(
       List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
 
-    // Load test case mappings from configuration file
-    TestPlanSuite testPlanSuite =
-        JsonUtils.fromJson(TEST_PLAN_SUITE_FILE_NAME, TestPlanSuite.class, true);
-    if (testPlanSuite != null) {
-      testCasesMap = testPlanSuite.testCases();
-    }
+    TestPlanSuite testPlanSuite = TestPlan.SUITE;
 
     // Process all test results from all suites
     for (ISuite suite : suites) {
@@ -131,6 +139,9 @@ public class TestResultsReporter implements IReporter {
       }
     }
 
+    // Compare latencies with the stored baseline before the report is written
+    PerformanceRegressionGate.evaluate(testResultsMap, TestResultsReporter::getTestCaseId);
+
     // Create the final test result report
     TestResultReport testResultReport = null;
     if (testPlanSuite != null) {
@@ -224,9 +235,20 @@ public class TestResultsReporter implements IReporter {
       long duration = testResult.getEndMillis() - testResult.getStartMillis();
       String parameters = getParametersAsString(testResult.getParameters());
       String errorMessage = getErrorMessage(testResult.getThrowable());
+
+      // Passed iterations that broke a response time budget are reported as warnings
+      List<String> slaViolations = ResponseTimeSlaFilter.getViolations(testResult);
+      if (!slaViolations.isEmpty()) {
+        if (testResult.getStatus() == ITestResult.SUCCESS) {
+          outcome = SLA_VIOLATION_OUTCOME;
+        }
+        String violations = String.join("; ", slaViolations);
+        errorMessage = errorMessage.isEmpty() ? violations : errorMessage + "; " + violations;
+      }
       String comment = "Automated Test Name: " + testName;
+      ResourceUsage usage = TestResultLoggerListener.getResourceUsage(testResult);
 
-      handleTestIteration(testCaseId, outcome, duration, parameters, errorMessage, comment);
+      handleTestIteration(testCaseId, outcome, duration, parameters, errorMessage, comment, usage);
     }
   }
 
@@ -237,12 +259,24 @@ public class TestResultsReporter implements IReporter {
       long duration,
       String parameters,
       String errorMessage,
-      String comment) {
+      String comment,
+      ResourceUsage usage) {
     int iterationId = getNextIterationId(testCaseId);
     String iterationComment = buildIterationComment(parameters, testCaseId);
 
     TestIterationResult iteration =
-        new TestIterationResult(iterationId, outcome, iterationComment, duration, errorMessage);
+        usage == null
+            ? new TestIterationResult(
+                iterationId, outcome, iterationComment, duration, errorMessage)
+            : new TestIterationResult(
+                iterationId,
+                outcome,
+                iterationComment,
+                duration,
+                errorMessage,
+                usage.getCpuTimeInMs(),
+                usage.getAllocatedBytes(),
+                usage.getAsyncTimeInMs());
 
     TestResult existingResult = testResultsMap.get(testCaseId);
 
@@ -290,8 +324,8 @@ public class TestResultsReporter implements IReporter {
    * @param testName the name of the test method
    * @return the mapped test case ID, or "Unknown" if not found
    */
-  private String getTestCaseId(String testName) {
-    TestCaseInfo testCaseInfo = testCasesMap.get(testName);
+  static String getTestCaseId(String testName) {
+    TestCaseInfo testCaseInfo = TestPlan.TEST_CASES.get(testName);
     return testCaseInfo != null ? testCaseInfo.testCaseId() : "Unknown";
   }
 
@@ -347,7 +381,10 @@ public class TestResultsReporter implements IReporter {
    * @see JsonUtils#mapToJson(Map)
    */
   private void writeResultsReport(TestResultReport report) {
-    try (PrintWriter writer = new PrintWriter(new FileWriter(TEST_CASE_RESULTS_FILE_PATH))) {
+    ReportWriteEvent event = new ReportWriteEvent();
+    event.begin();
+    try (PrintWriter writer =
+        new PrintWriter(new FileWriter(TEST_CASE_RESULTS_FILE_PATH, StandardCharsets.UTF_8))) {
       // Convert record to Map for JsonUtils compatibility
       Map<String, Object> reportMap =
           Map.of(
@@ -356,6 +393,10 @@ public class TestResultsReporter implements IReporter {
               "testResults", report.testResults());
       String json = JsonUtils.mapToJson(reportMap);
       writer.write(json);
+      event.file = TEST_CASE_RESULTS_FILE_PATH;
+      event.testCases = report.testResults().size();
+      event.bytes = json.getBytes(StandardCharsets.UTF_8).length;
+      event.commit();
       logger.info("Test results report generated successfully: {}", TEST_CASE_RESULTS_FILE_PATH);
     } catch (IOException e) {
       logger.error("Failed to generate Test Results Report: ", e);
@@ -0,0 +1,140 @@
+package testUtils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import utils.perf.Span;
+import utils.perf.Tracer;
+
+/**
+ * TestNG listener that records test methods and their data iterations as spans of the run's trace.
+ * Every invocation is a span that is current on the test thread, so the token refresh, requests,
+ * retry waits and assertions it triggers become its children. Invocations of a data-driven method
+ * are grouped under one span per method, which ends with its last iteration.
+ */
+public class TracingListener implements ITestListener {
+
+  private static final String SPAN_ATTRIBUTE = "tracing.span";
+
+  /** Spans of the data-driven methods of the current test, by method. */
+  private final Map<ITestNGMethod, MethodSpan> methodSpans = new ConcurrentHashMap<>();
+
+  /**
+   * The span of a data-driven method and the number of iterations started so far.
+   *
+   * @param span the method span
+   * @param iterations the iteration counter
+   */
+  private record MethodSpan(Span span, AtomicInteger iterations) {}
+
+  /**
+   * Starts the span of an invocation, and of its method for the first iteration of a data-driven
+   * method.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestStart(ITestResult result) {
+    if (!Tracer.isEnabled()) {
+      return;
+    }
+    ITestNGMethod method = result.getMethod();
+    String name = method.getRealClass().getSimpleName() + "." + method.getMethodName();
+    Span span;
+    if (method.isDataDriven()) {
+      MethodSpan methodSpan =
+          methodSpans.computeIfAbsent(
+              method,
+              key -> new MethodSpan(Tracer.startDetachedSpan(name, null), new AtomicInteger()));
+      int iteration = methodSpan.iterations().getAndIncrement();
+      span =
+          Tracer.startSpan("iteration " + iteration, methodSpan.span())
+              .setAttribute("test.iteration", iteration)
+              .setAttribute("test.parameters", Arrays.toString(result.getParameters()));
+    } else {
+      span = Tracer.startSpan(name);
+    }
+    span.setAttribute("test.method", name);
+    result.setAttribute(SPAN_ATTRIBUTE, span);
+  }
+
+  /**
+   * Ends the span of a passed invocation.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestSuccess(ITestResult result) {
+    end(result, "passed");
+  }
+
+  /**
+   * Ends the span of a failed invocation with an error status.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestFailure(ITestResult result) {
+    end(result, "failed");
+  }
+
+  /**
+   * Ends the span of a skipped or retried invocation.
+   *
+   * @param result the test result
+   */
+  @Override
+  public void onTestSkipped(ITestResult result) {
+    end(result, result.wasRetried() ? "retried" : "skipped");
+  }
+
+  /**
+   * Ends the method spans of the data-driven methods, at the end of their last iteration.
+   *
+   * @param context the test context
+   */
+  @Override
+  public void onFinish(ITestContext context) {
+    methodSpans
+        .entrySet()
+        .removeIf(
+            entry -> {
+              if (entry.getKey().getTestClass().getXmlTest() != context.getCurrentXmlTest()) {
+                return false;
+              }
+              entry.getValue().span().end(lastIterationEnd(context, entry.getKey()));
+              return true;
+            });
+  }
+
+  private static void end(ITestResult result, String status) {
+    if (!(result.getAttribute(SPAN_ATTRIBUTE) instanceof Span span)) {
+      return;
+    }
+    span.setAttribute("test.status", status);
+    if (result.getThrowable() != null && !result.wasRetried()) {
+      span.setError(String.valueOf(result.getThrowable()));
+    }
+    span.end();
+  }
+
+  /** Returns when the last iteration of a method ended, or now if none was recorded. */
+  private static long lastIterationEnd(ITestContext context, ITestNGMethod method) {
+    long end = 0;
+    for (var results :
+        Arrays.asList(
+            context.getPassedTests(), context.getFailedTests(), context.getSkippedTests())) {
+      for (ITestResult result : results.getResults(method)) {
+        if (result.getAttribute(SPAN_ATTRIBUTE) instanceof Span span) {
+          end = Math.max(end, span.getEndEpochNanos());
+        }
+      }
+    }
+    return end == 0 ? Tracer.nowEpochNanos() : end;
+  }
+}
@@ -0,0 +1,80 @@
+package testUtils.daemon;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Child-first class loader over the compiled test classes, created for every daemon run so that
+ * recompiled tests and test utilities are loaded afresh with their static state reset, while the
+ * framework, Rest-Assured, Groovy and Allure stay loaded and warm in the parent.
+ *
+ * <p>The daemon itself and the local stub, which keeps serving between runs, are always loaded by
+ * the parent. The static state of the framework is therefore shared by the runs: the statistics it
+ * collects are cleared by {@code BaseTest.setUpSuite()}, while caches such as the OAuth2 token are
+ * kept on purpose.
+ */
+final class TestClassLoader extends URLClassLoader {
+
+  /** Classes, and the classes nested in them, that are shared by every run. */
+  private static final List<String> SHARED_CLASSES =
+      List.of("testUtils.daemon.", "testUtils.LocalStubServer");
+
+  static {
+    registerAsParallelCapable();
+  }
+
+  /**
+   * Constructs a TestClassLoader.
+   *
+   * @param classesDirectory the directory of the compiled test classes
+   * @param parent the class loader of the framework and its dependencies
+   */
+  TestClassLoader(Path classesDirectory, ClassLoader parent) {
+    super(new URL[] {toUrl(classesDirectory)}, parent);
+  }
+
+  /**
+   * Loads a class from the test classes directory before asking the parent, unless it is shared.
+   *
+   * @param name the binary name of the class
+   * @param resolve whether to link the class
+   * @return the class
+   * @throws ClassNotFoundException if neither this loader nor the parent finds the class
+   */
+  @Override
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> loaded = findLoadedClass(name);
+      if (loaded == null && !isShared(name)) {
+        try {
+          loaded = findClass(name);
+        } catch (ClassNotFoundException e) {
+          // Not a test class, loaded by the parent below
+        }
+      }
+      if (loaded == null) {
+        return super.loadClass(name, resolve);
+      }
+      if (resolve) {
+        resolveClass(loaded);
+      }
+      return loaded;
+    }
+  }
+
+  private static boolean isShared(String name) {
+    return name.startsWith("java.")
+        || SHARED_CLASSES.stream().anyMatch(shared -> name.startsWith(shared));
+  }
+
+  private static URL toUrl(Path directory) {
+    try {
+      return directory.toUri().toURL();
+    } catch (MalformedURLException e) {
+      throw new IllegalArgumentException("Invalid test classes directory: " + directory, e);
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package testUtils.daemon;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+import utils.Config;
+
+/**
+ * Resident test runner that keeps the JVM, the loaded and JIT-compiled framework, the HTTP
+ * connections and the OAuth2 token between runs, so rerunning a test costs the test itself rather
+ * than Maven, JVM, Rest-Assured and Groovy startup. Started with {@code mvn -Pdaemon test-compile
+ * exec:exec}, it reads one command per line from the standard input:
+ *
+ * <ul>
+ *   <li>{@code run <selector>...} - runs test classes ({@code FlightOffersTest}), methods ({@code
+ *       FlightOffersTest#testValidSearchFlightOffers}) or groups ({@code smoke}), or {@code all}
+ *       for the suite of {@code testng.xml}
+ *   <li>{@code rerun} or an empty line - repeats the last run
+ *   <li>{@code quit} - stops the daemon
+ * </ul>
+ *
+ * <p>Every run loads the test classes in a new {@link TestClassLoader} on a new thread, so that the
+ * static state of the tests and test utilities starts afresh. The framework classes stay loaded,
+ * and the suite setup clears the latency, coalescing, hedging and profiler statistics they
+ * collected in earlier runs. With {@code daemon.watch}, changed test sources are recompiled in
+ * process and the changed test classes, or the last run if a shared class changed, are rerun.
+ */
+public final class TestDaemon {
+
+  private static final Logger logger = LogManager.getLogger(TestDaemon.class);
+
+  private static final Path TEST_SOURCES = Path.of("src/test/java").toAbsolutePath();
+
+  private static final Path TEST_RESOURCES = Path.of("src/test/resources").toAbsolutePath();
+
+  private static final Path TEST_CLASSES = Path.of("target/test-classes").toAbsolutePath();
+
+  /** Suite run by {@code run all}, whose listeners every run uses. */
+  private static final String SUITE_FILE = "testng.xml";
+
+  /** Listeners that surefire adds to every suite, as configured in {@code pom.xml}. */
+  private static final List<String> SUREFIRE_LISTENERS =
+      List.of(
+          "testUtils.AnnotationTransformer",
+          "testUtils.EndpointAwareMethodInterceptor",
+          "testUtils.TestResultsReporter",
+          "testUtils.PerformanceRegressionGate");
+
+  /** Shared by every run, so its client and pooled connections outlive the run. */
+  private static final HttpClientConfig REUSED_HTTP_CLIENT =
+      HttpClientConfig.httpClientConfig().reuseHttpClientInstance();
+
+  private final Object runLock = new Object();
+  private volatile List<String> lastSelectors;
+
+  private TestDaemon() {}
+
+  /**
+   * Starts the daemon and reads commands until {@code quit} or the end of the input.
+   *
+   * @param args unused
+   * @throws IOException if the standard input cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+    if (System.getProperty("allure.results.directory") == null) {
+      System.setProperty("allure.results.directory", "test-results/allure-results");
+    }
+    TestDaemon daemon = new TestDaemon();
+    if (Config.get().getBoolean("daemon.watch", false)) {
+      TestSourceCompiler compiler =
+          new TestSourceCompiler(TEST_SOURCES, TEST_RESOURCES, TEST_CLASSES);
+      if (!compiler.start(daemon::onRecompiled)) {
+        logger.warn("No Java compiler in this JVM, run the daemon on a JDK to rerun on changes");
+      }
+    }
+    logger.info("Test daemon ready: run <class|class#method|group|all>..., rerun or quit");
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      List<String> words = Arrays.stream(line.trim().split("\\s+")).toList();
+      switch (words.get(0)) {
+        case "quit", "exit" -> {
+          return;
+        }
+        case "run" -> daemon.run(words.subList(1, words.size()));
+        case "", "rerun" -> daemon.rerun();
+        default -> logger.warn("Unknown command: {}", line.trim());
+      }
+    }
+  }
+
+  /** Reruns the recompiled test classes, or the last run if a class they share changed. */
+  private void onRecompiled(List<String> classNames) {
+    List<String> testClasses = findTestClasses();
+    if (!classNames.isEmpty() && testClasses.containsAll(classNames)) {
+      run(classNames);
+    } else {
+      rerun();
+    }
+  }
+
+  private void rerun() {
+    if (lastSelectors == null) {
+      logger.info("Nothing to rerun yet");
+      return;
+    }
+    run(lastSelectors);
+  }
+
+  /**
+   * Runs the selected tests on a new thread and waits for them, one run at a time.
+   *
+   * @param selectors the classes, methods, groups or {@code all}
+   */
+  private void run(List<String> selectors) {
+    if (selectors.isEmpty()) {
+      logger.warn("Nothing to run, pass a class, class#method, group or all");
+      return;
+    }
+    lastSelectors = List.copyOf(selectors);
+    synchronized (runLock) {
+      Thread thread = new Thread(() -> runSuite(selectors), "test-daemon-run");
+      thread.start();
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void runSuite(List<String> selectors) {
+    long start = System.nanoTime();
+    try (TestClassLoader loader =
+        new TestClassLoader(TEST_CLASSES, TestDaemon.class.getClassLoader())) {
+      Thread.currentThread().setContextClassLoader(loader);
+      // The suite adds its filters again, the connections of the shared client are kept
+      RestAssured.reset();
+      if (Config.get().getBoolean("daemon.reuseHttpClient", true)) {
+        RestAssured.config = RestAssured.config().httpClient(REUSED_HTTP_CLIENT);
+      }
+      TestNG testng = new TestNG();
+      testng.setUseDefaultListeners(false);
+      testng.setXmlSuites(List.of(buildSuite(selectors)));
+      testng.run();
+      logger.info(
+          "Run of {} {} in {} ms",
+          String.join(" ", selectors),
+          testng.getStatus() == 0 ? "passed" : "failed",
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    } catch (IOException | RuntimeException e) {
+      logger.error("Run of {} failed: ", String.join(" ", selectors), e);
+    }
+  }
+
+  /**
+   * Builds a suite with one test per selector, with the listeners of {@code testng.xml} and
+   * surefire. Must be called with the run's class loader as the context class loader.
+   */
+  private static XmlSuite buildSuite(List<String> selectors) throws IOException {
+    XmlSuite template = new Parser(SUITE_FILE).parseToList().get(0);
+    for (String listener : SUREFIRE_LISTENERS) {
+      if (!template.getListeners().contains(listener)) {
+        template.addListener(listener);
+      }
+    }
+    if (selectors.equals(List.of("all"))) {
+      return template;
+    }
+    XmlSuite suite = new XmlSuite();
+    suite.setName(template.getName());
+    suite.setVerbose(template.getVerbose());
+    suite.setListeners(template.getListeners());
+    List<String> testClasses = findTestClasses();
+    for (String selector : new LinkedHashSet<>(selectors)) {
+      XmlTest test = new XmlTest(suite);
+      test.setName(selector);
+      String[] parts = selector.split("#", 2);
+      String className = resolveClass(parts[0], testClasses);
+      if (className == null) {
+        test.addIncludedGroup(selector);
+        test.setXmlClasses(testClasses.stream().map(XmlClass::new).toList());
+        continue;
+      }
+      XmlClass xmlClass = new XmlClass(className);
+      if (parts.length > 1) {
+        xmlClass.getIncludedMethods().add(new XmlInclude(parts[1]));
+      }
+      test.setXmlClasses(new ArrayList<>(List.of(xmlClass)));
+    }
+    return suite;
+  }
+
+  /** Returns the test class a selector names by simple or full name, or null for a group. */
+  private static String resolveClass(String selector, List<String> testClasses) {
+    return testClasses.stream()
+        .filter(name -> name.equals(selector) || name.endsWith("." + selector))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /** Returns the compiled test classes, leaving out the base class and the load test entry. */
+  private static List<String> findTestClasses() {
+    Path root = TEST_CLASSES.resolve("tests");
+    if (!Files.isDirectory(root)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.walk(root)) {
+      return files
+          .map(file -> TEST_CLASSES.relativize(file).toString())
+          .filter(file -> file.endsWith("Test.class") && !file.contains("$"))
+          .map(file -> file.substring(0, file.length() - ".class".length()))
+          .map(file -> file.replace(root.getFileSystem().getSeparator(), "."))
+          .filter(name -> !name.equals("tests.BaseTest") && !name.startsWith("tests.load."))
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      logger.error("Failed to list the test classes: ", e);
+      return List.of();
+    }
+  }
+}
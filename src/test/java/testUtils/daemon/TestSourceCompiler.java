@@ -0,0 +1,209 @@
+package testUtils.daemon;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches the test sources and resources of the daemon, compiles the changed sources in process
+ * with the JDK compiler into the test classes directory and copies the changed resources there, so
+ * that the next run loads them without going through Maven.
+ */
+final class TestSourceCompiler {
+
+  private static final Logger logger = LogManager.getLogger(TestSourceCompiler.class);
+
+  /** Time to wait for an editor to finish writing before compiling. */
+  private static final long SETTLE_MS = 200;
+
+  private final Path sourcesDirectory;
+  private final Path resourcesDirectory;
+  private final Path classesDirectory;
+  private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+  /**
+   * Constructs a TestSourceCompiler.
+   *
+   * @param sourcesDirectory the test sources directory
+   * @param resourcesDirectory the test resources directory
+   * @param classesDirectory the test classes directory
+   */
+  TestSourceCompiler(Path sourcesDirectory, Path resourcesDirectory, Path classesDirectory) {
+    this.sourcesDirectory = sourcesDirectory;
+    this.resourcesDirectory = resourcesDirectory;
+    this.classesDirectory = classesDirectory;
+  }
+
+  /**
+   * Starts watching from a daemon thread. After every change that compiles, the listener is called
+   * with the names of the recompiled classes, which is empty if only resources changed.
+   *
+   * @param listener the listener
+   * @return false if the JVM has no compiler, as on a JRE
+   */
+  boolean start(Consumer<List<String>> listener) {
+    if (compiler == null) {
+      return false;
+    }
+    Thread thread = new Thread(() -> watch(listener), "test-source-watcher");
+    thread.setDaemon(true);
+    thread.start();
+    return true;
+  }
+
+  private void watch(Consumer<List<String>> listener) {
+    try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+      register(watchService, sourcesDirectory);
+      register(watchService, resourcesDirectory);
+      while (true) {
+        Set<Path> changed = new LinkedHashSet<>();
+        WatchKey key = watchService.take();
+        do {
+          Path directory = (Path) key.watchable();
+          for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path name) {
+              Path path = directory.resolve(name);
+              if (Files.isDirectory(path)) {
+                register(watchService, path);
+              } else if (Files.isRegularFile(path)) {
+                changed.add(path);
+              }
+            }
+          }
+          key.reset();
+          key = watchService.poll(SETTLE_MS, TimeUnit.MILLISECONDS);
+        } while (key != null);
+        if (!changed.isEmpty()) {
+          onChange(changed, listener);
+        }
+      }
+    } catch (IOException e) {
+      logger.error("Failed to watch the test sources: ", e);
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void onChange(Set<Path> changed, Consumer<List<String>> listener) {
+    long start = System.nanoTime();
+    List<Path> sources = new ArrayList<>();
+    for (Path path : changed) {
+      if (path.startsWith(sourcesDirectory)) {
+        if (path.toString().endsWith(".java")) {
+          sources.add(path);
+        }
+      } else {
+        copyResource(path);
+      }
+    }
+    if (!sources.isEmpty() && !compile(sources)) {
+      return;
+    }
+    logger.info(
+        "Updated {} changed file(s) in {} ms",
+        changed.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    listener.accept(sources.stream().map(this::className).toList());
+  }
+
+  /**
+   * Compiles sources into the classes directory, with the test classpath and the other test sources
+   * available to resolve references.
+   *
+   * @param sources the source files
+   * @return true if the sources compiled
+   */
+  private boolean compile(List<Path> sources) {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+      List<String> options =
+          List.of(
+              "-d",
+              classesDirectory.toString(),
+              "-classpath",
+              System.getProperty("java.class.path"),
+              "-sourcepath",
+              sourcesDirectory.toString(),
+              "-encoding",
+              "UTF-8");
+      boolean compiled =
+          compiler
+              .getTask(
+                  null,
+                  fileManager,
+                  diagnostics,
+                  options,
+                  null,
+                  fileManager.getJavaFileObjectsFromPaths(sources))
+              .call();
+      for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+        if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+          logger.error(
+              "{}:{}: {}",
+              diagnostic.getSource() == null ? "" : diagnostic.getSource().getName(),
+              diagnostic.getLineNumber(),
+              diagnostic.getMessage(Locale.ROOT));
+        }
+      }
+      return compiled;
+    } catch (IOException e) {
+      logger.error("Failed to compile the test sources: ", e);
+      return false;
+    }
+  }
+
+  private void copyResource(Path path) {
+    try {
+      Path target = classesDirectory.resolve(resourcesDirectory.relativize(path).toString());
+      Files.createDirectories(target.getParent());
+      Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      logger.error("Failed to copy test resource {}: ", path, e);
+    }
+  }
+
+  private String className(Path source) {
+    String relative = sourcesDirectory.relativize(source).toString();
+    return relative
+        .substring(0, relative.length() - ".java".length())
+        .replace(source.getFileSystem().getSeparator(), ".");
+  }
+
+  private static void register(WatchService watchService, Path root) throws IOException {
+    if (!Files.isDirectory(root)) {
+      return;
+    }
+    try (Stream<Path> directories = Files.walk(root)) {
+      for (Path directory : directories.filter(Files::isDirectory).toList()) {
+        directory.register(
+            watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+      }
+    }
+  }
+}
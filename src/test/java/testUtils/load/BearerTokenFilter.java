@@ -0,0 +1,33 @@
+package testUtils.load;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import utils.TokenManager;
+
+/**
+ * A Rest-Assured filter that sets the Authorization header of every request to the current access
+ * token, so that concurrent load invocations share one token without replacing the global request
+ * specification, and a token that expires during the run is refreshed once.
+ */
+class BearerTokenFilter implements Filter {
+
+  /**
+   * Adds the bearer token to the request and sends it.
+   *
+   * @param requestSpec the request specification
+   * @param responseSpec the response specification
+   * @param filterContext the filter context
+   * @return the response
+   */
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext filterContext) {
+    requestSpec.replaceHeader("Authorization", "Bearer " + TokenManager.getToken());
+    return filterContext.next(requestSpec, responseSpec);
+  }
+}
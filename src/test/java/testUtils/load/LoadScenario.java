@@ -0,0 +1,276 @@
+package testUtils.load;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import tests.BaseTest;
+
+/**
+ * A weighted load test scenario built from existing TestNG test methods.
+ *
+ * <p>A scenario is selected either by group ({@code smoke}, {@code regression}), by class ({@code
+ * FlightOffersTest}) or by method ({@code FlightOffersTest#testValidSearchFlightOffers}). Every
+ * matching test method is expanded into one operation per data provider row, and the scenario
+ * cycles through its operations round-robin, so the traffic mix follows the functional test data.
+ * The test methods are invoked as they are, so their assertions act as response checks.
+ *
+ * <p>Methods that depend on other methods are left out, as they rely on state produced by an
+ * earlier test in the same run.
+ */
+public class LoadScenario {
+
+  private static final Logger logger = LogManager.getLogger(LoadScenario.class);
+
+  /** Package scanned for test classes. */
+  private static final String TESTS_PACKAGE = "tests";
+
+  /** Package of the load test entry points, which are never used as scenarios. */
+  private static final String LOAD_TESTS_PACKAGE = "tests.load";
+
+  private final String name;
+  private final double weight;
+  private final List<Operation> operations;
+  private final AtomicInteger cursor = new AtomicInteger();
+
+  /**
+   * Represents a single test method invocation with one row of test data.
+   *
+   * @param instance the test class instance
+   * @param method the test method
+   * @param args the arguments for the invocation
+   */
+  public record Operation(BaseTest instance, Method method, Object[] args) {
+
+    /**
+     * Invokes the test method. The token is not refreshed here, as the load runner authorizes each
+     * request itself.
+     *
+     * @throws Throwable the assertion error or exception raised by the test method
+     */
+    public void invoke() throws Throwable {
+      try {
+        method.invoke(instance, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    /**
+     * Returns a readable name of the operation.
+     *
+     * @return class simple name and method name
+     */
+    public String name() {
+      return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+  }
+
+  private LoadScenario(String name, double weight, List<Operation> operations) {
+    this.name = name;
+    this.weight = weight;
+    this.operations = operations;
+  }
+
+  /**
+   * Returns the scenario name (its selector).
+   *
+   * @return scenario name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the relative weight of the scenario in the workload.
+   *
+   * @return scenario weight
+   */
+  public double getWeight() {
+    return weight;
+  }
+
+  /**
+   * Returns the operations of the scenario.
+   *
+   * @return operations in round-robin order
+   */
+  public List<Operation> getOperations() {
+    return operations;
+  }
+
+  /**
+   * Returns the next operation in round-robin order. Safe to call from many threads.
+   *
+   * @return the next operation
+   */
+  public Operation next() {
+    return operations.get(Math.floorMod(cursor.getAndIncrement(), operations.size()));
+  }
+
+  /**
+   * Parses a workload specification into scenarios.
+   *
+   * <p>The specification is a comma separated list of {@code selector:weight} entries, for example
+   * {@code smoke:3, FlightOffersTest#testValidSearchFlightOffers:1, SearchHotelsTest:2}. The weight
+   * defaults to 1 when omitted.
+   *
+   * @param specification the workload specification
+   * @param context the test context passed to test methods that take an {@link ITestContext}
+   * @return the resolved scenarios
+   * @throws IllegalArgumentException if a selector matches no runnable test method
+   */
+  public static List<LoadScenario> parse(String specification, ITestContext context) {
+    List<Class<?>> testClasses = findTestClasses();
+    Map<Class<?>, BaseTest> instances = new HashMap<>();
+    List<LoadScenario> scenarios = new ArrayList<>();
+
+    for (String entry : specification.split(",")) {
+      String trimmed = entry.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      int weightIndex = trimmed.lastIndexOf(':');
+      String selector = weightIndex > 0 ? trimmed.substring(0, weightIndex).trim() : trimmed;
+      double weight =
+          weightIndex > 0 ? Double.parseDouble(trimmed.substring(weightIndex + 1).trim()) : 1.0;
+
+      List<Operation> operations = new ArrayList<>();
+      for (Class<?> testClass : testClasses) {
+        for (Method method : testClass.getMethods()) {
+          Test test = method.getAnnotation(Test.class);
+          if (test != null && matches(selector, testClass, method, test)) {
+            if (test.dependsOnMethods().length > 0) {
+              logger.warn("Skipping {} in load scenario, it depends on other methods", method);
+              continue;
+            }
+            BaseTest instance = instances.computeIfAbsent(testClass, LoadScenario::newInstance);
+            for (Object[] args : getDataRows(instance, method, test)) {
+              operations.add(new Operation(instance, method, withContext(method, args, context)));
+            }
+          }
+        }
+      }
+      if (operations.isEmpty()) {
+        throw new IllegalArgumentException("No runnable test methods match selector: " + selector);
+      }
+      operations.sort(Comparator.comparing(Operation::name));
+      logger.info(
+          "Load scenario '{}' (weight {}) has {} operations", selector, weight, operations.size());
+      scenarios.add(new LoadScenario(selector, weight, List.copyOf(operations)));
+    }
+    return scenarios;
+  }
+
+  private static boolean matches(String selector, Class<?> testClass, Method method, Test test) {
+    if (selector.contains("#")) {
+      String[] parts = selector.split("#", 2);
+      return classMatches(parts[0], testClass) && method.getName().equals(parts[1]);
+    }
+    return Arrays.asList(test.groups()).contains(selector) || classMatches(selector, testClass);
+  }
+
+  private static boolean classMatches(String selector, Class<?> testClass) {
+    return testClass.getSimpleName().equals(selector) || testClass.getName().equals(selector);
+  }
+
+  /** Resolves the data provider rows of a test method, or a single empty row. */
+  private static List<Object[]> getDataRows(BaseTest instance, Method method, Test test) {
+    if (test.dataProvider().isEmpty()) {
+      return List.<Object[]>of(new Object[0]);
+    }
+    Class<?> providerClass =
+        test.dataProviderClass() == Object.class ? instance.getClass() : test.dataProviderClass();
+    for (Method candidate : providerClass.getMethods()) {
+      DataProvider dataProvider = candidate.getAnnotation(DataProvider.class);
+      if (dataProvider != null
+          && (dataProvider.name().equals(test.dataProvider())
+              || candidate.getName().equals(test.dataProvider()))) {
+        try {
+          Object target = Modifier.isStatic(candidate.getModifiers()) ? null : instance;
+          Object rows = candidate.invoke(target);
+          return Arrays.stream((Object[]) rows)
+              .map(row -> row instanceof Object[] values ? values : new Object[] {row})
+              .toList();
+        } catch (ReflectiveOperationException e) {
+          throw new IllegalStateException("Failed to invoke data provider " + candidate, e);
+        }
+      }
+    }
+    throw new IllegalStateException("Data provider not found: " + test.dataProvider());
+  }
+
+  /** Appends the test context for test methods that declare an {@link ITestContext} parameter. */
+  private static Object[] withContext(Method method, Object[] args, ITestContext context) {
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    if (parameterTypes.length == args.length + 1
+        && ITestContext.class.isAssignableFrom(parameterTypes[args.length])) {
+      Object[] withContext = Arrays.copyOf(args, args.length + 1);
+      withContext[args.length] = context;
+      return withContext;
+    }
+    return args;
+  }
+
+  private static BaseTest newInstance(Class<?> testClass) {
+    try {
+      return (BaseTest) testClass.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to instantiate " + testClass, e);
+    }
+  }
+
+  /** Finds the concrete test classes extending {@link BaseTest} on the test classpath. */
+  private static List<Class<?>> findTestClasses() {
+    URL root = LoadScenario.class.getClassLoader().getResource(TESTS_PACKAGE);
+    if (root == null) {
+      throw new IllegalStateException("Test package not found on classpath: " + TESTS_PACKAGE);
+    }
+    try (Stream<Path> files = Files.walk(Path.of(root.toURI()))) {
+      Path base = Path.of(root.toURI()).getParent();
+      return files
+          .filter(file -> file.toString().endsWith(".class") && !file.toString().contains("$"))
+          .map(file -> base.relativize(file).toString().replace(".class", ""))
+          .map(name -> name.replace(base.getFileSystem().getSeparator(), "."))
+          .map(LoadScenario::loadClass)
+          .filter(
+              testClass ->
+                  BaseTest.class.isAssignableFrom(testClass)
+                      && !Modifier.isAbstract(testClass.getModifiers())
+                      && testClass != BaseTest.class
+                      && !testClass.getPackageName().startsWith(LOAD_TESTS_PACKAGE))
+          .sorted(Comparator.comparing(Class::getName))
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (URISyntaxException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Class<?> loadClass(String className) {
+    try {
+      return Class.forName(className);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
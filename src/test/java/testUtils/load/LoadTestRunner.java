@@ -0,0 +1,292 @@
+package testUtils.load;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import testUtils.TestResultsRecords.LatencyPercentiles;
+import testUtils.TestResultsRecords.LoadScenarioResult;
+import testUtils.TestResultsRecords.LoadTestReport;
+import utils.perf.LatencyRecorder;
+import utils.perf.LatencyRecorder.RequestLatency;
+
+/**
+ * Open-loop load generator that drives weighted {@link LoadScenario}s at a target arrival rate for
+ * a fixed duration.
+ *
+ * <p>Invocations are scheduled on a fixed timeline: invocation {@code i} is intended to start at
+ * {@code start + i / arrivalRate}, whatever happened to earlier invocations, and each one runs on
+ * its own virtual thread. A slow response therefore never delays the requests behind it, and
+ * latency is measured from the intended start time rather than from the moment the request was
+ * actually sent. This corrects for coordinated omission: when the system under test stalls, the
+ * waiting time of every request that should have been sent during the stall is counted, as real
+ * users would experience it. The service time (measured from the actual start) is reported next to
+ * it, so the gap between the two shows how much queueing the generator itself observed.
+ *
+ * <p>Latencies are recorded in microseconds into HdrHistogram {@link Recorder}s, whose recording
+ * path is wait-free, so virtual threads never contend on a lock. The per-scenario and per-endpoint
+ * histograms are merged once the run has finished. Endpoint latencies are those of the individual
+ * requests, the first request of an invocation also counting the delay of the invocation's start.
+ * An invocation counts as an error when the test method throws, which includes failed status code
+ * and body assertions.
+ */
+public class LoadTestRunner {
+
+  private static final Logger logger = LogManager.getLogger(LoadTestRunner.class);
+
+  /** Path where the merged latency distribution is written in HdrHistogram percentile format. */
+  private static final String LATENCY_DISTRIBUTION_FILE_PATH =
+      "test-results/load-test-latency.hgrm";
+
+  /** Number of significant value digits kept by the histograms. */
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final List<LoadScenario> scenarios;
+  private final double arrivalRatePerSecond;
+  private final Duration duration;
+  private final int maxInFlight;
+  private final double[] cumulativeWeights;
+  private final Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+  private final Map<String, Recorder> endpointRecorders = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder dropped = new LongAdder();
+
+  /** Per-scenario counters and histograms shared by all invocations. */
+  private static final class ScenarioStats {
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+  }
+
+  /**
+   * Constructs a LoadTestRunner.
+   *
+   * @param scenarios the weighted scenarios to drive
+   * @param arrivalRatePerSecond the target number of invocations started per second
+   * @param duration how long to generate load
+   * @param maxInFlight safety cap on concurrent invocations; scheduled invocations beyond it are
+   *     dropped and counted as errors instead of delaying the schedule
+   */
+  public LoadTestRunner(
+      List<LoadScenario> scenarios,
+      double arrivalRatePerSecond,
+      Duration duration,
+      int maxInFlight) {
+    if (scenarios.isEmpty()) {
+      throw new IllegalArgumentException("At least one load scenario is required");
+    }
+    this.scenarios = scenarios;
+    this.arrivalRatePerSecond = arrivalRatePerSecond;
+    this.duration = duration;
+    this.maxInFlight = maxInFlight;
+    this.cumulativeWeights = new double[scenarios.size()];
+    double total = 0;
+    for (int i = 0; i < scenarios.size(); i++) {
+      total += scenarios.get(i).getWeight();
+      cumulativeWeights[i] = total;
+      stats.put(scenarios.get(i).getName(), new ScenarioStats());
+    }
+  }
+
+  /**
+   * Runs the workload and blocks until every scheduled invocation has completed. Every request
+   * carries the current token itself, so the invocations share one token and never replace the
+   * global request specification.
+   *
+   * @return the load test report
+   * @throws InterruptedException if interrupted while waiting for the invocations
+   */
+  public LoadTestReport run() throws InterruptedException {
+    RequestSpecification originalSpec = RestAssured.requestSpecification;
+    RestAssured.requestSpecification =
+        new RequestSpecBuilder().addFilter(new BearerTokenFilter()).build();
+    try {
+      return schedule();
+    } finally {
+      RestAssured.requestSpecification = originalSpec;
+    }
+  }
+
+  private LoadTestReport schedule() throws InterruptedException {
+    logger.info(
+        "Starting open-loop load test: {} invocations/s for {} (max {} in flight)",
+        arrivalRatePerSecond,
+        duration,
+        maxInFlight);
+    double intervalNanos = TimeUnit.SECONDS.toNanos(1) / arrivalRatePerSecond;
+    long startNanos = System.nanoTime();
+    long scheduled = (long) (duration.toNanos() / intervalNanos);
+
+    for (long i = 0; i < scheduled; i++) {
+      long intendedStart = startNanos + (long) (i * intervalNanos);
+      long wait = intendedStart - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      LoadScenario scenario = pickScenario();
+      if (inFlight.incrementAndGet() > maxInFlight) {
+        inFlight.decrementAndGet();
+        dropped.increment();
+        ScenarioStats scenarioStats = stats.get(scenario.getName());
+        scenarioStats.invocations.increment();
+        scenarioStats.errors.increment();
+        scenarioStats.firstError.compareAndSet(
+            null, "Dropped, more than " + maxInFlight + " in flight");
+        continue;
+      }
+      Thread.ofVirtual().name("load-" + i).start(() -> invoke(scenario, intendedStart));
+    }
+
+    // Wait for the stragglers; their latency keeps growing from the intended start
+    while (inFlight.get() > 0) {
+      Thread.sleep(10);
+    }
+    long elapsedNanos = System.nanoTime() - startNanos;
+    return buildReport(elapsedNanos);
+  }
+
+  private void invoke(LoadScenario scenario, long intendedStart) {
+    ScenarioStats scenarioStats = stats.get(scenario.getName());
+    LoadScenario.Operation operation = scenario.next();
+    long actualStart = System.nanoTime();
+    LatencyRecorder.startCapture();
+    try {
+      operation.invoke();
+    } catch (Throwable e) {
+      scenarioStats.errors.increment();
+      scenarioStats.firstError.compareAndSet(
+          null, operation.name() + ": " + e.getClass().getSimpleName() + " " + e.getMessage());
+    } finally {
+      long end = System.nanoTime();
+      List<RequestLatency> requests = LatencyRecorder.stopCapture();
+      scenarioStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(end - intendedStart));
+      scenarioStats.serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(end - actualStart));
+      // The first request also waited for the late start of its invocation
+      long startDelay = actualStart - intendedStart;
+      for (RequestLatency request : requests) {
+        endpointRecorders
+            .computeIfAbsent(request.endpoint(), key -> new Recorder(SIGNIFICANT_DIGITS))
+            .recordValue(TimeUnit.NANOSECONDS.toMicros(request.durationNanos() + startDelay));
+        startDelay = 0;
+      }
+      scenarioStats.invocations.increment();
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private LoadScenario pickScenario() {
+    double point =
+        ThreadLocalRandom.current().nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (point < cumulativeWeights[i]) {
+        return scenarios.get(i);
+      }
+    }
+    return scenarios.get(scenarios.size() - 1);
+  }
+
+  private LoadTestReport buildReport(long elapsedNanos) {
+    double elapsedSeconds = elapsedNanos / 1e9;
+    Map<String, LoadScenarioResult> results = new LinkedHashMap<>();
+    Histogram totalLatency = new Histogram(SIGNIFICANT_DIGITS);
+    Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+    long invocations = 0;
+    long errors = 0;
+    for (LoadScenario scenario : scenarios) {
+      ScenarioStats scenarioStats = stats.get(scenario.getName());
+      Histogram latency = scenarioStats.latency.getIntervalHistogram();
+      Histogram serviceTime = scenarioStats.serviceTime.getIntervalHistogram();
+      totalLatency.add(latency);
+      totalServiceTime.add(serviceTime);
+
+      long scenarioInvocations = scenarioStats.invocations.sum();
+      long scenarioErrors = scenarioStats.errors.sum();
+      invocations += scenarioInvocations;
+      errors += scenarioErrors;
+      results.put(
+          scenario.getName(),
+          new LoadScenarioResult(
+              scenario.getWeight(),
+              scenarioInvocations,
+              scenarioErrors,
+              percent(scenarioErrors, scenarioInvocations),
+              scenarioInvocations / elapsedSeconds,
+              percentiles(latency),
+              percentiles(serviceTime),
+              scenarioStats.firstError.get()));
+    }
+
+    Map<String, LatencyPercentiles> endpointLatency = new LinkedHashMap<>();
+    endpointRecorders.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(
+            entry ->
+                endpointLatency.put(
+                    entry.getKey(), percentiles(entry.getValue().getIntervalHistogram())));
+
+    writeLatencyDistribution(totalLatency);
+    return new LoadTestReport(
+        arrivalRatePerSecond,
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+        invocations,
+        errors,
+        dropped.sum(),
+        percent(errors, invocations),
+        invocations / elapsedSeconds,
+        percentiles(totalLatency),
+        percentiles(totalServiceTime),
+        endpointLatency,
+        results);
+  }
+
+  private static double percent(long part, long total) {
+    return total == 0 ? 0 : part * 100.0 / total;
+  }
+
+  /** Converts a microsecond histogram to millisecond percentiles. */
+  private static LatencyPercentiles percentiles(Histogram histogram) {
+    return new LatencyPercentiles(
+        toMillis(histogram.getValueAtPercentile(50)),
+        toMillis(histogram.getValueAtPercentile(90)),
+        toMillis(histogram.getValueAtPercentile(95)),
+        toMillis(histogram.getValueAtPercentile(99)),
+        toMillis(histogram.getMaxValue()));
+  }
+
+  private static long toMillis(long micros) {
+    return TimeUnit.MICROSECONDS.toMillis(micros);
+  }
+
+  /** Writes the full latency distribution for plotting with the HdrHistogram plotter. */
+  private static void writeLatencyDistribution(Histogram histogram) {
+    Path file = Path.of(LATENCY_DISTRIBUTION_FILE_PATH);
+    try {
+      Files.createDirectories(file.getParent());
+      try (PrintStream printStream = new PrintStream(Files.newOutputStream(file))) {
+        histogram.outputPercentileDistribution(printStream, 1000.0);
+      }
+    } catch (IOException e) {
+      logger.error("Failed to write latency distribution: ", e);
+    }
+  }
+}
@@ -1,39 +1,162 @@
 package tests;
 
-import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.Filter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Listeners;
-import testUtils.AnnotationTransformer;
+import testUtils.AllureAttachmentFilter;
+import testUtils.AllureAttachmentListener;
+import testUtils.AllureAttachments;
+import testUtils.DashboardListener;
+import testUtils.LocalStubServer;
+import testUtils.ResponseTimeSlaFilter;
+import testUtils.SchemaValidationFilter;
 import testUtils.TestResultLoggerListener;
-import utils.ReadProperties;
+import testUtils.TracingListener;
+import utils.Config;
 import utils.RestAssuredLoggerFilter;
 import utils.TokenManager;
+import utils.dashboard.DashboardFilter;
+import utils.dashboard.DashboardServer;
+import utils.jfr.FlightRecording;
+import utils.jfr.JfrEventFilter;
+import utils.metrics.MetricsExporter;
+import utils.metrics.MetricsFilter;
+import utils.perf.CoalescingFilter;
+import utils.perf.HedgingFilter;
+import utils.perf.LatencyRecorder;
+import utils.perf.PhaseProfiler;
+import utils.perf.Span;
+import utils.perf.Tracer;
+import utils.perf.TracingFilter;
+import utils.ratelimit.RateLimitFilter;
+import utils.ratelimit.RateLimiter;
 
 /**
  * Base test class for Amadeus API tests. Handles common setup like authentication, request logging,
  * and configuration. All test classes should extend this to inherit suite-level and per-method
  * setup.
  */
-@Listeners({TestResultLoggerListener.class, io.qameta.allure.testng.AllureTestNg.class})
+@Listeners({
+  TestResultLoggerListener.class,
+  TracingListener.class,
+  DashboardListener.class,
+  AllureAttachmentListener.class,
+  io.qameta.allure.testng.AllureTestNg.class
+})
 public class BaseTest {
 
-  protected static final ReadProperties readProperties = new ReadProperties();
+  /** Path where the framework overhead report is written when the phase profiler is enabled. */
+  private static final String FRAMEWORK_OVERHEAD_FILE_PATH = "test-results/framework-overhead.json";
+
+  /** Path where the hedging statistics are written when request hedging is enabled. */
+  private static final String HEDGING_REPORT_FILE_PATH = "test-results/hedging-report.json";
+
+  /** Path where the coalescing statistics are written when request coalescing is enabled. */
+  private static final String COALESCING_REPORT_FILE_PATH = "test-results/coalescing-report.json";
+
+  /** Root span of the run's trace, when tracing is enabled. */
+  private static Span suiteSpan = Span.NOOP;
 
   protected Logger logger = LogManager.getLogger(getClass());
 
   /**
-   * Sets up suite-wide RestAssured configuration before any tests run. Adds logging filters and
-   * sets the base URI for all requests.
+   * Sets up the suite before any tests run:
+   *
+   * <ul>
+   *   <li>clears the statistics that earlier runs in the same JVM recorded
+   *   <li>starts the flight recording, the trace of the run, the metrics export and the live
+   *       dashboard, each when enabled
+   *   <li>adds the filters of {@link #createFilters()} to every request
+   *   <li>sets the base URI, pointing it at the local stub when {@code localStub.enabled} is set
+   * </ul>
    */
   @BeforeSuite(alwaysRun = true)
   public void setUpSuite() {
-    RestAssured.filters(new RestAssuredLoggerFilter(), new AllureRestAssured());
-    RestAssured.baseURI = readProperties.getProperty("baseURI");
+    // The framework's statistics outlive a run when the JVM is reused, as by the test daemon
+    LatencyRecorder.reset();
+    CoalescingFilter.reset();
+    HedgingFilter.reset();
+    PhaseProfiler.reset();
+    if (FlightRecording.isEnabled()) {
+      FlightRecording.start();
+    }
+    if (Tracer.isEnabled()) {
+      suiteSpan = Tracer.startSuite("suite");
+    }
+    if (MetricsExporter.isEnabled()) {
+      MetricsExporter.start();
+    }
+    if (DashboardServer.isEnabled()) {
+      DashboardServer.start();
+    }
+    RestAssured.filters(createFilters());
+    RestAssured.baseURI =
+        LocalStubServer.isEnabled()
+            ? LocalStubServer.start().getBaseUri()
+            : Config.get().getString("baseURI");
+  }
+
+  /**
+   * Creates the filters that {@link #setUpSuite()} adds to every request, so that benchmarks can
+   * measure the same chain. In order:
+   *
+   * <ol>
+   *   <li>request tracing, if {@code tracing.enabled} is set
+   *   <li>request coalescing, if {@code coalesce.enabled} is set
+   *   <li>per-endpoint rate limiting, if {@code rateLimit.enabled} is set
+   *   <li>metrics, if {@code metrics.enabled} is set
+   *   <li>live dashboard, if {@code dashboard.enabled} is set
+   *   <li>logging and bounded Allure attachments
+   *   <li>response schema validation, unless {@code schema.mode} is off
+   *   <li>latency recording
+   *   <li>flight recorder events, unless {@code jfr.events.enabled} is false
+   *   <li>response time SLAs
+   *   <li>request hedging, if {@code hedge.enabled} is set
+   * </ol>
+   *
+   * @return the enabled filters, instrumented by the phase profiler when it is enabled
+   */
+  public static List<Filter> createFilters() {
+    List<Filter> filters = new ArrayList<>();
+    if (Tracer.isEnabled()) {
+      filters.add(new TracingFilter());
+    }
+    if (CoalescingFilter.isEnabled()) {
+      filters.add(new CoalescingFilter());
+    }
+    RateLimiter rateLimiter = RateLimitFilter.isEnabled() ? RateLimiter.fromConfig() : null;
+    if (rateLimiter != null) {
+      filters.add(new RateLimitFilter(rateLimiter));
+    }
+    if (MetricsExporter.isEnabled()) {
+      filters.add(new MetricsFilter());
+    }
+    if (DashboardServer.isEnabled()) {
+      filters.add(new DashboardFilter());
+    }
+    filters.add(new RestAssuredLoggerFilter());
+    filters.add(new AllureAttachmentFilter());
+    if (SchemaValidationFilter.isEnabled()) {
+      filters.add(new SchemaValidationFilter());
+    }
+    filters.add(new LatencyRecorder());
+    if (JfrEventFilter.isEnabled()) {
+      filters.add(new JfrEventFilter());
+    }
+    filters.add(new ResponseTimeSlaFilter());
+    if (HedgingFilter.isEnabled()) {
+      filters.add(new HedgingFilter(rateLimiter));
+    }
+    return PhaseProfiler.instrument(filters);
   }
 
   /**
@@ -42,14 +165,49 @@ public class BaseTest {
    */
   @BeforeMethod(alwaysRun = true)
   public void updateToken() {
+    Span span = Tracer.startSpan("token refresh");
     try {
+      long start = System.nanoTime();
       String token = TokenManager.getToken();
       RestAssured.requestSpecification =
           new RequestSpecBuilder().setAuth(RestAssured.oauth2(token)).build();
+      PhaseProfiler.record(PhaseProfiler.TOKEN, System.nanoTime() - start);
       logger.debug("Token refreshed if needed");
     } catch (Exception e) {
+      span.setError(e.toString());
       logger.error("Failed to refresh token", e);
       throw new RuntimeException("Token refresh failed", e);
+    } finally {
+      span.end();
+    }
+  }
+
+  /**
+   * Waits for the Allure attachments to be written, and writes the framework overhead, hedging and
+   * coalescing reports, the trace and the final metrics textfile after the suite and stops the live
+   * dashboard, when the phase profiler, request hedging, request coalescing, tracing, metrics and
+   * the dashboard are enabled.
+   */
+  @AfterSuite(alwaysRun = true)
+  public void writePerformanceReports() {
+    AllureAttachments.awaitWrites();
+    if (Tracer.isEnabled()) {
+      Tracer.endSuite(suiteSpan);
+    }
+    if (PhaseProfiler.isEnabled()) {
+      PhaseProfiler.writeReport(Path.of(FRAMEWORK_OVERHEAD_FILE_PATH));
+    }
+    if (HedgingFilter.isEnabled()) {
+      HedgingFilter.writeReport(Path.of(HEDGING_REPORT_FILE_PATH));
+    }
+    if (CoalescingFilter.isEnabled()) {
+      CoalescingFilter.writeReport(Path.of(COALESCING_REPORT_FILE_PATH));
+    }
+    if (MetricsExporter.isEnabled()) {
+      MetricsExporter.stop();
+    }
+    if (DashboardServer.isEnabled()) {
+      DashboardServer.stop();
     }
   }
 }
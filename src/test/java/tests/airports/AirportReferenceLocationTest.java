@@ -17,6 +17,7 @@ import records.AirportQueriesWrapper.AirportQuery;
 import records.LocationWrapper;
 import testUtils.Assertion;
 import tests.BaseTest;
+import utils.Config;
 import utils.JsonUtils;
 
 /**
@@ -28,7 +29,7 @@ import utils.JsonUtils;
 @Severity(SeverityLevel.NORMAL)
 public class AirportReferenceLocationTest extends BaseTest {
 
-  public static final String AIRPORT_LOCATIONS = readProperties.getProperty("airportLocations");
+  public static final String AIRPORT_LOCATIONS = Config.get().getString("airportLocations");
 
   /**
    * Tests the airport reference data locations API endpoint.
@@ -1,7 +1,5 @@
 package tests.carAndTransfers;
 
-import static testUtils.LoggingMatcher.log;
-
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -9,16 +7,17 @@ import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import org.hamcrest.Matchers;
 import org.testng.annotations.Test;
 import testUtils.Assertion;
+import testUtils.RequestTemplate;
+import testUtils.ResponseAssertions;
 import tests.BaseTest;
+import utils.Config;
 
 /**
  * Test class for Car and Transfer Offers API endpoints. Tests functionality for searching available
@@ -29,7 +28,11 @@ import tests.BaseTest;
 @Severity(SeverityLevel.NORMAL)
 public class TransferOffersTest extends BaseTest {
 
-  public static final String TRANSFER_OFFERS = readProperties.getProperty("transferOffers");
+  public static final String TRANSFER_OFFERS = Config.get().getString("transferOffers");
+
+  /** Transfer search from Bangalore Airport to MTP, filled with the start time and passengers. */
+  private static final RequestTemplate TRANSFER_OFFERS_BODY =
+      RequestTemplate.of("transfer_offers_body.json");
 
   /**
    * Tests searching for transfer offers between locations. Tests transfer offers from Bangalore
@@ -42,33 +45,21 @@ public class TransferOffersTest extends BaseTest {
 
     LocalDateTime startDateTime = LocalDateTime.now().plusHours(10);
 
-    Map<String, Object> payload = new LinkedHashMap<>();
-    payload.put("startLocationCode", "BLR");
-    payload.put("endAddressLine", "MTP");
-    payload.put("endCityName", "BENGALURU");
-    payload.put("endCountryCode", "IN");
-    payload.put("endGeoCode", "13.045484,77.606354");
-    payload.put("startDateTime", startDateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-    payload.put("passengers", 2);
+    byte[] payload = TRANSFER_OFFERS_BODY.render(startDateTime, 2);
 
     Response response =
-        RestAssured.given()
-            .contentType(ContentType.JSON)
-            .body(payload)
-            .post(TRANSFER_OFFERS)
-            .then()
-            .log()
-            .ifValidationFails()
+        RestAssured.given().contentType(ContentType.JSON).body(payload).post(TRANSFER_OFFERS);
+    JsonPath json =
+        ResponseAssertions.assertThat(response, logger)
             .statusCode(200)
-            .body(
-                "data.type.unique()", log(logger, Matchers.hasItem("transfer-offer"), "Data Type"))
+            .body("data.type.unique()", Matchers.hasItem("transfer-offer"), "Data Type")
             .body(
                 "data.transferType.unique()",
-                log(logger, Matchers.hasItem("PRIVATE"), "Atleast 1 Private transfer type"))
-            .extract()
-            .response();
+                Matchers.hasItem("PRIVATE"),
+                "Atleast 1 Private transfer type")
+            .verify();
 
-    List<String> startTimeList = response.jsonPath().getList("data.start.dateTime");
+    List<String> startTimeList = json.getList("data.start.dateTime");
     Assertion.assertTrue(
         startTimeList.stream()
             .map(LocalDateTime::parse)
@@ -14,6 +14,7 @@ import org.hamcrest.Matchers;
 import org.testng.ITestContext;
 import org.testng.annotations.Test;
 import tests.BaseTest;
+import utils.Config;
 
 /**
  * Test class for Destination Experiences API endpoints. Tests functionality for searching tours and
@@ -24,7 +25,7 @@ import tests.BaseTest;
 @Severity(SeverityLevel.NORMAL)
 public class ToursAndActivitiesTest extends BaseTest {
 
-  public static final String ACTIVITIES_SEARCH = readProperties.getProperty("activitiesSearch");
+  public static final String ACTIVITIES_SEARCH = Config.get().getString("activitiesSearch");
 
   /**
    * Tests searching for destination activities by location. Searches for activities near Barcelona
@@ -7,12 +7,12 @@ import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import org.testng.annotations.Test;
 import testUtils.Assertion;
+import testUtils.DoubleInvariant;
+import testUtils.StreamingInvariants;
 import tests.BaseTest;
+import utils.Config;
 
 /**
  * Test class for Flight Inspiration Search API endpoints. Tests functionality for finding and
@@ -23,13 +23,13 @@ import tests.BaseTest;
 @Severity(SeverityLevel.NORMAL)
 public class FlightInspirationTest extends BaseTest {
 
-  public static final String FLIGHT_DATES = readProperties.getProperty("flightDates");
+  public static final String FLIGHT_DATES = Config.get().getString("flightDates");
 
   /**
    * Tests that the flight date search results are correctly sorted by price. Verifies that flights
    * between Madrid (MAD) and London (LON) are returned in ascending order of price.
    */
-  @Test(groups  = {"smoke", "regression"})
+  @Test(groups = {"smoke", "regression"})
   @Description("Test Cheapest Flight Date Search is Sorted by Price")
   public void testCheapestFlightDateSearchIsSortedByPrice() {
 
@@ -46,12 +46,10 @@ public class FlightInspirationTest extends BaseTest {
             .extract()
             .response();
 
-    List<String> priceList = response.jsonPath().getList("data.price.total");
-    Assertion.assertTrue(
-        priceList != null && !priceList.isEmpty(), "Price list should not be empty");
-    List<Double> priceValues = priceList.stream().mapToDouble(Double::parseDouble).boxed().toList();
-    List<Double> priceValuesSorted = new ArrayList<>(priceValues);
-    Collections.sort(priceValuesSorted);
-    Assertion.assertEquals(priceValuesSorted, priceValues, "Flight Prices Cheapest to Highest");
+    Assertion.assertNoViolations(
+        StreamingInvariants.over(response)
+            .doubles("data.price.total", DoubleInvariant.ascending())
+            .verify(),
+        "Flight Prices Cheapest to Highest");
   }
 }
@@ -1,7 +1,5 @@
 package tests.flights;
 
-import static testUtils.LoggingMatcher.log;
-
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -11,14 +9,17 @@ import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import org.hamcrest.Matchers;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import testUtils.Assertion;
+import testUtils.LongInvariant;
+import testUtils.RequestTemplate;
+import testUtils.ResponseAssertions;
+import testUtils.ResponseTime;
+import testUtils.StreamingInvariants;
 import tests.BaseTest;
+import utils.Config;
 
 /**
  * Test class for Flight Offers API endpoints. Tests functionality for searching available flights
@@ -29,36 +30,11 @@ import tests.BaseTest;
 @Severity(SeverityLevel.CRITICAL)
 public class FlightOffersTest extends BaseTest {
 
-  public static final String FLIGHT_OFFERS = readProperties.getProperty("flightOffers");
+  public static final String FLIGHT_OFFERS = Config.get().getString("flightOffers");
 
-  /**
-   * Builds a map of query parameters for flight search.
-   *
-   * @param originLocationCode IATA code of the departure airport
-   * @param destinationLocationCode IATA code of the arrival airport
-   * @param departureDate departure date in YYYY-MM-DD format
-   * @param returnDate return date in YYYY-MM-DD format (optional)
-   * @param adults number of adult passengers (optional)
-   * @return a map of query parameters for the API request
-   */
-  public Map<String, Object> getQueryParams(
-      String originLocationCode,
-      String destinationLocationCode,
-      String departureDate,
-      String returnDate,
-      Integer adults) {
-
-    Map<String, Object> queryParams = new LinkedHashMap<>();
-    queryParams.put("originLocationCode", originLocationCode);
-    queryParams.put("destinationLocationCode", destinationLocationCode);
-
-    if (departureDate != null) queryParams.put("departureDate", departureDate);
-
-    if (returnDate != null) queryParams.put("returnDate", returnDate);
-
-    if (adults != null) queryParams.put("adults", adults);
-    return queryParams;
-  }
+  /** Flight offers search query, filled per data provider row. */
+  private static final RequestTemplate FLIGHT_OFFERS_QUERY =
+      RequestTemplate.of("flight_offers_query.properties");
 
   /**
    * Tests searching for flight offers with valid parameters. Verifies the response contains valid
@@ -81,49 +57,36 @@ public class FlightOffersTest extends BaseTest {
       String returnDate,
       Integer adults) {
 
-    Map<String, Object> queryParams =
-        getQueryParams(
+    String query =
+        FLIGHT_OFFERS_QUERY.renderQuery(
             originLocationCode, destinationLocationCode, departureDate, returnDate, adults);
     Response response =
-        RestAssured.given()
-            .queryParams(queryParams)
-            .when()
-            .get(FLIGHT_OFFERS)
-            .then()
-            .log()
-            .ifValidationFails()
-            .statusCode(200)
-            .body(
-                "data.type.unique()",
-                log(logger, Matchers.everyItem(Matchers.equalTo("flight-offer")), "Data Type"))
-            .body(
-                "data.numberOfBookableSeats.unique()",
-                log(
-                    logger,
-                    Matchers.everyItem(Matchers.greaterThanOrEqualTo(adults)),
-                    "numberOfBookableSeats"))
-            .body(
-                "data.itineraries.segments.arrival.iataCode.flatten().unique()",
-                log(
-                    logger,
-                    Matchers.hasItem(destinationLocationCode),
-                    "At-least One Arrival IATACode matching with destination"))
-            .body(
-                "data.itineraries.segments.departure.iataCode.flatten().unique()",
-                log(
-                    logger,
-                    Matchers.hasItem(originLocationCode),
-                    "At-least One Departure IATACode matching with Origin"))
-            .extract()
-            .response();
-
-    LocalDate depDate = LocalDate.parse(departureDate);
-    Assertion.assertTrue(
-        new HashSet<>(
-                response.jsonPath().getList("data.itineraries.segments.departure.at.flatten()"))
-            .stream()
-                .map(ts -> LocalDateTime.parse((String) ts).toLocalDate())
-                .allMatch(date -> !date.isBefore(depDate)),
+        RestAssured.given().urlEncodingEnabled(false).when().get(FLIGHT_OFFERS + "?" + query);
+    ResponseAssertions.assertThat(response, logger)
+        .statusCode(200)
+        .body(
+            "data.type.unique()", Matchers.everyItem(Matchers.equalTo("flight-offer")), "Data Type")
+        .body(
+            "data.numberOfBookableSeats.unique()",
+            Matchers.everyItem(Matchers.greaterThanOrEqualTo(adults)),
+            "numberOfBookableSeats")
+        .body(
+            "data.itineraries.segments.arrival.iataCode.flatten().unique()",
+            Matchers.hasItem(destinationLocationCode),
+            "At-least One Arrival IATACode matching with destination")
+        .body(
+            "data.itineraries.segments.departure.iataCode.flatten().unique()",
+            Matchers.hasItem(originLocationCode),
+            "At-least One Departure IATACode matching with Origin")
+        .verify();
+
+    Assertion.assertNoViolations(
+        StreamingInvariants.over(response)
+            .epochSeconds(
+                "data.itineraries.segments.departure.at",
+                LongInvariant.atLeast(
+                    StreamingInvariants.epochSecond(LocalDate.parse(departureDate))))
+            .verify(),
         "All Flights departure should on or after departure date");
   }
 
@@ -164,6 +127,7 @@ public class FlightOffersTest extends BaseTest {
       dataProvider = "Invalid AirLine Query",
       groups = {"regression"})
   @Description("Test Search Flight Offers With Invalid Data")
+  @ResponseTime(maxMs = 3000)
   public void testInvalidSearchFlightOffers(
       String originLocationCode,
       String destinationLocationCode,
@@ -173,19 +137,16 @@ public class FlightOffersTest extends BaseTest {
       String errorTitle,
       String errorDetail) {
 
-    Map<String, Object> queryParams =
-        getQueryParams(
+    String query =
+        FLIGHT_OFFERS_QUERY.renderQuery(
             originLocationCode, destinationLocationCode, departureDate, returnDate, adults);
-    RestAssured.given()
-        .queryParams(queryParams)
-        .when()
-        .get(FLIGHT_OFFERS)
-        .then()
-        .log()
-        .ifValidationFails()
+    Response response =
+        RestAssured.given().urlEncodingEnabled(false).when().get(FLIGHT_OFFERS + "?" + query);
+    ResponseAssertions.assertThat(response, logger)
         .statusCode(400)
-        .body("errors[0].title", log(logger, Matchers.equalTo(errorTitle), "Error Title"))
-        .body("errors[0].detail", log(logger, Matchers.equalTo(errorDetail), "Error Detail"));
+        .body("errors[0].title", Matchers.equalTo(errorTitle), "Error Title")
+        .body("errors[0].detail", Matchers.equalTo(errorDetail), "Error Detail")
+        .verify();
   }
 
   /**
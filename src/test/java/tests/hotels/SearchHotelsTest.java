@@ -8,10 +8,19 @@ import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import java.util.List;
+import java.util.Map;
 import org.hamcrest.Matchers;
+import org.testng.SkipException;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import testUtils.LocalStubServer;
+import testUtils.ResponseTime;
 import tests.BaseTest;
+import utils.AsyncApiClient;
+import utils.Config;
+import utils.ratelimit.RateLimitFilter;
 
 /**
  * Test class for searching hotels by city code using Amadeus API. Demonstrates data-driven testing
@@ -22,7 +31,13 @@ import tests.BaseTest;
 @Severity(SeverityLevel.NORMAL)
 public class SearchHotelsTest extends BaseTest {
 
-  private static final String HOTELS_BY_CITY = readProperties.getProperty("hotelsByCity");
+  private static final String HOTELS_BY_CITY = Config.get().getString("hotelsByCity");
+
+  /** City codes searched concurrently by the fan-out test. */
+  private static final List<String> ALL_CITY_CODES =
+      List.of(
+          "BLR", "DEL", "MAA", "BOM", "HYD", "CCU", "PAR", "LON", "NYC", "MAD", "BCN", "ROM", "BER",
+          "AMS", "DXB", "SIN");
 
   /**
    * Searches hotels by city code and validates the IATA code in the response. Uses data-driven
@@ -34,6 +49,7 @@ public class SearchHotelsTest extends BaseTest {
       dataProvider = "CityCodes",
       groups = {"regression"})
   @Description("Test Search Hotels By City Code")
+  @ResponseTime(p95Ms = 2000, maxMs = 4000)
   public void testSearchHotelsByCityCode(String cityCode) {
     RestAssured.given()
         .queryParam("cityCode", cityCode)
@@ -48,6 +64,39 @@ public class SearchHotelsTest extends BaseTest {
             log(logger, Matchers.everyItem(Matchers.equalTo(cityCode)), "IATA CODE In Response"));
   }
 
+  /**
+   * Searches hotels for many city codes concurrently and validates the IATA code in every response.
+   * The searches are fanned out with the asynchronous client and joined before the assertions.
+   * Skipped against the live API unless rate limiting is enabled, as the fan-out would exceed the
+   * quota of the test environment.
+   */
+  @Test(groups = {"regression"})
+  @Description("Test Search Hotels For All City Codes")
+  @ResponseTime(p95Ms = 2000, maxMs = 4000)
+  public void testSearchHotelsForAllCityCodes() {
+    if (!LocalStubServer.isEnabled() && !RateLimitFilter.isEnabled()) {
+      throw new SkipException(
+          "Fan-out exceeds the API quota, run it against the local stub or with rateLimit.enabled");
+    }
+    List<Map<String, ?>> queries =
+        ALL_CITY_CODES.stream().<Map<String, ?>>map(code -> Map.of("cityCode", code)).toList();
+    List<Response> responses = new AsyncApiClient().getAll(HOTELS_BY_CITY, queries).join();
+
+    for (int i = 0; i < responses.size(); i++) {
+      String cityCode = ALL_CITY_CODES.get(i);
+      responses
+          .get(i)
+          .then()
+          .statusCode(200)
+          .body(
+              "data.iataCode",
+              log(
+                  logger,
+                  Matchers.everyItem(Matchers.equalTo(cityCode)),
+                  "IATA CODE In Response For " + cityCode));
+    }
+  }
+
   /**
    * Provides a list of city codes for data-driven hotel search tests.
    *
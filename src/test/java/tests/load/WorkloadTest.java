@@ -0,0 +1,77 @@
+package tests.load;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+import testUtils.Assertion;
+import testUtils.TestResultsRecords.LoadTestReport;
+import testUtils.load.LoadScenario;
+import testUtils.load.LoadTestRunner;
+import tests.BaseTest;
+import utils.Config;
+import utils.JsonUtils;
+
+/**
+ * Load test entry point that replays the functional test methods as a weighted workload. Run it
+ * with {@code mvn test -Pload}; the workload is configured by the {@code load.*} keys in {@code
+ * config.properties}.
+ */
+@Epic("Load Test")
+@Feature("Weighted Workload")
+public class WorkloadTest extends BaseTest {
+
+  /** Path where the load test report is written. */
+  private static final String LOAD_TEST_REPORT_FILE_PATH = "test-results/load-test-report.json";
+
+  /**
+   * Drives the configured scenarios at the target arrival rate and verifies the error rate stays
+   * within the configured limit.
+   *
+   * @param context the test context passed on to scenarios that need it
+   * @throws Exception if the load test is interrupted or the report cannot be written
+   */
+  @Test(groups = {"load"})
+  @Description("Run Weighted Workload at Target Arrival Rate")
+  public void testWorkload(ITestContext context) throws Exception {
+    List<LoadScenario> scenarios =
+        LoadScenario.parse(Config.get().getString("load.scenarios", "smoke:1"), context);
+    LoadTestRunner runner =
+        new LoadTestRunner(
+            scenarios,
+            Config.get().getDouble("load.arrivalRatePerSecond", 5),
+            Duration.ofSeconds(Config.get().getLong("load.durationSeconds", 30)),
+            Config.get().getInt("load.maxInFlight", 500));
+
+    LoadTestReport report = runner.run();
+    writeReport(report);
+    logger.info(
+        "Load test finished: {} invocations, {} invocations/s, {}% errors, p95 {}ms, p99 {}ms"
+            + " (service time p95 {}ms, p99 {}ms)",
+        report.invocations(),
+        String.format("%.2f", report.throughputPerSecond()),
+        String.format("%.2f", report.errorRatePercent()),
+        report.latencyInMs().p95(),
+        report.latencyInMs().p99(),
+        report.serviceTimeInMs().p95(),
+        report.serviceTimeInMs().p99());
+
+    double maxErrorRate = Config.get().getDouble("load.maxErrorRatePercent", 1);
+    Assertion.assertTrue(
+        report.errorRatePercent() <= maxErrorRate,
+        "Load test error rate " + report.errorRatePercent() + "% within " + maxErrorRate + "%");
+  }
+
+  private void writeReport(LoadTestReport report) throws IOException {
+    Path reportFile = Path.of(LOAD_TEST_REPORT_FILE_PATH);
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, JsonUtils.toJson(report));
+    logger.info("Load test report generated successfully: {}", reportFile);
+  }
+}